@@ -0,0 +1,50 @@
+package com.dreamsportslabs.guardian.benchmark;
+
+import io.fusionauth.jwt.JWTUtils;
+import io.fusionauth.jwt.Signer;
+import io.fusionauth.jwt.Verifier;
+import io.fusionauth.jwt.domain.KeyPair;
+import io.fusionauth.jwt.ec.ECSigner;
+import io.fusionauth.jwt.ec.ECVerifier;
+import io.fusionauth.jwt.rsa.RSASigner;
+import io.fusionauth.jwt.rsa.RSAVerifier;
+
+/** Key material for the signing and verification benchmarks, keyed as ALGORITHM_KEYSIZE. */
+final class BenchmarkKeys {
+  static final String KID = "benchmark-kid";
+
+  private BenchmarkKeys() {}
+
+  static KeyPair keyPair(String key) {
+    return switch (key) {
+      case "RS256_2048", "RS512_2048" -> JWTUtils.generate2048_RSAKeyPair();
+      case "RS256_3072", "RS512_3072" -> JWTUtils.generate3072_RSAKeyPair();
+      case "RS256_4096", "RS512_4096" -> JWTUtils.generate4096_RSAKeyPair();
+      case "ES256_256" -> JWTUtils.generate256_ECKeyPair();
+      case "ES384_384" -> JWTUtils.generate384_ECKeyPair();
+      case "ES512_521" -> JWTUtils.generate521_ECKeyPair();
+      default -> throw new IllegalArgumentException("Unknown benchmark key: " + key);
+    };
+  }
+
+  static Signer signer(String key, KeyPair keyPair) {
+    return switch (algorithm(key)) {
+      case "RS256" -> RSASigner.newSHA256Signer(keyPair.privateKey, KID);
+      case "RS512" -> RSASigner.newSHA512Signer(keyPair.privateKey, KID);
+      case "ES256" -> ECSigner.newSHA256Signer(keyPair.privateKey, KID);
+      case "ES384" -> ECSigner.newSHA384Signer(keyPair.privateKey, KID);
+      case "ES512" -> ECSigner.newSHA512Signer(keyPair.privateKey, KID);
+      default -> throw new IllegalArgumentException("Unknown benchmark key: " + key);
+    };
+  }
+
+  static Verifier verifier(String key, KeyPair keyPair) {
+    return algorithm(key).startsWith("ES")
+        ? ECVerifier.newVerifier(keyPair.publicKey)
+        : RSAVerifier.newVerifier(keyPair.publicKey);
+  }
+
+  static String algorithm(String key) {
+    return key.substring(0, key.indexOf('_'));
+  }
+}
@@ -0,0 +1,221 @@
+package com.dreamsportslabs.guardian.benchmark;
+
+import com.dreamsportslabs.guardian.config.tenant.TokenConfig;
+import com.dreamsportslabs.guardian.dao.model.ClientModel;
+import com.dreamsportslabs.guardian.utils.JsonUtils;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.rxjava3.sqlclient.RowSet;
+import io.vertx.sqlclient.PropertyKind;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowIterator;
+import io.vertx.sqlclient.desc.ColumnDescriptor;
+import io.vertx.sqlclient.impl.RowBase;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonUtilsBenchmark {
+  private static final List<String> CLIENT_COLUMNS =
+      List.of(
+          "tenant_id",
+          "client_id",
+          "client_name",
+          "client_secret",
+          "client_uri",
+          "contacts",
+          "grant_types",
+          "logo_uri",
+          "policy_uri",
+          "redirect_uris",
+          "response_types",
+          "skip_consent");
+
+  // Same settings as the mapper in JsonUtils
+  private static final ObjectMapper OBJECT_MAPPER =
+      JsonMapper.builder()
+          .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+          .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+          .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+          .build();
+
+  @Param({"1", "100"})
+  private int rows;
+
+  private RowSet<io.vertx.rxjava3.sqlclient.Row> clientRows;
+  private RowSet<io.vertx.rxjava3.sqlclient.Row> scopeRows;
+  private JsonObject tokenConfig;
+
+  @Setup
+  public void setup() {
+    List<Row> clients = new ArrayList<>(rows);
+    List<Row> scopes = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      clients.add(
+          new BenchmarkRow(
+              CLIENT_COLUMNS,
+              List.of(
+                  "benchmark",
+                  "client-" + i,
+                  "Benchmark client " + i,
+                  RandomStringUtils.randomAlphanumeric(32),
+                  "https://client.example.com",
+                  new JsonArray().add("admin@example.com"),
+                  new JsonArray().add("AUTHORIZATION_CODE").add("REFRESH_TOKEN"),
+                  "https://client.example.com/logo.png",
+                  "https://client.example.com/policy",
+                  new JsonArray().add("https://client.example.com/callback"),
+                  new JsonArray().add("CODE"),
+                  false)));
+      scopes.add(new BenchmarkRow(List.of("scope"), List.of("scope-" + i)));
+    }
+    tokenConfig =
+        new JsonObject()
+            .put("algorithm", "RS512")
+            .put("issuer", "https://guardian.example.com")
+            .put("access_token_expiry", 900)
+            .put("refresh_token_expiry", 2592000)
+            .put("id_token_expiry", 36000)
+            .put("id_token_claims", new JsonArray().add("userId").add("email"))
+            .put(
+                "rsa_keys",
+                new JsonArray()
+                    .add(
+                        new JsonObject()
+                            .put("kid", "benchmark-kid")
+                            .put("public_key", RandomStringUtils.randomAlphanumeric(392))
+                            .put("private_key", RandomStringUtils.randomAlphanumeric(1624))
+                            .put("current", true)))
+            .put("cookie_same_site", "NONE")
+            .put("cookie_path", "/")
+            .put("cookie_secure", false)
+            .put("cookie_http_only", true)
+            .put("access_token_claims", new JsonArray().add("role"));
+    clientRows =
+        RowSet.newInstance(
+            new BenchmarkRowSet(CLIENT_COLUMNS, clients),
+            io.vertx.rxjava3.sqlclient.Row.__TYPE_ARG);
+    scopeRows =
+        RowSet.newInstance(
+            new BenchmarkRowSet(List.of("scope"), scopes),
+            io.vertx.rxjava3.sqlclient.Row.__TYPE_ARG);
+  }
+
+  @Benchmark
+  public List<ClientModel> pojo() {
+    return JsonUtils.rowSetToList(clientRows, ClientModel.class);
+  }
+
+  @Benchmark
+  public List<ClientModel> pojoJsonText() throws Exception {
+    // Implementation previously used by JsonUtils.rowSetToList
+    List<ClientModel> list = new ArrayList<>();
+    for (io.vertx.rxjava3.sqlclient.Row row : clientRows) {
+      list.add(OBJECT_MAPPER.readValue(row.toJson().toString(), ClientModel.class));
+    }
+    return list;
+  }
+
+  @Benchmark
+  public TokenConfig config() {
+    return JsonUtils.jsonToObject(tokenConfig, TokenConfig.class);
+  }
+
+  @Benchmark
+  public TokenConfig configJsonText() throws Exception {
+    // Implementation previously used by JsonUtils.jsonToObject
+    return OBJECT_MAPPER.readValue(tokenConfig.toString(), TokenConfig.class);
+  }
+
+  @Benchmark
+  public List<String> singleColumn() {
+    return JsonUtils.rowSetToList(scopeRows, String.class);
+  }
+
+  private static class BenchmarkRow extends RowBase {
+    private final List<String> columns;
+
+    BenchmarkRow(List<String> columns, List<Object> values) {
+      super(values);
+      this.columns = columns;
+    }
+
+    @Override
+    public String getColumnName(int pos) {
+      return columns.get(pos);
+    }
+
+    @Override
+    public int getColumnIndex(String column) {
+      return columns.indexOf(column);
+    }
+  }
+
+  private record BenchmarkRowSet(List<String> columnsNames, List<Row> rows)
+      implements io.vertx.sqlclient.RowSet<Row> {
+
+    @Override
+    public RowIterator<Row> iterator() {
+      Iterator<Row> iterator = rows.iterator();
+      return new RowIterator<>() {
+        @Override
+        public boolean hasNext() {
+          return iterator.hasNext();
+        }
+
+        @Override
+        public Row next() {
+          return iterator.next();
+        }
+      };
+    }
+
+    @Override
+    public int rowCount() {
+      return rows.size();
+    }
+
+    @Override
+    public List<ColumnDescriptor> columnDescriptors() {
+      return List.of();
+    }
+
+    @Override
+    public int size() {
+      return rows.size();
+    }
+
+    @Override
+    public <V> V property(PropertyKind<V> propertyKind) {
+      return null;
+    }
+
+    @Override
+    public io.vertx.sqlclient.RowSet<Row> value() {
+      return this;
+    }
+
+    @Override
+    public io.vertx.sqlclient.RowSet<Row> next() {
+      return null;
+    }
+  }
+}
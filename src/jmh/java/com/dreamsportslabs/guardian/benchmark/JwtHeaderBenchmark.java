@@ -0,0 +1,51 @@
+package com.dreamsportslabs.guardian.benchmark;
+
+import com.dreamsportslabs.guardian.utils.JwtHeaderReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fusionauth.jwt.JWTUtils;
+import io.fusionauth.jwt.domain.JWT;
+import io.fusionauth.jwt.domain.KeyPair;
+import io.fusionauth.jwt.rsa.RSASigner;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtHeaderBenchmark {
+  private String token;
+
+  @Setup
+  public void setup() {
+    KeyPair keyPair = JWTUtils.generate2048_RSAKeyPair();
+    JWT jwt = new JWT().setSubject("user").setIssuer("https://guardian.example.com");
+    token =
+        JWT.getEncoder()
+            .encode(
+                jwt,
+                RSASigner.newSHA256Signer(keyPair.privateKey, "test-kid"),
+                header -> header.set("typ", "at+jwt"));
+  }
+
+  @Benchmark
+  public Object headerReader() {
+    return JwtHeaderReader.read(token);
+  }
+
+  @Benchmark
+  public Object splitAndObjectMapper() throws Exception {
+    // Implementation previously used by Utils.decodeJwtHeaders
+    String[] parts = token.split("\\.");
+    String headerJson = new String(Base64.getUrlDecoder().decode(parts[0]), StandardCharsets.UTF_8);
+    return new ObjectMapper().readValue(headerJson, Map.class);
+  }
+}
@@ -0,0 +1,49 @@
+package com.dreamsportslabs.guardian.benchmark;
+
+import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
+import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.collections.keyvalue.MultiKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RegistryBenchmark {
+  private static final int TENANTS = 50;
+
+  private final Registry registry = new Registry();
+  private final Map<MultiKey, Object> multiKeyMap = new HashMap<>();
+  private String tenantId;
+
+  @Setup
+  public void setup() {
+    for (int i = 0; i < TENANTS; i++) {
+      String tenant = "tenant" + i;
+      TenantConfig config = TenantConfig.builder().tenantId(tenant).build();
+      registry.put(tenant, TenantEntry.builder().tenantConfig(config).build());
+      multiKeyMap.put(new MultiKey(tenant, TenantConfig.class.getName(), "default"), config);
+    }
+    tenantId = "tenant" + (TENANTS / 2);
+  }
+
+  @Benchmark
+  public TenantConfig registry() {
+    return registry.getTenantConfig(tenantId);
+  }
+
+  @Benchmark
+  public Object multiKeyMap() {
+    // Lookup previously used by Registry.get
+    return multiKeyMap.get(new MultiKey(tenantId, TenantConfig.class.getName(), "default"));
+  }
+}
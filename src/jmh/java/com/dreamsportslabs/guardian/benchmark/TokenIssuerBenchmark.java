@@ -0,0 +1,101 @@
+package com.dreamsportslabs.guardian.benchmark;
+
+import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
+import com.dreamsportslabs.guardian.service.TokenIssuer;
+import com.dreamsportslabs.guardian.service.TokenSigningExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.json.JsonObject;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenIssuerBenchmark {
+  private static final String TENANT_ID = "benchmark";
+
+  @Param({
+    "RS256_2048",
+    "RS256_3072",
+    "RS256_4096",
+    "RS512_2048",
+    "RS512_4096",
+    "ES256_256",
+    "ES384_384",
+    "ES512_521"
+  })
+  private String key;
+
+  private TokenIssuer tokenIssuer;
+  private TokenSigningExecutor tokenSigningExecutor;
+  private Map<String, Object> claims;
+  private JsonObject user;
+
+  @Setup
+  public void setup() {
+    Registry registry = new Registry();
+    registry.put(
+        TENANT_ID,
+        TenantEntry.builder()
+            .signer(BenchmarkKeys.signer(key, BenchmarkKeys.keyPair(key)))
+            .build());
+
+    // Sign inline so that only the signing cost is measured, not the hand-off to the pool
+    tokenSigningExecutor =
+        new TokenSigningExecutor(
+            1, 1, Set.of(BenchmarkKeys.algorithm(key)), new SimpleMeterRegistry());
+    tokenIssuer = new TokenIssuer(registry, tokenSigningExecutor);
+
+    long iat = System.currentTimeMillis() / 1000;
+    claims =
+        Map.of(
+            "sub", "8b6f3c2e-2f4a-4d7e-9a51-3f0c2d1e7b44",
+            "iss", "https://guardian.example.com",
+            "aud", "benchmark-client",
+            "iat", iat,
+            "exp", iat + 900,
+            "rft_id", "4f1d2c3b5a6e7f8091a2b3c4d5e6f708",
+            "tid", TENANT_ID,
+            "scope", "openid profile email");
+    user =
+        new JsonObject()
+            .put("name", "Jane Doe")
+            .put("email", "jane.doe@example.com")
+            .put("phone_number", "+15555550100");
+  }
+
+  @TearDown
+  public void tearDown() {
+    tokenSigningExecutor.close();
+  }
+
+  @Benchmark
+  public List<String> accessToken() {
+    return tokenIssuer
+        .signTokens(List.of(tokenIssuer.buildAccessToken(claims)), TENANT_ID)
+        .blockingGet();
+  }
+
+  @Benchmark
+  public List<String> accessAndIdToken() {
+    return tokenIssuer
+        .signTokens(
+            List.of(
+                tokenIssuer.buildAccessToken(claims),
+                tokenIssuer.buildIdToken(claims, user, List.of("name", "email", "phone_number"))),
+            TENANT_ID)
+        .blockingGet();
+  }
+}
@@ -0,0 +1,83 @@
+package com.dreamsportslabs.guardian.benchmark;
+
+import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
+import com.dreamsportslabs.guardian.registry.TokenVerifiers;
+import com.dreamsportslabs.guardian.service.TokenVerifier;
+import io.fusionauth.jwt.Signer;
+import io.fusionauth.jwt.domain.JWT;
+import io.fusionauth.jwt.domain.KeyPair;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenVerificationBenchmark {
+  private static final String TENANT_ID = "benchmark";
+  private static final String ISSUER = "https://guardian.example.com";
+  private static final String AUDIENCE = "benchmark-client";
+
+  @Param({"RS256_2048", "RS256_4096", "ES256_256", "ES384_384", "ES512_521"})
+  private String key;
+
+  private TokenVerifier accessTokenVerifier;
+  private com.dreamsportslabs.guardian.jwtVerifier.TokenVerifier idTokenVerifier;
+  private String token;
+
+  @Setup
+  public void setup() {
+    KeyPair keyPair = BenchmarkKeys.keyPair(key);
+    Signer signer = BenchmarkKeys.signer(key, keyPair);
+
+    Registry registry = new Registry();
+    registry.put(
+        TENANT_ID,
+        TenantEntry.builder()
+            .tokenVerifiers(
+                new TokenVerifiers(Map.of(BenchmarkKeys.KID, BenchmarkKeys.verifier(key, keyPair))))
+            .build());
+    accessTokenVerifier = new TokenVerifier(registry);
+    idTokenVerifier =
+        new com.dreamsportslabs.guardian.jwtVerifier.TokenVerifier(
+            Map.of(BenchmarkKeys.KID, keyPair.publicKey), ISSUER);
+
+    ZonedDateTime now = ZonedDateTime.now();
+    JWT jwt =
+        new JWT()
+            .setSubject("8b6f3c2e-2f4a-4d7e-9a51-3f0c2d1e7b44")
+            .setIssuer(ISSUER)
+            .setAudience(AUDIENCE)
+            .setIssuedAt(now)
+            .setExpiration(now.plusHours(1))
+            .addClaim("scope", "openid profile email");
+    token =
+        JWT.getEncoder()
+            .encode(
+                jwt,
+                signer,
+                header -> {
+                  header.set("typ", "at+jwt");
+                  header.set("kid", BenchmarkKeys.KID);
+                });
+  }
+
+  @Benchmark
+  public Map<String, Object> accessTokenVerifier() {
+    return accessTokenVerifier.verifyAccessToken(token, TENANT_ID);
+  }
+
+  @Benchmark
+  public Map<String, Object> idpTokenVerifier() {
+    return idTokenVerifier.verify(token, AUDIENCE).blockingGet();
+  }
+}
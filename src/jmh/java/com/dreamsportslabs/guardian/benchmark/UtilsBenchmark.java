@@ -0,0 +1,34 @@
+package com.dreamsportslabs.guardian.benchmark;
+
+import com.dreamsportslabs.guardian.utils.Utils;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UtilsBenchmark {
+  private String refreshToken;
+
+  @Setup
+  public void setup() {
+    refreshToken = RandomStringUtils.randomAlphanumeric(32);
+  }
+
+  @Benchmark
+  public String getRftId() {
+    return Utils.getRftId(refreshToken);
+  }
+
+  @Benchmark
+  public String getRefreshTokenHash() {
+    return Utils.getRefreshTokenHash(refreshToken);
+  }
+}
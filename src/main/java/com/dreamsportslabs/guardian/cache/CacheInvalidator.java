@@ -0,0 +1,96 @@
+package com.dreamsportslabs.guardian.cache;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.vertx.rxjava3.core.Vertx;
+import io.vertx.rxjava3.redis.client.Command;
+import io.vertx.rxjava3.redis.client.Redis;
+import io.vertx.rxjava3.redis.client.RedisConnection;
+import io.vertx.rxjava3.redis.client.Request;
+import io.vertx.rxjava3.redis.client.Response;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Propagates local cache invalidations to every node over Redis pub/sub channels. Each node keeps a
+ * dedicated subscriber connection and passes the messages of a channel to the handler registered
+ * for it. The connection is re-established after it is closed or fails.
+ */
+@Slf4j
+public class CacheInvalidator {
+  public static final String TENANT_CONFIG_CHANNEL = "guardian:tenant_config:invalidate";
+  public static final String CLIENT_CHANNEL = "guardian:client:invalidate";
+  public static final String SCOPE_CHANNEL = "guardian:scope:invalidate";
+  private static final long RESUBSCRIBE_DELAY_MILLIS = 1000L;
+
+  private final Vertx vertx;
+  private final Redis redis;
+  private final Map<String, Consumer<String>> handlers = new ConcurrentHashMap<>();
+  private RedisConnection connection;
+  private boolean closed;
+
+  public CacheInvalidator(Vertx vertx, Redis redis) {
+    this.vertx = vertx;
+    this.redis = redis;
+  }
+
+  /** Handlers must be registered before {@link #subscribe()}. */
+  public CacheInvalidator onInvalidate(String channel, Consumer<String> handler) {
+    handlers.put(channel, handler);
+    return this;
+  }
+
+  public Completable subscribe() {
+    return redis
+        .rxConnect()
+        .flatMapCompletable(
+            conn -> {
+              this.connection = conn;
+              conn.handler(this::handleMessage)
+                  .exceptionHandler(e -> log.error("Cache invalidation subscription failed", e))
+                  .endHandler(v -> resubscribeLater());
+              Request request = Request.cmd(Command.SUBSCRIBE);
+              handlers.keySet().forEach(request::arg);
+              return conn.rxSend(request).ignoreElement();
+            })
+        .doOnComplete(() -> log.info("Subscribed to cache invalidations on {}", handlers.keySet()));
+  }
+
+  public Completable publish(String channel, String message) {
+    return redis.rxSend(Request.cmd(Command.PUBLISH).arg(channel).arg(message)).ignoreElement();
+  }
+
+  public void close() {
+    this.closed = true;
+    if (this.connection != null) {
+      this.connection.close().subscribe(() -> {}, e -> {});
+    }
+  }
+
+  private void handleMessage(Response response) {
+    if (response.size() == 3 && "message".equals(response.get(0).toString())) {
+      Consumer<String> handler = handlers.get(response.get(1).toString());
+      if (handler != null) {
+        handler.accept(response.get(2).toString());
+      }
+    }
+  }
+
+  private void resubscribeLater() {
+    if (this.closed) {
+      return;
+    }
+    log.warn("Cache invalidation subscription closed, resubscribing");
+    vertx.setTimer(
+        RESUBSCRIBE_DELAY_MILLIS,
+        id ->
+            subscribe()
+                .subscribe(
+                    () -> {},
+                    e -> {
+                      log.error("Failed to resubscribe to cache invalidations", e);
+                      resubscribeLater();
+                    }));
+  }
+}
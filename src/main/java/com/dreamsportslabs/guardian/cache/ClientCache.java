@@ -0,0 +1,58 @@
+package com.dreamsportslabs.guardian.cache;
+
+import com.dreamsportslabs.guardian.dao.model.ClientModel;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.reactivex.rxjava3.core.Maybe;
+import java.time.Duration;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per node cache of OIDC clients keyed by tenant and client id. Entries expire after the configured
+ * ttl and are invalidated on every node through the {@link CacheInvalidator} when a client is
+ * updated or deleted. Clients that are not found are not cached.
+ */
+@Slf4j
+public class ClientCache {
+  private static final String METRIC_REQUESTS = "guardian.client.cache";
+  private static final String METRIC_HIT_RATIO = "guardian.client.cache.hit.ratio";
+  private static final String TAG_RESULT = "result";
+
+  private final AsyncCache<CacheKey, ClientModel> cache;
+
+  public ClientCache(long ttl, long maxSize, MeterRegistry meterRegistry) {
+    this.cache =
+        Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(ttl))
+            .maximumSize(maxSize)
+            .recordStats()
+            .buildAsync();
+    FunctionCounter.builder(METRIC_REQUESTS, cache, c -> c.synchronous().stats().hitCount())
+        .tag(TAG_RESULT, "hit")
+        .register(meterRegistry);
+    FunctionCounter.builder(METRIC_REQUESTS, cache, c -> c.synchronous().stats().missCount())
+        .tag(TAG_RESULT, "miss")
+        .register(meterRegistry);
+    Gauge.builder(METRIC_HIT_RATIO, cache, c -> c.synchronous().stats().hitRate())
+        .register(meterRegistry);
+  }
+
+  /** Concurrent lookups of a client that is not cached share a single load. */
+  public Maybe<ClientModel> get(
+      String tenantId, String clientId, Supplier<Maybe<ClientModel>> loader) {
+    return Maybe.fromCompletionStage(
+        cache.get(
+            new CacheKey(tenantId, clientId),
+            (key, executor) -> loader.get().toCompletionStage(null).toCompletableFuture()));
+  }
+
+  public void invalidate(String tenantId, String clientId) {
+    cache.synchronous().invalidate(new CacheKey(tenantId, clientId));
+  }
+
+  private record CacheKey(String tenantId, String clientId) {}
+}
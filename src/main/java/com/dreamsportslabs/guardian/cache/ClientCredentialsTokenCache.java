@@ -0,0 +1,146 @@
+package com.dreamsportslabs.guardian.cache;
+
+import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
+import com.dreamsportslabs.guardian.dto.response.OidcTokenResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.reactivex.rxjava3.core.Maybe;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Reuses access tokens issued through the client_credentials grant for the same tenant, client and
+ * requested scopes while more than the configured fraction of their lifetime remains. Tokens are
+ * keyed by the tenant config version they were issued with, so a changed config is never served
+ * tokens signed under the previous one. Nothing is cached while the version is not known.
+ */
+@Slf4j
+public class ClientCredentialsTokenCache {
+  private static final String METRIC_REQUESTS = "guardian.client_credentials.token.cache";
+  private static final String TAG_RESULT = "result";
+
+  private final boolean enabled;
+  private final double minRemainingLifetimeRatio;
+  private final Cache<CacheKey, CachedToken> cache;
+  private final Counter hits;
+  private final Counter misses;
+
+  public ClientCredentialsTokenCache(
+      boolean enabled,
+      long maxSize,
+      double minRemainingLifetimeRatio,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.minRemainingLifetimeRatio = minRemainingLifetimeRatio;
+    this.cache = Caffeine.newBuilder().maximumSize(maxSize).expireAfter(new TokenExpiry()).build();
+    this.hits = Counter.builder(METRIC_REQUESTS).tag(TAG_RESULT, "hit").register(meterRegistry);
+    this.misses = Counter.builder(METRIC_REQUESTS).tag(TAG_RESULT, "miss").register(meterRegistry);
+  }
+
+  public Maybe<OidcTokenResponseDto> get(
+      TenantConfig tenantConfig, String clientId, String scope) {
+    if (!enabled || tenantConfig.getConfigVersion() == null) {
+      return Maybe.empty();
+    }
+
+    CachedToken token = cache.getIfPresent(getKey(tenantConfig, clientId, scope));
+    long now = currentTimeInSeconds();
+    if (token == null || token.expiresAt() - now <= token.lifetime() * minRemainingLifetimeRatio) {
+      misses.increment();
+      return Maybe.empty();
+    }
+
+    hits.increment();
+    OidcTokenResponseDto response = token.response();
+    return Maybe.just(
+        OidcTokenResponseDto.builder()
+            .accessToken(response.getAccessToken())
+            .tokenType(response.getTokenType())
+            .expiresIn((int) (token.expiresAt() - now))
+            .scope(response.getScope())
+            .build());
+  }
+
+  public void put(
+      TenantConfig tenantConfig,
+      String clientId,
+      String scope,
+      OidcTokenResponseDto response,
+      long iat) {
+    if (!enabled || tenantConfig.getConfigVersion() == null) {
+      return;
+    }
+
+    cache.put(
+        getKey(tenantConfig, clientId, scope),
+        new CachedToken(response, response.getExpiresIn(), iat + response.getExpiresIn()));
+  }
+
+  public void invalidate(String tenantId, String clientId) {
+    if (!enabled) {
+      return;
+    }
+
+    cache
+        .asMap()
+        .keySet()
+        .removeIf(key -> key.tenantId().equals(tenantId) && key.clientId().equals(clientId));
+  }
+
+  public void invalidate(String tenantId) {
+    if (!enabled) {
+      return;
+    }
+
+    cache.asMap().keySet().removeIf(key -> key.tenantId().equals(tenantId));
+  }
+
+  private static CacheKey getKey(TenantConfig tenantConfig, String clientId, String scope) {
+    return new CacheKey(
+        tenantConfig.getTenantId(), tenantConfig.getConfigVersion(), clientId, normalize(scope));
+  }
+
+  private static String normalize(String scope) {
+    if (StringUtils.isBlank(scope)) {
+      return "";
+    }
+
+    return Arrays.stream(scope.trim().split("\\s+"))
+        .distinct()
+        .sorted()
+        .collect(Collectors.joining(" "));
+  }
+
+  private static long currentTimeInSeconds() {
+    return System.currentTimeMillis() / 1000;
+  }
+
+  private static class TokenExpiry implements Expiry<CacheKey, CachedToken> {
+    @Override
+    public long expireAfterCreate(CacheKey key, CachedToken token, long currentTime) {
+      return TimeUnit.SECONDS.toNanos(Math.max(0, token.expiresAt() - currentTimeInSeconds()));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        CacheKey key, CachedToken token, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, token, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        CacheKey key, CachedToken token, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+
+  private record CacheKey(String tenantId, String configVersion, String clientId, String scope) {}
+
+  private record CachedToken(OidcTokenResponseDto response, long lifetime, long expiresAt) {}
+}
@@ -0,0 +1,105 @@
+package com.dreamsportslabs.guardian.cache;
+
+import static com.dreamsportslabs.guardian.constant.Constants.CACHE_KEY_REFRESH_TOKEN;
+import static com.dreamsportslabs.guardian.constant.Constants.EXPIRE_AT_REDIS;
+import static com.dreamsportslabs.guardian.utils.Utils.getCurrentTimeInSeconds;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.vertx.rxjava3.redis.client.Command;
+import io.vertx.rxjava3.redis.client.Redis;
+import io.vertx.rxjava3.redis.client.Request;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis cache of active refresh tokens, keyed by the SHA-256 of the token as stored in MySQL and
+ * holding the user id and expiry. MySQL stays the source of truth: entries are written after the
+ * row is saved, deleted after the row is invalidated and kept for at most the configured ttl. Read
+ * failures fall back to the database.
+ */
+@Slf4j
+public class RefreshTokenCache {
+  private static final String METRIC_REQUESTS = "guardian.refresh_token.cache";
+  private static final String TAG_RESULT = "result";
+  private static final String SEPARATOR = ":";
+
+  private final Redis redisClient;
+  private final long ttl;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter stale;
+  private final Counter errors;
+
+  public RefreshTokenCache(Redis redisClient, long ttl, MeterRegistry meterRegistry) {
+    this.redisClient = redisClient;
+    this.ttl = ttl;
+    this.hits = Counter.builder(METRIC_REQUESTS).tag(TAG_RESULT, "hit").register(meterRegistry);
+    this.misses = Counter.builder(METRIC_REQUESTS).tag(TAG_RESULT, "miss").register(meterRegistry);
+    this.stale = Counter.builder(METRIC_REQUESTS).tag(TAG_RESULT, "stale").register(meterRegistry);
+    this.errors = Counter.builder(METRIC_REQUESTS).tag(TAG_RESULT, "error").register(meterRegistry);
+  }
+
+  /** Returns the user id of a cached, unexpired token, empty when the database must be read. */
+  public Maybe<String> getUserId(String tokenHash, String tenantId) {
+    return redisClient
+        .rxSend(Request.cmd(Command.GET).arg(getCacheKey(tokenHash, tenantId)))
+        .doOnComplete(misses::increment)
+        .map(response -> response.toString().split(SEPARATOR, 2))
+        .filter(
+            entry -> {
+              // Redis expires entries at the token expiry, this only catches clock skew
+              if (Long.parseLong(entry[0]) <= getCurrentTimeInSeconds()) {
+                stale.increment();
+                return false;
+              }
+              hits.increment();
+              return true;
+            })
+        .map(entry -> entry[1])
+        .onErrorResumeNext(
+            err -> {
+              log.error("Failed to read refresh token cache", err);
+              errors.increment();
+              return Maybe.empty();
+            });
+  }
+
+  public Completable put(String tokenHash, String tenantId, String userId, long expiry) {
+    long expireAt = Math.min(expiry, getCurrentTimeInSeconds() + ttl);
+    if (expireAt <= getCurrentTimeInSeconds()) {
+      return Completable.complete();
+    }
+
+    return redisClient
+        .rxSend(
+            Request.cmd(Command.SET)
+                .arg(getCacheKey(tokenHash, tenantId))
+                .arg(expiry + SEPARATOR + userId)
+                .arg(EXPIRE_AT_REDIS)
+                .arg(expireAt))
+        .ignoreElement()
+        .onErrorComplete(
+            err -> {
+              log.error("Failed to write refresh token cache", err);
+              errors.increment();
+              return true;
+            });
+  }
+
+  public Completable invalidate(List<String> tokenHashes, String tenantId) {
+    if (tokenHashes.isEmpty()) {
+      return Completable.complete();
+    }
+
+    Request request = Request.cmd(Command.DEL);
+    tokenHashes.forEach(tokenHash -> request.arg(getCacheKey(tokenHash, tenantId)));
+    return redisClient.rxSend(request).ignoreElement();
+  }
+
+  private String getCacheKey(String tokenHash, String tenantId) {
+    return CACHE_KEY_REFRESH_TOKEN + "_" + tenantId + "_" + tokenHash;
+  }
+}
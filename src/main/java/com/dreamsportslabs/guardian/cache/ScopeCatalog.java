@@ -0,0 +1,85 @@
+package com.dreamsportslabs.guardian.cache;
+
+import com.dreamsportslabs.guardian.dao.ClientScopeDao;
+import com.dreamsportslabs.guardian.dao.ScopeDao;
+import com.dreamsportslabs.guardian.injection.GuiceInjector;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.reactivex.rxjava3.core.Single;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per node catalog of the scopes of each tenant and of the scopes allowed for its clients, loaded
+ * with one query per table. Every invalidation of a tenant bumps its version, a snapshot loaded
+ * before the latest invalidation is discarded and loaded again. Snapshots expire after the
+ * configured ttl so a missed invalidation message is bounded.
+ */
+public class ScopeCatalog {
+  private static final String METRIC_REQUESTS = "guardian.scope.catalog";
+  private static final String TAG_RESULT = "result";
+
+  private final AsyncLoadingCache<String, TenantScopes> cache;
+  private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+  private final ScopeDao scopeDao;
+  private final ClientScopeDao clientScopeDao;
+
+  public ScopeCatalog(long ttl, long maxSize, MeterRegistry meterRegistry) {
+    this.scopeDao = GuiceInjector.getGuiceInjector().getInstance(ScopeDao.class);
+    this.clientScopeDao = GuiceInjector.getGuiceInjector().getInstance(ClientScopeDao.class);
+    this.cache =
+        Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(ttl))
+            .maximumSize(maxSize)
+            .recordStats()
+            .buildAsync(
+                (tenantId, executor) -> load(tenantId).toCompletionStage().toCompletableFuture());
+    FunctionCounter.builder(METRIC_REQUESTS, cache, c -> c.synchronous().stats().hitCount())
+        .tag(TAG_RESULT, "hit")
+        .register(meterRegistry);
+    FunctionCounter.builder(METRIC_REQUESTS, cache, c -> c.synchronous().stats().missCount())
+        .tag(TAG_RESULT, "miss")
+        .register(meterRegistry);
+  }
+
+  /** Concurrent lookups of a tenant that is not loaded share a single load. */
+  public Single<TenantScopes> get(String tenantId) {
+    return Single.defer(
+        () -> {
+          CompletableFuture<TenantScopes> future = cache.get(tenantId);
+          return Single.fromCompletionStage(future)
+              .flatMap(
+                  scopes -> {
+                    if (scopes.getVersion() == getVersion(tenantId)) {
+                      return Single.just(scopes);
+                    }
+                    cache.asMap().remove(tenantId, future);
+                    return get(tenantId);
+                  });
+        });
+  }
+
+  /** Drops the snapshot of the tenant on this node, other nodes are notified by the caller. */
+  public void invalidate(String tenantId) {
+    versions.computeIfAbsent(tenantId, id -> new AtomicLong()).incrementAndGet();
+    cache.synchronous().invalidate(tenantId);
+  }
+
+  private long getVersion(String tenantId) {
+    AtomicLong version = versions.get(tenantId);
+    return version == null ? 0 : version.get();
+  }
+
+  private Single<TenantScopes> load(String tenantId) {
+    long version = getVersion(tenantId);
+    return Single.zip(
+        scopeDao.getTenantScopes(tenantId),
+        clientScopeDao.getTenantClientScopes(tenantId),
+        (scopes, clientScopes) -> new TenantScopes(version, scopes, clientScopes));
+  }
+}
@@ -1,54 +1,223 @@
 package com.dreamsportslabs.guardian.cache;
 
-import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
+import static com.dreamsportslabs.guardian.exception.ErrorEnum.INVALID_REQUEST;
+import static com.dreamsportslabs.guardian.exception.ErrorEnum.SERVICE_UNAVAILABLE;
+
 import com.dreamsportslabs.guardian.dao.ConfigDao;
 import com.dreamsportslabs.guardian.injection.GuiceInjector;
 import com.dreamsportslabs.guardian.registry.Registry;
 import com.dreamsportslabs.guardian.registry.RegistryInit;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
 import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
 import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Per node cache of tenant registry entries. Concurrent lookups of a tenant that is not loaded yet
+ * share one load. Tenant ids that do not exist are remembered for a short time and loads of ids that
+ * are neither cached nor known tenants are limited per second, so requests with unknown tenant ids
+ * cannot put an unbounded load on the database or use up the loads of real tenants.
+ */
 @Slf4j
 public class TenantCache {
-  private final AsyncLoadingCache<String, TenantConfig> cache;
+  private static final String METRIC_REFRESH = "guardian.tenant.config.refresh";
+  private static final String METRIC_UNKNOWN = "guardian.tenant.unknown";
+  private static final String TAG_RESULT = "result";
+  private static final String NO_CONFIG_FOUND = "No config found";
+
+  private final AsyncLoadingCache<String, TenantEntry> cache;
   private static TenantCache tenantCache;
   private final Registry registry;
+  private final ConfigDao configDao;
+  private final Counter refreshUnchanged;
+  private final Counter refreshReloaded;
+  private final Cache<String, Boolean> unknownTenants;
+  private final Counter unknownLoaded;
+  private final Counter unknownCached;
+  private final Counter unknownRateLimited;
+  private final int missRateLimit;
+  private final AtomicLong missWindow = new AtomicLong();
+  private final AtomicInteger missCount = new AtomicInteger();
+  // Ids of tenants listed at warm up or loaded since, their loads are never rate limited
+  private final Set<String> knownTenants = ConcurrentHashMap.newKeySet();
 
-  private TenantCache(int refreshInterval) {
+  private TenantCache(
+      int refreshInterval,
+      int unknownTenantCacheTtl,
+      long unknownTenantCacheMaxSize,
+      int missRateLimit) {
+    this.registry = GuiceInjector.getGuiceInjector().getInstance(Registry.class);
+    this.configDao = GuiceInjector.getGuiceInjector().getInstance(ConfigDao.class);
+    MeterRegistry meterRegistry = GuiceInjector.getGuiceInjector().getInstance(MeterRegistry.class);
+    this.refreshUnchanged =
+        Counter.builder(METRIC_REFRESH).tag(TAG_RESULT, "unchanged").register(meterRegistry);
+    this.refreshReloaded =
+        Counter.builder(METRIC_REFRESH).tag(TAG_RESULT, "reloaded").register(meterRegistry);
+    this.unknownLoaded =
+        Counter.builder(METRIC_UNKNOWN).tag(TAG_RESULT, "loaded").register(meterRegistry);
+    this.unknownCached =
+        Counter.builder(METRIC_UNKNOWN).tag(TAG_RESULT, "cached").register(meterRegistry);
+    this.unknownRateLimited =
+        Counter.builder(METRIC_UNKNOWN).tag(TAG_RESULT, "rate_limited").register(meterRegistry);
+    this.missRateLimit = missRateLimit;
+    this.unknownTenants =
+        Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(unknownTenantCacheTtl))
+            .maximumSize(unknownTenantCacheMaxSize)
+            .build();
     this.cache =
         Caffeine.newBuilder()
             .refreshAfterWrite(Duration.ofSeconds(refreshInterval))
-            .buildAsync(getLoader(GuiceInjector.getGuiceInjector().getInstance(ConfigDao.class)));
-    this.registry = GuiceInjector.getGuiceInjector().getInstance(Registry.class);
+            .buildAsync(getLoader(configDao));
   }
 
-  public static synchronized TenantCache getInstance(int refreshInterval) {
+  public static synchronized TenantCache getInstance(
+      int refreshInterval,
+      int unknownTenantCacheTtl,
+      long unknownTenantCacheMaxSize,
+      int missRateLimit) {
     if (tenantCache == null) {
-      tenantCache = new TenantCache(refreshInterval);
+      tenantCache =
+          new TenantCache(
+              refreshInterval, unknownTenantCacheTtl, unknownTenantCacheMaxSize, missRateLimit);
     }
 
     return tenantCache;
   }
 
-  public Single<TenantConfig> getTenantConfig(String tenantId) {
+  public Single<TenantEntry> getTenant(String tenantId) {
+    if (unknownTenants.getIfPresent(tenantId) != null) {
+      unknownCached.increment();
+      return Single.error(INVALID_REQUEST.getCustomException(NO_CONFIG_FOUND));
+    }
+
+    if (cache.getIfPresent(tenantId) == null
+        && !knownTenants.contains(tenantId)
+        && !tryAcquireMiss()) {
+      unknownRateLimited.increment();
+      return Single.error(SERVICE_UNAVAILABLE.getException());
+    }
+
     return Single.fromCompletionStage(cache.get(tenantId));
   }
 
-  private AsyncCacheLoader<String, TenantConfig> getLoader(ConfigDao configDao) {
-    return (tenantId, executor) ->
-        configDao
-            .getTenantConfig(tenantId)
-            .map(config -> RegistryInit.initializeRegistry(registry, config))
+  // Fixed one second window shared by all event loops of this node
+  private boolean tryAcquireMiss() {
+    long window = System.currentTimeMillis() / 1000;
+    long current = missWindow.get();
+    if (current != window && missWindow.compareAndSet(current, window)) {
+      missCount.set(0);
+    }
+    return missCount.incrementAndGet() <= missRateLimit;
+  }
+
+  /**
+   * Loads every tenant in the tenant table, at most {@code concurrency} at a time. A tenant that
+   * fails to load is logged and left to be loaded on its first request.
+   */
+  public Completable warmUp(int concurrency) {
+    long startTime = System.currentTimeMillis();
+    AtomicInteger failed = new AtomicInteger();
+    return configDao
+        .getTenantIds()
+        .doOnSuccess(knownTenants::addAll)
+        .flattenAsFlowable(tenantIds -> tenantIds)
+        .flatMapSingle(
+            tenantId ->
+                Single.fromCompletionStage(cache.get(tenantId))
+                    .map(tenant -> true)
+                    .onErrorReturn(
+                        err -> {
+                          log.error("Failed to warm up tenantId: {}", tenantId, err);
+                          failed.incrementAndGet();
+                          return false;
+                        }),
+            false,
+            concurrency)
+        .count()
+        .doOnSuccess(
+            count ->
+                log.info(
+                    "Warmed up {} tenants, {} failed, in {} ms",
+                    count - failed.get(),
+                    failed.get(),
+                    System.currentTimeMillis() - startTime))
+        .ignoreElement();
+  }
+
+  private AsyncCacheLoader<String, TenantEntry> getLoader(ConfigDao configDao) {
+    return new AsyncCacheLoader<>() {
+      @Override
+      public CompletableFuture<TenantEntry> asyncLoad(String tenantId, Executor executor) {
+        return load(configDao, tenantId)
+            .switchIfEmpty(
+                Single.defer(
+                    () -> {
+                      unknownTenants.put(tenantId, Boolean.TRUE);
+                      unknownLoaded.increment();
+                      return Single.error(INVALID_REQUEST.getCustomException(NO_CONFIG_FOUND));
+                    }))
             .toCompletionStage()
             .toCompletableFuture();
+      }
+
+      // Refreshes compare the config version first and only rebuild the registry when it changed
+      // or is not known yet. A tenant that no longer exists completes with null, which removes it
+      // from the cache.
+      @Override
+      public CompletableFuture<TenantEntry> asyncReload(
+          String tenantId, TenantEntry oldEntry, Executor executor) {
+        return configDao
+            .getTenantConfigVersion(tenantId)
+            .filter(version -> version.equals(oldEntry.tenantConfig().getConfigVersion()))
+            .map(
+                version -> {
+                  refreshUnchanged.increment();
+                  return oldEntry;
+                })
+            .switchIfEmpty(
+                Maybe.defer(
+                    () -> {
+                      refreshReloaded.increment();
+                      log.info("Tenant config changed, reloading tenantId: {}", tenantId);
+                      return load(configDao, tenantId)
+                          .doOnComplete(
+                              () -> {
+                                log.info("Tenant removed, evicting tenantId: {}", tenantId);
+                                registry.remove(tenantId);
+                                knownTenants.remove(tenantId);
+                              });
+                    }))
+            .toCompletionStage(null)
+            .toCompletableFuture();
+      }
+    };
+  }
+
+  private Maybe<TenantEntry> load(ConfigDao configDao, String tenantId) {
+    return configDao
+        .getTenantConfig(tenantId)
+        .doOnSuccess(config -> knownTenants.add(tenantId))
+        .map(config -> RegistryInit.initializeRegistry(registry, config));
   }
 
   public void invalidateCache(String tenantId) {
     cache.synchronous().invalidate(tenantId);
+    unknownTenants.invalidate(tenantId);
     log.info("Tenant cache invalidated for tenantId: {}", tenantId);
   }
 }
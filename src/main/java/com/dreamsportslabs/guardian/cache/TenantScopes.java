@@ -0,0 +1,101 @@
+package com.dreamsportslabs.guardian.cache;
+
+import com.dreamsportslabs.guardian.dao.model.ClientScopeModel;
+import com.dreamsportslabs.guardian.dao.model.ScopeModel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the scopes of a tenant and of the scopes allowed for each of its clients.
+ * The claims of every scope and of the OIDC scopes are resolved when the snapshot is built.
+ */
+public class TenantScopes {
+  private final long version;
+  private final Map<String, ScopeModel> scopes;
+  private final Map<String, List<String>> claims;
+  private final Map<String, List<String>> clientScopes;
+  private final List<String> oidcScopeNames;
+  private final List<String> oidcClaims;
+
+  TenantScopes(
+      long version, List<ScopeModel> scopeModels, List<ClientScopeModel> clientScopeModels) {
+    this.version = version;
+
+    Map<String, ScopeModel> scopes = new LinkedHashMap<>();
+    Map<String, List<String>> claims = new HashMap<>();
+    List<String> oidcScopeNames = new ArrayList<>();
+    Set<String> oidcClaims = new LinkedHashSet<>();
+    for (ScopeModel scope : scopeModels) {
+      List<String> scopeClaims =
+          scope.getClaims() == null ? List.of() : List.copyOf(scope.getClaims());
+      scopes.put(scope.getName(), scope);
+      claims.put(scope.getName(), scopeClaims);
+      if (Boolean.TRUE.equals(scope.getIsOidc())) {
+        oidcScopeNames.add(scope.getName());
+        oidcClaims.addAll(scopeClaims);
+      }
+    }
+
+    Map<String, List<String>> clientScopes = new HashMap<>();
+    for (ClientScopeModel clientScope : clientScopeModels) {
+      clientScopes
+          .computeIfAbsent(clientScope.getClientId(), clientId -> new ArrayList<>())
+          .add(clientScope.getScope());
+    }
+    clientScopes.replaceAll((clientId, names) -> List.copyOf(names));
+
+    this.scopes = Collections.unmodifiableMap(scopes);
+    this.claims = Collections.unmodifiableMap(claims);
+    this.clientScopes = Collections.unmodifiableMap(clientScopes);
+    this.oidcScopeNames = List.copyOf(oidcScopeNames);
+    this.oidcClaims = List.copyOf(oidcClaims);
+  }
+
+  long getVersion() {
+    return version;
+  }
+
+  /** Returns the existing scopes among {@code names}, each once, in the order they are named. */
+  public List<ScopeModel> getScopes(Collection<String> names) {
+    List<ScopeModel> result = new ArrayList<>();
+    for (String name : new LinkedHashSet<>(names)) {
+      ScopeModel scope = scopes.get(name);
+      if (scope != null) {
+        result.add(scope);
+      }
+    }
+    return result;
+  }
+
+  /** Returns the distinct claims of the existing scopes among {@code names}. */
+  public List<String> getClaims(Collection<String> names) {
+    Set<String> result = new LinkedHashSet<>();
+    for (String name : names) {
+      List<String> scopeClaims = claims.get(name);
+      if (scopeClaims != null) {
+        result.addAll(scopeClaims);
+      }
+    }
+    return new ArrayList<>(result);
+  }
+
+  /** Returns the scopes allowed for the client in the order they were added. */
+  public List<String> getClientScopes(String clientId) {
+    return clientScopes.getOrDefault(clientId, List.of());
+  }
+
+  public List<String> getOidcScopeNames() {
+    return oidcScopeNames;
+  }
+
+  public List<String> getOidcClaims() {
+    return oidcClaims;
+  }
+}
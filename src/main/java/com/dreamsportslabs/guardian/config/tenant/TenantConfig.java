@@ -10,6 +10,7 @@ import lombok.ToString;
 @Builder
 public class TenantConfig {
   private String tenantId;
+  private String configVersion;
   private AuthCodeConfig authCodeConfig;
   private EmailConfig emailConfig;
   private FbConfig fbConfig;
@@ -9,6 +9,7 @@ public class TokenConfig {
   private String issuer;
   private Integer accessTokenExpiry;
   private Integer refreshTokenExpiry;
+  private Boolean selfContainedRefreshToken;
   private Integer idTokenExpiry;
   private List<String> idTokenClaims;
   private List<RsaKey> rsaKeys;
@@ -14,6 +14,7 @@ public final class Constants {
   public static final String AES_ALGORITHM = "AES";
   public static final String AES_CBC_NO_PADDING = "AES/CBC/NoPadding";
   public static final String SHUTDOWN_STATUS = "__shutdown__";
+  public static final String TENANT_WARM_UP_STATUS = "__tenant_warm_up__";
 
   // HTTP Request Headers
   public static final String AUTHORIZATION = "Authorization";
@@ -31,6 +32,10 @@ public final class Constants {
   public static final String OIDC_PROVIDERS_FACEBOOK = "facebook";
   public static final String OIDC_PROVIDERS_GOOGLE = "google";
 
+  public static final String GOOGLE_JWKS_URL = "https://www.googleapis.com/oauth2/v3/certs";
+  public static final ImmutableList<String> GOOGLE_ISSUERS =
+      ImmutableList.of("accounts.google.com", "https://accounts.google.com");
+
   public static final String OIDC_CLAIMS_EMAIL = "email";
   public static final String OIDC_CLAIMS_SUB = "sub";
   public static final String OIDC_CLAIMS_FULL_NAME = "name";
@@ -48,6 +53,8 @@ public final class Constants {
 
   // Application config
   public static final String PORT = "port";
+  public static final String METRICS_HOST = "metrics_host";
+  public static final String METRICS_PORT = "metrics_port";
   public static final String MYSQL_WRITER_HOST = "mysql_writer_host";
   public static final String MYSQL_READER_HOST = "mysql_reader_host";
   public static final String MYSQL_DATABASE = "mysql_database";
@@ -69,6 +76,34 @@ public final class Constants {
       "http_client_connection_pool_max_size";
   public static final String APPLICATION_SHUTDOWN_GRACE_PERIOD =
       "application_shutdown_grace_period";
+  public static final String TOKEN_SIGNING_POOL_SIZE = "token_signing_pool_size";
+  public static final String TOKEN_SIGNING_QUEUE_SIZE = "token_signing_queue_size";
+  public static final String TOKEN_SIGNING_INLINE_ALGORITHMS = "token_signing_inline_algorithms";
+  public static final String CLIENT_CREDENTIALS_TOKEN_CACHE_ENABLED =
+      "client_credentials_token_cache_enabled";
+  public static final String CLIENT_CREDENTIALS_TOKEN_CACHE_MAX_SIZE =
+      "client_credentials_token_cache_max_size";
+  public static final String CLIENT_CREDENTIALS_TOKEN_CACHE_MIN_REMAINING_RATIO =
+      "client_credentials_token_cache_min_remaining_ratio";
+  public static final String TENANT_WARM_UP_CONCURRENCY = "tenant_warm_up_concurrency";
+  public static final String UNKNOWN_TENANT_CACHE_TTL = "unknown_tenant_cache_ttl";
+  public static final String UNKNOWN_TENANT_CACHE_MAX_SIZE = "unknown_tenant_cache_max_size";
+  public static final String TENANT_MISS_RATE_LIMIT = "tenant_miss_rate_limit";
+  public static final String CLIENT_CACHE_TTL = "client_cache_ttl";
+  public static final String CLIENT_CACHE_MAX_SIZE = "client_cache_max_size";
+  public static final String CLIENT_SECRET_PEPPER = "client_secret_pepper";
+  public static final String CLIENT_SECRET_STORE_PLAINTEXT = "client_secret_store_plaintext";
+  public static final String CLIENT_SECRET_CACHE_TTL = "client_secret_cache_ttl";
+  public static final String CLIENT_SECRET_CACHE_MAX_SIZE = "client_secret_cache_max_size";
+  public static final String SCOPE_CATALOG_TTL = "scope_catalog_ttl";
+  public static final String SCOPE_CATALOG_MAX_SIZE = "scope_catalog_max_size";
+  public static final String REFRESH_TOKEN_CACHE_TTL = "refresh_token_cache_ttl";
+  public static final String REFRESH_TOKEN_PURGE_ENABLED = "refresh_token_purge_enabled";
+  public static final String REFRESH_TOKEN_PURGE_INTERVAL = "refresh_token_purge_interval";
+  public static final String REFRESH_TOKEN_PURGE_BATCH_SIZE = "refresh_token_purge_batch_size";
+  public static final String REFRESH_TOKEN_PURGE_BATCH_DELAY = "refresh_token_purge_batch_delay";
+  public static final String REFRESH_TOKEN_PURGE_RETENTION = "refresh_token_purge_retention";
+  public static final String REFRESH_TOKEN_SIGNING_KEY = "refresh_token_signing_key";
 
   // JWT CLAIMS
   public static final String JWT_CLAIMS_AUD = "aud";
@@ -132,6 +167,8 @@ public final class Constants {
   public static final String CACHE_KEY_CODE = "CODE";
   public static final String CACHE_KEY_STATE = "STATE";
   public static final String CACHE_KEY_AUTH_SESSION = "AUTH_SESSION";
+  public static final String CACHE_KEY_REFRESH_TOKEN = "REFRESH_TOKEN";
+  public static final String CACHE_KEY_OIDC_REFRESH_TOKEN_FAMILY = "OIDC_REFRESH_TOKEN_FAMILY";
 
   public static final String TOKEN_TYPE = "Bearer";
 
@@ -177,6 +214,9 @@ public final class Constants {
   public static final String FORMAT_PEM = "PEM";
   public static final String FORMAT_JWKS = "JWKS";
   public static final ImmutableList<Integer> VALID_KEY_SIZES = ImmutableList.of(2048, 3072, 4096);
+  public static final String KEY_TYPE_RSA = "RSA";
+  public static final String KEY_TYPE_EC = "EC";
+  public static final ImmutableList<Integer> VALID_EC_KEY_SIZES = ImmutableList.of(256, 384, 521);
 
   // OIDC Token Constants
   public static final String OIDC_REFRESH_TOKEN = "refresh_token";
@@ -5,7 +5,11 @@ import lombok.Getter;
 
 @Getter
 public enum OidcIdTokenSigningAlgValue {
-  RS256("RS256");
+  RS256("RS256"),
+  RS512("RS512"),
+  ES256("ES256"),
+  ES384("ES384"),
+  ES512("ES512");
 
   private final String value;
 
@@ -40,6 +40,7 @@ public class ClientDao {
         .addString(client.getClientId())
         .addString(client.getClientName())
         .addString(client.getClientSecret())
+        .addString(client.getClientSecretHash())
         .addString(client.getClientUri())
         .addString(serializeToJsonString(client.getContacts(), objectMapper))
         .addString(serializeToJsonString(client.getGrantTypes(), objectMapper))
@@ -105,11 +106,13 @@ public class ClientDao {
         .onErrorResumeNext(err -> Completable.error(INTERNAL_SERVER_ERROR.getException(err)));
   }
 
-  public Completable updateClientSecret(String newSecret, String clientId, String tenantId) {
+  /** A null secret clears the stored plaintext, leaving only the hash. */
+  public Completable updateClientSecret(
+      String secretHash, String secret, String clientId, String tenantId) {
     return mysqlClient
         .getWriterPool()
         .preparedQuery(UPDATE_CLIENT_SECRET)
-        .rxExecute(Tuple.of(newSecret, tenantId, clientId))
+        .rxExecute(Tuple.of(secretHash, secret, tenantId, clientId))
         .ignoreElement()
         .onErrorResumeNext(err -> Completable.error(INTERNAL_SERVER_ERROR.getException(err)));
   }
@@ -2,6 +2,7 @@ package com.dreamsportslabs.guardian.dao;
 
 import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.ADMIN_CONFIG;
 import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.AUTH_CODE_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.CONFIG_VERSION;
 import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.CONTACT_VERIFY_CONFIG;
 import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.EMAIL_CONFIG;
 import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.FB_AUTH_CONFIG;
@@ -11,9 +12,11 @@ import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.OIDC_CONFIG;
 import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.OIDC_PROVIDER_CONFIG;
 import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.OTP_CONFIG;
 import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.SMS_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.TENANT_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.TENANT_CONFIG_VERSION;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.TENANT_IDS;
 import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.TOKEN_CONFIG;
 import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.USER_CONFIG;
-import static com.dreamsportslabs.guardian.exception.ErrorEnum.INVALID_REQUEST;
 
 import com.dreamsportslabs.guardian.client.MysqlClient;
 import com.dreamsportslabs.guardian.config.tenant.AdminConfig;
@@ -32,10 +35,17 @@ import com.dreamsportslabs.guardian.config.tenant.TokenConfig;
 import com.dreamsportslabs.guardian.config.tenant.UserConfig;
 import com.dreamsportslabs.guardian.utils.JsonUtils;
 import com.google.inject.Inject;
-import io.reactivex.rxjava3.core.Completable;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
+import io.vertx.core.json.JsonArray;
+import io.vertx.rxjava3.sqlclient.Row;
 import io.vertx.rxjava3.sqlclient.Tuple;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -43,133 +53,132 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class ConfigDao {
-  private final MysqlClient mysqlClient;
-
-  public Single<TenantConfig> getTenantConfig(String tenantId) {
-    TenantConfig.TenantConfigBuilder builder = TenantConfig.builder().tenantId(tenantId);
-    List<Completable> configSources =
-        List.of(
-            appendAuthCodeConfig(tenantId, builder),
-            appendEmailConfig(tenantId, builder),
-            appendUserConfig(tenantId, builder),
-            appendTokenConfig(tenantId, builder),
-            appendFbConfig(tenantId, builder),
-            appendGoogleConfig(tenantId, builder),
-            appendSmsConfig(tenantId, builder),
-            appendOtpConfig(tenantId, builder),
-            appendContactVerifyConfig(tenantId, builder),
-            appendOidcProviderConfig(tenantId, builder),
-            appendAdminConfig(tenantId, builder),
-            appendContactVerifyConfig(tenantId, builder),
-            appendOidcConfig(tenantId, builder),
-            appendGuestConfig(tenantId, builder));
-    return Completable.merge(configSources)
-        .andThen(Single.defer(() -> Single.just(builder.build())));
-  }
-
-  private Completable appendAuthCodeConfig(
-      String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getConfigFromDb(tenantId, AuthCodeConfig.class, AUTH_CODE_CONFIG)
-        .map(builder::authCodeConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendEmailConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getConfigFromDb(tenantId, EmailConfig.class, EMAIL_CONFIG)
-        .map(builder::emailConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendOtpConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getConfigFromDb(tenantId, OtpConfig.class, OTP_CONFIG)
-        .map(builder::otpConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendContactVerifyConfig(
-      String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getConfigFromDb(tenantId, ContactVerifyConfig.class, CONTACT_VERIFY_CONFIG)
-        .map(builder::contactVerifyConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendUserConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getConfigFromDb(tenantId, UserConfig.class, USER_CONFIG)
-        .map(builder::userConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendTokenConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getConfigFromDb(tenantId, TokenConfig.class, TOKEN_CONFIG)
-        .map(builder::tokenConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendFbConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getConfigFromDb(tenantId, FbConfig.class, FB_AUTH_CONFIG)
-        .map(builder::fbConfig)
-        .ignoreElement();
-  }
+  private static final String METRIC_LOAD_LATENCY = "guardian.tenant.config.load";
+  private static final String METRIC_LOAD_ROWS = "guardian.tenant.config.load.rows";
+  private static final String TAG_TENANT = "tenant";
+  private static final String TAG_RESULT = "result";
+  // Failed loads may be for ids that do not exist, so they share one tenant tag value
+  private static final String UNKNOWN_TENANT = "unknown";
+  private static final List<String> REQUIRED_CONFIGS =
+      List.of(
+          AUTH_CODE_CONFIG,
+          EMAIL_CONFIG,
+          USER_CONFIG,
+          TOKEN_CONFIG,
+          FB_AUTH_CONFIG,
+          GOOGLE_AUTH_CONFIG,
+          SMS_CONFIG,
+          OTP_CONFIG,
+          CONTACT_VERIFY_CONFIG,
+          ADMIN_CONFIG,
+          OIDC_CONFIG,
+          GUEST_CONFIG);
 
-  private Completable appendGoogleConfig(
-      String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getConfigFromDb(tenantId, GoogleConfig.class, GOOGLE_AUTH_CONFIG)
-        .map(builder::googleConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendGuestConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getConfigFromDb(tenantId, GuestConfig.class, GUEST_CONFIG)
-        .map(builder::guestConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendSmsConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getConfigFromDb(tenantId, SmsConfig.class, SMS_CONFIG)
-        .map(builder::smsConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendOidcConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getConfigFromDb(tenantId, OidcConfig.class, OIDC_CONFIG)
-        .map(builder::oidcConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendAdminConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getConfigFromDb(tenantId, AdminConfig.class, ADMIN_CONFIG)
-        .map(builder::adminConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendOidcProviderConfig(
-      String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getMultipleConfigFromDb(tenantId, OidcProviderConfig.class, OIDC_PROVIDER_CONFIG)
-        .map(
-            configs ->
-                configs.stream()
-                    .collect(
-                        Collectors.toMap(OidcProviderConfig::getProviderName, config -> config)))
-        .map(builder::oidcProviderConfig)
-        .ignoreElement();
-  }
+  private final MysqlClient mysqlClient;
+  private final MeterRegistry meterRegistry;
 
-  private <T> Single<List<T>> getMultipleConfigFromDb(
-      String tenantId, Class<T> configType, String query) {
+  /** Completes empty when the tenant does not exist or any required config row is missing. */
+  public Maybe<TenantConfig> getTenantConfig(String tenantId) {
+    long startTime = System.nanoTime();
     return mysqlClient
         .getReaderPool()
-        .preparedQuery(query)
+        .preparedQuery(TENANT_CONFIG)
+        .execute(Tuple.of(tenantId, tenantId))
+        .flatMapMaybe(
+            rows -> {
+              Row row = rows.iterator().next();
+              // Not recorded, tagging unknown ids would register a new meter per request
+              if (!hasRequiredConfigs(row)) {
+                return Maybe.empty();
+              }
+              TenantConfig config = toTenantConfig(tenantId, row);
+              recordLoadLatency(tenantId, "success", startTime);
+              return Maybe.just(config);
+            })
+        .doOnError(err -> recordLoadLatency(UNKNOWN_TENANT, "failure", startTime));
+  }
+
+  // Empty while a config table of the tenant changed recently, see ConfigQuery
+  public Maybe<String> getTenantConfigVersion(String tenantId) {
+    return mysqlClient
+        .getReaderPool()
+        .preparedQuery(TENANT_CONFIG_VERSION)
         .execute(Tuple.of(tenantId))
-        .map(rows -> JsonUtils.rowSetToList(rows, configType));
+        .flatMapMaybe(
+            rows -> {
+              String version = rows.iterator().next().getString(CONFIG_VERSION);
+              return version == null ? Maybe.empty() : Maybe.just(version);
+            });
   }
 
-  private <T> Single<T> getConfigFromDb(String tenantId, Class<T> configType, String query) {
+  public Single<List<String>> getTenantIds() {
     return mysqlClient
         .getReaderPool()
-        .preparedQuery(query)
-        .execute(Tuple.of(tenantId))
-        .filter(rowSet -> rowSet.size() > 0)
-        .switchIfEmpty(Single.error(INVALID_REQUEST.getCustomException("No config found")))
-        .map(rows -> JsonUtils.rowSetToList(rows, configType).get(0));
+        .preparedQuery(TENANT_IDS)
+        .execute()
+        .map(rows -> JsonUtils.rowSetToList(rows, String.class));
+  }
+
+  private TenantConfig toTenantConfig(String tenantId, Row row) {
+    List<OidcProviderConfig> oidcProviderConfigs =
+        getConfigList(row, OIDC_PROVIDER_CONFIG, OidcProviderConfig.class);
+    TenantConfig tenantConfig =
+        TenantConfig.builder()
+            .tenantId(tenantId)
+            .configVersion(row.getString(CONFIG_VERSION))
+            .authCodeConfig(getConfig(row, AUTH_CODE_CONFIG, AuthCodeConfig.class))
+            .emailConfig(getConfig(row, EMAIL_CONFIG, EmailConfig.class))
+            .userConfig(getConfig(row, USER_CONFIG, UserConfig.class))
+            .tokenConfig(getConfig(row, TOKEN_CONFIG, TokenConfig.class))
+            .fbConfig(getConfig(row, FB_AUTH_CONFIG, FbConfig.class))
+            .googleConfig(getConfig(row, GOOGLE_AUTH_CONFIG, GoogleConfig.class))
+            .smsConfig(getConfig(row, SMS_CONFIG, SmsConfig.class))
+            .otpConfig(getConfig(row, OTP_CONFIG, OtpConfig.class))
+            .contactVerifyConfig(getConfig(row, CONTACT_VERIFY_CONFIG, ContactVerifyConfig.class))
+            .oidcProviderConfig(
+                oidcProviderConfigs.stream()
+                    .collect(
+                        Collectors.toMap(OidcProviderConfig::getProviderName, Function.identity())))
+            .adminConfig(getConfig(row, ADMIN_CONFIG, AdminConfig.class))
+            .oidcConfig(getConfig(row, OIDC_CONFIG, OidcConfig.class))
+            .guestConfig(getConfig(row, GUEST_CONFIG, GuestConfig.class))
+            .build();
+
+    // Besides the provider and version columns every column is a required single row config
+    DistributionSummary.builder(METRIC_LOAD_ROWS)
+        .tag(TAG_TENANT, tenantId)
+        .register(meterRegistry)
+        .record(row.size() - 2 + oidcProviderConfigs.size());
+    return tenantConfig;
+  }
+
+  private boolean hasRequiredConfigs(Row row) {
+    for (String column : REQUIRED_CONFIGS) {
+      if (row.getValue(column) == null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private <T> T getConfig(Row row, String column, Class<T> configType) {
+    return JsonUtils.jsonToObject(row.getValue(column), configType);
+  }
+
+  private <T> List<T> getConfigList(Row row, String column, Class<T> configType) {
+    Object value = row.getValue(column);
+    if (value == null) {
+      return List.of();
+    }
+    return ((JsonArray) value)
+        .stream().map(config -> JsonUtils.jsonToObject(config, configType)).toList();
+  }
+
+  private void recordLoadLatency(String tenantId, String result, long startTime) {
+    Timer.builder(METRIC_LOAD_LATENCY)
+        .tag(TAG_TENANT, tenantId)
+        .tag(TAG_RESULT, result)
+        .register(meterRegistry)
+        .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
   }
 }
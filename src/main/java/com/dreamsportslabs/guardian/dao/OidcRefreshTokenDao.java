@@ -1,9 +1,14 @@
 package com.dreamsportslabs.guardian.dao;
 
+import static com.dreamsportslabs.guardian.dao.query.OidcTokenQuery.GET_LEGACY_OIDC_REFRESH_TOKEN;
 import static com.dreamsportslabs.guardian.dao.query.OidcTokenQuery.GET_OIDC_REFRESH_TOKEN;
+import static com.dreamsportslabs.guardian.dao.query.OidcTokenQuery.REVOKE_LEGACY_OIDC_REFRESH_TOKEN;
 import static com.dreamsportslabs.guardian.dao.query.OidcTokenQuery.REVOKE_OIDC_REFRESH_TOKEN;
+import static com.dreamsportslabs.guardian.dao.query.OidcTokenQuery.REVOKE_OIDC_REFRESH_TOKEN_FAMILY;
 import static com.dreamsportslabs.guardian.dao.query.OidcTokenQuery.SAVE_OIDC_REFRESH_TOKEN;
 import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.INTERNAL_SERVER_ERROR;
+import static com.dreamsportslabs.guardian.utils.Utils.getLegacyRefreshToken;
+import static com.dreamsportslabs.guardian.utils.Utils.getRefreshTokenHash;
 
 import com.dreamsportslabs.guardian.client.MysqlClient;
 import com.dreamsportslabs.guardian.dao.model.OidcRefreshTokenModel;
@@ -27,7 +32,9 @@ public class OidcRefreshTokenDao {
     params.addString(refreshTokenModel.getTenantId());
     params.addString(refreshTokenModel.getClientId());
     params.addString(refreshTokenModel.getUserId());
-    params.addString(refreshTokenModel.getRefreshToken());
+    params.addString(getLegacyRefreshToken(refreshTokenModel.getRefreshToken()));
+    params.addString(getRefreshTokenHash(refreshTokenModel.getRefreshToken()));
+    params.addString(refreshTokenModel.getFamilyId());
     params.addLong(refreshTokenModel.getRefreshTokenExp());
     params.addJsonArray(new JsonArray(refreshTokenModel.getScope()));
     params.addString(refreshTokenModel.getDeviceName());
@@ -43,14 +50,24 @@ public class OidcRefreshTokenDao {
 
   public Maybe<OidcRefreshTokenModel> getOidcRefreshToken(
       String tenantId, String clientId, String refreshToken) {
-    Tuple params = Tuple.tuple();
-    params.addString(tenantId);
-    params.addString(clientId);
-    params.addString(refreshToken);
+    String legacyToken = getLegacyRefreshToken(refreshToken);
+    return getOidcRefreshToken(
+            GET_OIDC_REFRESH_TOKEN, tenantId, clientId, getRefreshTokenHash(refreshToken))
+        .switchIfEmpty(
+            Maybe.defer(
+                () ->
+                    legacyToken == null
+                        ? Maybe.empty()
+                        : getOidcRefreshToken(
+                            GET_LEGACY_OIDC_REFRESH_TOKEN, tenantId, clientId, legacyToken)));
+  }
+
+  private Maybe<OidcRefreshTokenModel> getOidcRefreshToken(
+      String query, String tenantId, String clientId, String token) {
     return mysqlClient
         .getReaderPool()
-        .preparedQuery(GET_OIDC_REFRESH_TOKEN)
-        .rxExecute(params)
+        .preparedQuery(query)
+        .rxExecute(Tuple.of(tenantId, clientId, token))
         .onErrorResumeNext(
             err -> {
               log.error("Failed to get OIDC refresh token", err);
@@ -63,11 +80,23 @@ public class OidcRefreshTokenDao {
 
   public Single<Boolean> revokeOidcRefreshToken(
       String tenantId, String clientId, String refreshToken) {
-    Tuple params = Tuple.of(tenantId, clientId, refreshToken);
+    String legacyToken = getLegacyRefreshToken(refreshToken);
+    return revokeOidcRefreshToken(
+            REVOKE_OIDC_REFRESH_TOKEN, tenantId, clientId, getRefreshTokenHash(refreshToken))
+        .flatMap(
+            revoked ->
+                revoked || legacyToken == null
+                    ? Single.just(revoked)
+                    : revokeOidcRefreshToken(
+                        REVOKE_LEGACY_OIDC_REFRESH_TOKEN, tenantId, clientId, legacyToken));
+  }
+
+  private Single<Boolean> revokeOidcRefreshToken(
+      String query, String tenantId, String clientId, String token) {
     return mysqlClient
         .getWriterPool()
-        .preparedQuery(REVOKE_OIDC_REFRESH_TOKEN)
-        .rxExecute(params)
+        .preparedQuery(query)
+        .rxExecute(Tuple.of(tenantId, clientId, token))
         .onErrorResumeNext(
             err -> {
               log.error("Failed to revoke OIDC refresh token", err);
@@ -79,4 +108,17 @@ public class OidcRefreshTokenDao {
         .map(__ -> true)
         .switchIfEmpty(Single.just(false));
   }
+
+  public Single<Integer> revokeOidcRefreshTokenFamily(String tenantId, String familyId) {
+    return mysqlClient
+        .getWriterPool()
+        .preparedQuery(REVOKE_OIDC_REFRESH_TOKEN_FAMILY)
+        .rxExecute(Tuple.of(tenantId, familyId))
+        .onErrorResumeNext(
+            err -> {
+              log.error("Failed to revoke OIDC refresh token family", err);
+              return Single.error(INTERNAL_SERVER_ERROR.getException());
+            })
+        .map(result -> result.rowCount());
+  }
 }
@@ -0,0 +1,222 @@
+package com.dreamsportslabs.guardian.dao;
+
+import static com.dreamsportslabs.guardian.constant.Constants.CACHE_KEY_OIDC_REFRESH_TOKEN_FAMILY;
+import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.SERVER_ERROR;
+
+import com.dreamsportslabs.guardian.dao.model.OidcRefreshTokenFamilyModel;
+import com.google.inject.Inject;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
+import io.vertx.rxjava3.redis.client.Command;
+import io.vertx.rxjava3.redis.client.Redis;
+import io.vertx.rxjava3.redis.client.Request;
+import io.vertx.rxjava3.redis.client.Response;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Redis state of OIDC refresh token families. A family is a hash holding the SHA-256 of its only
+ * valid token together with what is needed to issue the next one, so a refresh is checked and
+ * rotated by one script call. The hash expires with the family, MySQL keeps a row per token for
+ * revocation and auditing.
+ */
+@Slf4j
+@RequiredArgsConstructor(onConstructor = @__({@Inject}))
+public class OidcRefreshTokenFamilyDao {
+  private static final String CREATE_SCRIPT =
+      """
+      if redis.call('EXISTS', KEYS[1]) == 1 then
+        return 0
+      end
+      redis.call('HSET', KEYS[1], 'current', ARGV[1], 'rft', ARGV[2], 'client', ARGV[3],
+          'user', ARGV[4], 'scope', ARGV[5], 'exp', ARGV[6])
+      redis.call('EXPIREAT', KEYS[1], ARGV[6])
+      return 1
+      """;
+
+  // A token that is not the current one of its family was already rotated, presenting it again
+  // means it leaked, so the family is revoked and the rft id of the current token is returned
+  private static final String ROTATE_SCRIPT =
+      """
+      local family = redis.call('HMGET', KEYS[1], 'current', 'client', 'revoked', 'rft',
+          'user', 'scope', 'exp')
+      if not family[1] then
+        return {'UNKNOWN'}
+      end
+      if family[2] ~= ARGV[2] then
+        return {'INVALID'}
+      end
+      if family[3] then
+        return {'REVOKED'}
+      end
+      if family[1] ~= ARGV[1] then
+        redis.call('HSET', KEYS[1], 'revoked', '1')
+        return {'REUSED', family[4]}
+      end
+      redis.call('HSET', KEYS[1], 'current', ARGV[3], 'rft', ARGV[4])
+      return {'ROTATED', family[5], family[6], family[7]}
+      """;
+
+  private static final String RESTORE_SCRIPT =
+      """
+      if redis.call('HGET', KEYS[1], 'current') ~= ARGV[2] then
+        return 0
+      end
+      redis.call('HSET', KEYS[1], 'current', ARGV[1], 'rft', ARGV[3])
+      return 1
+      """;
+
+  private static final String REVOKE_SCRIPT =
+      """
+      local family = redis.call('HMGET', KEYS[1], 'client', 'rft')
+      if not family[1] or family[1] ~= ARGV[1] then
+        return false
+      end
+      redis.call('HSET', KEYS[1], 'revoked', '1')
+      return family[2]
+      """;
+
+  private static final String CREATE_SCRIPT_SHA = DigestUtils.sha1Hex(CREATE_SCRIPT);
+  private static final String ROTATE_SCRIPT_SHA = DigestUtils.sha1Hex(ROTATE_SCRIPT);
+  private static final String RESTORE_SCRIPT_SHA = DigestUtils.sha1Hex(RESTORE_SCRIPT);
+  private static final String REVOKE_SCRIPT_SHA = DigestUtils.sha1Hex(REVOKE_SCRIPT);
+  private static final String SCOPE_SEPARATOR = " ";
+
+  private final Redis redisClient;
+
+  public enum Status {
+    ROTATED,
+    REUSED,
+    REVOKED,
+    INVALID,
+    UNKNOWN
+  }
+
+  /**
+   * Outcome of a rotation. User, scope and expiry are only set when rotated, the rft id of the
+   * current token of the family only when reused.
+   */
+  public record Rotation(
+      Status status, String userId, List<String> scope, long refreshTokenExp, String rftId) {}
+
+  /** Returns false when the family already exists. */
+  public Single<Boolean> createFamily(OidcRefreshTokenFamilyModel family) {
+    return eval(
+            CREATE_SCRIPT,
+            CREATE_SCRIPT_SHA,
+            getCacheKey(family.getTenantId(), family.getFamilyId()),
+            family.getTokenHash(),
+            family.getRftId(),
+            family.getClientId(),
+            family.getUserId(),
+            String.join(SCOPE_SEPARATOR, family.getScope()),
+            String.valueOf(family.getRefreshTokenExp()))
+        .map(response -> response.toInteger() == 1)
+        .defaultIfEmpty(false)
+        .onErrorResumeNext(
+            err -> {
+              log.error("Failed to create OIDC refresh token family", err);
+              return Single.error(SERVER_ERROR.getException());
+            });
+  }
+
+  public Single<Rotation> rotate(
+      String tenantId,
+      String familyId,
+      String clientId,
+      String tokenHash,
+      String newTokenHash,
+      String newRftId) {
+    return eval(
+            ROTATE_SCRIPT,
+            ROTATE_SCRIPT_SHA,
+            getCacheKey(tenantId, familyId),
+            tokenHash,
+            clientId,
+            newTokenHash,
+            newRftId)
+        .toSingle()
+        .map(this::toRotation)
+        .onErrorResumeNext(
+            err -> {
+              log.error("Failed to rotate OIDC refresh token", err);
+              return Single.error(SERVER_ERROR.getException());
+            });
+  }
+
+  /**
+   * Makes the presented token current again when the new one could not be issued, unless the family
+   * moved on in the meantime.
+   */
+  public Completable restore(
+      String tenantId, String familyId, String tokenHash, String rftId, String newTokenHash) {
+    return eval(
+            RESTORE_SCRIPT,
+            RESTORE_SCRIPT_SHA,
+            getCacheKey(tenantId, familyId),
+            tokenHash,
+            newTokenHash,
+            rftId)
+        .ignoreElement()
+        .onErrorResumeNext(
+            err -> {
+              log.error("Failed to restore OIDC refresh token", err);
+              return Completable.error(SERVER_ERROR.getException());
+            });
+  }
+
+  /** Returns the rft id of the current token of the family when it was revoked. */
+  public Maybe<String> revokeFamily(String tenantId, String familyId, String clientId) {
+    return eval(REVOKE_SCRIPT, REVOKE_SCRIPT_SHA, getCacheKey(tenantId, familyId), clientId)
+        .map(Response::toString)
+        .onErrorResumeNext(
+            err -> {
+              log.error("Failed to revoke OIDC refresh token family", err);
+              return Maybe.error(SERVER_ERROR.getException());
+            });
+  }
+
+  private Rotation toRotation(Response response) {
+    Status status = Status.valueOf(response.get(0).toString());
+    if (status == Status.REUSED) {
+      return new Rotation(status, null, null, 0, response.get(1).toString());
+    }
+    if (status != Status.ROTATED) {
+      return new Rotation(status, null, null, 0, null);
+    }
+    return new Rotation(
+        status,
+        response.get(1).toString(),
+        List.of(response.get(2).toString().split(SCOPE_SEPARATOR)),
+        response.get(3).toLong(),
+        null);
+  }
+
+  // Scripts are sent by digest, the body only travels when the server does not have it yet
+  private Maybe<Response> eval(String script, String sha, String key, String... args) {
+    return redisClient
+        .rxSend(buildRequest(Command.EVALSHA, sha, key, args))
+        .onErrorResumeNext(
+            err -> {
+              if (err.getMessage() == null || !err.getMessage().startsWith("NOSCRIPT")) {
+                return Maybe.error(err);
+              }
+              return redisClient.rxSend(buildRequest(Command.EVAL, script, key, args));
+            });
+  }
+
+  private Request buildRequest(Command command, String script, String key, String... args) {
+    Request request = Request.cmd(command).arg(script).arg(1).arg(key);
+    for (String arg : args) {
+      request.arg(arg);
+    }
+    return request;
+  }
+
+  private String getCacheKey(String tenantId, String familyId) {
+    return CACHE_KEY_OIDC_REFRESH_TOKEN_FAMILY + "_" + tenantId + "_" + familyId;
+  }
+}
@@ -1,12 +1,19 @@
 package com.dreamsportslabs.guardian.dao;
 
-import static com.dreamsportslabs.guardian.dao.query.RefreshTokenSql.GET_ALL_REFRESH_TOKENS_FOR_USER;
+import static com.dreamsportslabs.guardian.dao.query.RefreshTokenSql.GET_ALL_RFT_IDS_FOR_USER;
+import static com.dreamsportslabs.guardian.dao.query.RefreshTokenSql.GET_UNEXPIRED_TOKEN_HASHES_FOR_USER;
 import static com.dreamsportslabs.guardian.dao.query.RefreshTokenSql.INVALIDATE_ALL_REFRESH_TOKENS_FOR_USER;
+import static com.dreamsportslabs.guardian.dao.query.RefreshTokenSql.INVALIDATE_LEGACY_REFRESH_TOKEN;
 import static com.dreamsportslabs.guardian.dao.query.RefreshTokenSql.INVALIDATE_REFRESH_TOKEN;
 import static com.dreamsportslabs.guardian.dao.query.RefreshTokenSql.SAVE_REFRESH_TOKEN;
+import static com.dreamsportslabs.guardian.dao.query.RefreshTokenSql.VALIDATE_LEGACY_REFRESH_TOKEN;
 import static com.dreamsportslabs.guardian.dao.query.RefreshTokenSql.VALIDATE_REFRESH_TOKEN;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INTERNAL_SERVER_ERROR;
+import static com.dreamsportslabs.guardian.utils.Utils.getLegacyRefreshToken;
+import static com.dreamsportslabs.guardian.utils.Utils.getRefreshTokenHash;
+import static com.dreamsportslabs.guardian.utils.Utils.getRftId;
 
+import com.dreamsportslabs.guardian.cache.RefreshTokenCache;
 import com.dreamsportslabs.guardian.client.MysqlClient;
 import com.dreamsportslabs.guardian.dao.model.RefreshTokenModel;
 import com.dreamsportslabs.guardian.utils.JsonUtils;
@@ -24,8 +31,10 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor(onConstructor_ = @__({@Inject}))
 public class RefreshTokenDao {
   private final MysqlClient mysqlClient;
+  private final RefreshTokenCache refreshTokenCache;
 
   public Completable saveRefreshToken(RefreshTokenModel refreshTokenModel) {
+    String tokenHash = getRefreshTokenHash(refreshTokenModel.getRefreshToken());
     return mysqlClient
         .getWriterPool()
         .preparedQuery(SAVE_REFRESH_TOKEN)
@@ -34,45 +43,93 @@ public class RefreshTokenDao {
                 Arrays.asList(
                     refreshTokenModel.getTenantId(),
                     refreshTokenModel.getUserId(),
-                    refreshTokenModel.getRefreshToken(),
+                    getLegacyRefreshToken(refreshTokenModel.getRefreshToken()),
+                    tokenHash,
+                    getRftId(refreshTokenModel.getRefreshToken()),
                     refreshTokenModel.getRefreshTokenExp(),
                     refreshTokenModel.getSource(),
                     refreshTokenModel.getDeviceName(),
                     refreshTokenModel.getLocation(),
                     refreshTokenModel.getIp())))
         .onErrorResumeNext(err -> Single.error(INTERNAL_SERVER_ERROR.getException(err)))
-        .ignoreElement();
+        .ignoreElement()
+        .andThen(
+            refreshTokenCache.put(
+                tokenHash,
+                refreshTokenModel.getTenantId(),
+                refreshTokenModel.getUserId(),
+                refreshTokenModel.getRefreshTokenExp()));
   }
 
+  // Misses are not written back, a read racing an invalidation could cache a revoked token
   public Maybe<String> getUserIdFromRefreshToken(String refreshToken, String tenantId) {
+    String tokenHash = getRefreshTokenHash(refreshToken);
+    return refreshTokenCache
+        .getUserId(tokenHash, tenantId)
+        .switchIfEmpty(Maybe.defer(() -> getUserId(VALIDATE_REFRESH_TOKEN, tenantId, tokenHash)))
+        .switchIfEmpty(Maybe.defer(() -> getLegacyUserId(refreshToken, tenantId)));
+  }
+
+  // Rows written by the version predating token_hash only hold the raw token
+  private Maybe<String> getLegacyUserId(String refreshToken, String tenantId) {
+    String legacyToken = getLegacyRefreshToken(refreshToken);
+    if (legacyToken == null) {
+      return Maybe.empty();
+    }
+    return getUserId(VALIDATE_LEGACY_REFRESH_TOKEN, tenantId, legacyToken);
+  }
+
+  private Maybe<String> getUserId(String query, String tenantId, String token) {
     return mysqlClient
         .getReaderPool()
-        .preparedQuery(VALIDATE_REFRESH_TOKEN)
-        .rxExecute(Tuple.of(tenantId, refreshToken))
+        .preparedQuery(query)
+        .rxExecute(Tuple.of(tenantId, token))
         .filter(rowSet -> rowSet.size() > 0)
         .map(rowSet -> JsonUtils.rowSetToList(rowSet, String.class).get(0));
   }
 
   public Completable invalidateRefreshToken(String refreshToken, String tenantId) {
+    String tokenHash = getRefreshTokenHash(refreshToken);
+    String legacyToken = getLegacyRefreshToken(refreshToken);
     return mysqlClient
         .getWriterPool()
         .preparedQuery(INVALIDATE_REFRESH_TOKEN)
-        .rxExecute(Tuple.of(tenantId, refreshToken))
-        .ignoreElement();
+        .rxExecute(Tuple.of(tenantId, tokenHash))
+        .flatMap(
+            result -> {
+              if (result.rowCount() > 0 || legacyToken == null) {
+                return Single.just(result);
+              }
+              return mysqlClient
+                  .getWriterPool()
+                  .preparedQuery(INVALIDATE_LEGACY_REFRESH_TOKEN)
+                  .rxExecute(Tuple.of(tenantId, legacyToken));
+            })
+        .ignoreElement()
+        .andThen(refreshTokenCache.invalidate(List.of(tokenHash), tenantId));
   }
 
+  // Tokens are read from the writer after the update so one saved meanwhile is not left cached
   public Completable invalidateAllRefreshTokensForUser(String userId, String tenantId) {
     return mysqlClient
         .getWriterPool()
         .preparedQuery(INVALIDATE_ALL_REFRESH_TOKENS_FOR_USER)
         .rxExecute(Tuple.of(tenantId, userId))
-        .ignoreElement();
+        .flatMap(
+            result ->
+                mysqlClient
+                    .getWriterPool()
+                    .preparedQuery(GET_UNEXPIRED_TOKEN_HASHES_FOR_USER)
+                    .rxExecute(Tuple.of(tenantId, userId)))
+        .map(rows -> JsonUtils.rowSetToList(rows, String.class))
+        .flatMapCompletable(tokenHashes -> refreshTokenCache.invalidate(tokenHashes, tenantId));
   }
 
-  public Single<List<String>> getRefreshTokens(String userId, String tenantId) {
+  /** Returns the rft ids of the active tokens of the user, as carried in their access tokens. */
+  public Single<List<String>> getRftIds(String userId, String tenantId) {
     return mysqlClient
         .getReaderPool()
-        .preparedQuery(GET_ALL_REFRESH_TOKENS_FOR_USER)
+        .preparedQuery(GET_ALL_RFT_IDS_FOR_USER)
         .rxExecute(Tuple.of(tenantId, userId))
         .map(rows -> JsonUtils.rowSetToList(rows, String.class));
   }
@@ -0,0 +1,60 @@
+package com.dreamsportslabs.guardian.dao;
+
+import static com.dreamsportslabs.guardian.dao.query.RefreshTokenPurgeSql.GET_OIDC_REFRESH_TOKENS_BATCH_END;
+import static com.dreamsportslabs.guardian.dao.query.RefreshTokenPurgeSql.GET_REFRESH_TOKENS_BATCH_END;
+import static com.dreamsportslabs.guardian.dao.query.RefreshTokenPurgeSql.PURGE_OIDC_REFRESH_TOKENS;
+import static com.dreamsportslabs.guardian.dao.query.RefreshTokenPurgeSql.PURGE_REFRESH_TOKENS;
+
+import com.dreamsportslabs.guardian.client.MysqlClient;
+import com.google.inject.Inject;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
+import io.vertx.rxjava3.sqlclient.Tuple;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Deletes expired and invalidated refresh tokens in batches of consecutive primary keys, so each
+ * delete only locks the rows of one small id range.
+ */
+@RequiredArgsConstructor(onConstructor = @__({@Inject}))
+public class RefreshTokenPurgeDao {
+  private final MysqlClient mysqlClient;
+
+  @Getter
+  @RequiredArgsConstructor
+  public enum Table {
+    REFRESH_TOKENS("refresh_tokens", GET_REFRESH_TOKENS_BATCH_END, PURGE_REFRESH_TOKENS),
+    OIDC_REFRESH_TOKEN(
+        "oidc_refresh_token", GET_OIDC_REFRESH_TOKENS_BATCH_END, PURGE_OIDC_REFRESH_TOKENS);
+
+    private final String tableName;
+    private final String batchEndQuery;
+    private final String purgeQuery;
+  }
+
+  /** Returns the last id of the next {@code batchSize} rows after {@code afterId}, if any. */
+  public Maybe<Long> getBatchEnd(Table table, long afterId, int batchSize) {
+    return mysqlClient
+        .getWriterPool()
+        .preparedQuery(table.getBatchEndQuery())
+        .rxExecute(Tuple.of(afterId, batchSize))
+        .flatMapMaybe(
+            rows -> {
+              Long batchEnd = rows.iterator().next().getLong("id");
+              return batchEnd == null ? Maybe.empty() : Maybe.just(batchEnd);
+            });
+  }
+
+  /**
+   * Deletes the rows in {@code (afterId, toId]} that expired or were invalidated before {@code
+   * cutoff}, in epoch seconds, and returns how many were deleted.
+   */
+  public Single<Integer> purge(Table table, long afterId, long toId, long cutoff) {
+    return mysqlClient
+        .getWriterPool()
+        .preparedQuery(table.getPurgeQuery())
+        .rxExecute(Tuple.of(afterId, toId, cutoff, cutoff))
+        .map(rows -> rows.rowCount());
+  }
+}
@@ -10,6 +10,7 @@ import static com.dreamsportslabs.guardian.constant.Constants.REVOCATIONS_REDIS_
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INTERNAL_SERVER_ERROR;
 
 import com.google.inject.Inject;
+import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
 import io.vertx.rxjava3.redis.client.Command;
 import io.vertx.rxjava3.redis.client.Redis;
@@ -33,15 +34,21 @@ public class RevocationDao {
         .onErrorResumeNext(err -> Single.error(INTERNAL_SERVER_ERROR.getException(err)));
   }
 
-  public void addExpiredRefreshTokensInSortedSet(
+  public Completable addExpiredRefreshTokensInSortedSet(
       long currentTimeStamp, List<String> refreshTokens, String tenantId) {
+    if (refreshTokens.isEmpty()) {
+      return Completable.complete();
+    }
     Request req = Request.cmd(Command.ZADD).arg(getRevocationsCacheKey(tenantId));
 
     for (String sessionId : refreshTokens) {
       req.arg(currentTimeStamp);
       req.arg(sessionId);
     }
-    redisClient.rxSend(req).subscribe();
+    return redisClient
+        .rxSend(req)
+        .ignoreElement()
+        .onErrorResumeNext(err -> Completable.error(INTERNAL_SERVER_ERROR.getException(err)));
   }
 
   public void removeExpiredRefreshTokensFromSortedSet(
@@ -56,6 +63,14 @@ public class RevocationDao {
         .subscribe();
   }
 
+  public Single<Boolean> isRevoked(String rftId, String tenantId) {
+    return redisClient
+        .rxSend(Request.cmd(Command.ZSCORE).arg(getRevocationsCacheKey(tenantId)).arg(rftId))
+        .map(response -> true)
+        .defaultIfEmpty(false)
+        .onErrorResumeNext(err -> Single.error(INTERNAL_SERVER_ERROR.getException(err)));
+  }
+
   private List<String> mapRedisResponseToList(Response resp) {
     List<String> revocations = new ArrayList<>();
     resp.forEach(item -> revocations.add(item.toString()));
@@ -1,9 +1,8 @@
 package com.dreamsportslabs.guardian.dao;
 
 import static com.dreamsportslabs.guardian.dao.query.ScopeQuery.DELETE_SCOPE;
-import static com.dreamsportslabs.guardian.dao.query.ScopeQuery.GET_OIDC_SCOPES;
-import static com.dreamsportslabs.guardian.dao.query.ScopeQuery.GET_SCOPES_BY_NAMES_TEMPLATE;
 import static com.dreamsportslabs.guardian.dao.query.ScopeQuery.GET_SCOPES_PAGINATED;
+import static com.dreamsportslabs.guardian.dao.query.ScopeQuery.GET_TENANT_SCOPES;
 import static com.dreamsportslabs.guardian.dao.query.ScopeQuery.SAVE_SCOPE;
 import static com.dreamsportslabs.guardian.dao.query.ScopeQuery.UPDATE_SCOPE;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.SCOPE_ALREADY_EXISTS;
@@ -18,7 +17,6 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.mysqlclient.MySQLException;
 import io.vertx.rxjava3.sqlclient.Tuple;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,20 +27,11 @@ import org.apache.commons.lang3.tuple.Pair;
 public class ScopeDao {
   private final MysqlClient mysqlClient;
 
-  public Single<List<ScopeModel>> getScopes(String tenantId, List<String> names) {
-    String placeholders = String.join(",", Collections.nCopies(names.size(), "?"));
-    String query = String.format(GET_SCOPES_BY_NAMES_TEMPLATE, placeholders);
-
-    Tuple tuple = Tuple.tuple();
-    tuple.addString(tenantId);
-    for (String name : names) {
-      tuple.addString(name);
-    }
-
+  public Single<List<ScopeModel>> getTenantScopes(String tenantId) {
     return mysqlClient
         .getReaderPool()
-        .preparedQuery(query)
-        .execute(tuple)
+        .preparedQuery(GET_TENANT_SCOPES)
+        .execute(Tuple.of(tenantId))
         .map(rowSet -> JsonUtils.rowSetToList(rowSet, ScopeModel.class));
   }
 
@@ -104,12 +93,4 @@ public class ScopeDao {
         .rxExecute(tuple)
         .map(result -> result.rowCount() > 0);
   }
-
-  public Single<List<ScopeModel>> oidcScopes(String tenantId) {
-    return mysqlClient
-        .getReaderPool()
-        .preparedQuery(GET_OIDC_SCOPES)
-        .execute(Tuple.of(tenantId))
-        .map(rowSet -> JsonUtils.rowSetToList(rowSet, ScopeModel.class));
-  }
 }
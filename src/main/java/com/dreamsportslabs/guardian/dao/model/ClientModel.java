@@ -19,6 +19,7 @@ public class ClientModel {
   private String clientId;
   private String clientName;
   private String clientSecret;
+  private String clientSecretHash;
   private String clientUri;
   private List<String> contacts;
   private List<OidcGrantType> grantTypes;
@@ -0,0 +1,18 @@
+package com.dreamsportslabs.guardian.dao.model;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class OidcRefreshTokenFamilyModel {
+  private String tenantId;
+  private String familyId;
+  private String clientId;
+  private String userId;
+  private String tokenHash;
+  private String rftId;
+  private List<String> scope;
+  private long refreshTokenExp;
+}
@@ -13,6 +13,7 @@ public class OidcRefreshTokenModel {
   private String clientId;
   private String userId;
   private String refreshToken;
+  private String familyId;
   private long refreshTokenExp;
   private List<String> scope;
   private String deviceName;
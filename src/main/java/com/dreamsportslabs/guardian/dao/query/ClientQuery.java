@@ -8,15 +8,15 @@ public final class ClientQuery {
   public static final String CREATE_CLIENT =
       """
       INSERT INTO client (
-          tenant_id, client_id, client_name, client_secret, client_uri,
+          tenant_id, client_id, client_name, client_secret, client_secret_hash, client_uri,
           contacts, grant_types, logo_uri, policy_uri, redirect_uris,
           response_types, skip_consent
-      ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+      ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
       """;
 
   public static final String GET_CLIENT =
       """
-      SELECT tenant_id, client_id, client_name, client_secret, client_uri,
+      SELECT tenant_id, client_id, client_name, client_secret, client_secret_hash, client_uri,
              contacts, grant_types, logo_uri, policy_uri, redirect_uris,
              response_types, skip_consent
       FROM client
@@ -25,7 +25,7 @@ public final class ClientQuery {
 
   public static final String GET_CLIENTS =
       """
-      SELECT tenant_id, client_id, client_name, client_secret, client_uri,
+      SELECT tenant_id, client_id, client_name, client_secret, client_secret_hash, client_uri,
              contacts, grant_types, logo_uri, policy_uri, redirect_uris,
              response_types, skip_consent
       FROM client
@@ -36,7 +36,7 @@ public final class ClientQuery {
 
   public static final String UPDATE_CLIENT_SECRET =
       """
-      UPDATE client SET client_secret = ?
+      UPDATE client SET client_secret_hash = ?, client_secret = ?
       WHERE tenant_id = ? AND client_id = ?
       """;
 
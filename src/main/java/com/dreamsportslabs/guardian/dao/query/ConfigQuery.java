@@ -1,168 +1,192 @@
 package com.dreamsportslabs.guardian.dao.query;
 
-public class ConfigQuery {
-  public static final String SMS_CONFIG =
-      """
-    SELECT is_ssl_enabled,
-           host,
-           port,
-           send_sms_path,
-           template_name,
-           template_params
-    FROM sms_config
-    WHERE tenant_id = ?
-    """;
-
-  public static final String AUTH_CODE_CONFIG =
-      """
-    SELECT tenant_id,
-           ttl,
-           length
-    FROM auth_code_config
-    WHERE tenant_id = ?
-    """;
-
-  public static final String USER_CONFIG =
-      """
-    SELECT is_ssl_enabled,
-           host,
-           port,
-           get_user_path,
-           create_user_path,
-           authenticate_user_path,
-           add_provider_path
-    FROM user_config
-    WHERE tenant_id = ?
-    """;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-  public static final String EMAIL_CONFIG =
-      """
-    SELECT is_ssl_enabled,
-           host,
-           port,
-           send_email_path,
-           template_name,
-           template_params
-    FROM email_config
-    WHERE tenant_id = ?
-    """;
-
-  public static final String FB_AUTH_CONFIG =
-      """
-    SELECT app_id,
-           app_secret,
-           send_app_secret
-    FROM fb_config
-    WHERE tenant_id = ?
-    """;
+public class ConfigQuery {
+  public static final String AUTH_CODE_CONFIG = "auth_code_config";
+  public static final String EMAIL_CONFIG = "email_config";
+  public static final String USER_CONFIG = "user_config";
+  public static final String TOKEN_CONFIG = "token_config";
+  public static final String FB_AUTH_CONFIG = "fb_config";
+  public static final String GOOGLE_AUTH_CONFIG = "google_config";
+  public static final String SMS_CONFIG = "sms_config";
+  public static final String OTP_CONFIG = "otp_config";
+  public static final String CONTACT_VERIFY_CONFIG = "contact_verify_config";
+  public static final String OIDC_PROVIDER_CONFIG = "oidc_provider_config";
+  public static final String ADMIN_CONFIG = "admin_config";
+  public static final String OIDC_CONFIG = "oidc_config";
+  public static final String GUEST_CONFIG = "guest_config";
 
-  public static final String GOOGLE_AUTH_CONFIG =
-      """
-        SELECT client_id,
-               client_secret
-        FROM google_config
-        WHERE tenant_id = ?
-        """;
+  public static final String CONFIG_VERSION = "config_version";
 
-  public static final String TOKEN_CONFIG =
-      """
-    SELECT algorithm,
-           issuer,
-           access_token_expiry,
-           refresh_token_expiry,
-           id_token_expiry,
-           id_token_claims,
-           rsa_keys,
-           cookie_same_site,
-           cookie_path,
-           cookie_domain,
-           cookie_secure,
-           cookie_http_only,
-           access_token_claims
-    FROM token_config
-    WHERE tenant_id = ?
-    """;
+  public static final String TENANT_IDS = "SELECT id FROM tenant";
 
-  public static final String OTP_CONFIG =
+  // Every per tenant config table as a JSON column
+  private static final String CONFIG_COLUMNS =
       """
-    SELECT otp_length,
-           try_limit,
-           is_otp_mocked,
-           resend_limit,
-           otp_resend_interval,
-           otp_validity,
-           whitelisted_inputs
-    FROM otp_config
-    WHERE tenant_id = ?
+    SELECT (SELECT JSON_OBJECT('tenant_id', tenant_id,
+                               'ttl', ttl,
+                               'length', length)
+            FROM auth_code_config
+            WHERE tenant_id = t.tenant_id) AS auth_code_config,
+           (SELECT JSON_OBJECT('is_ssl_enabled', is_ssl_enabled,
+                               'host', host,
+                               'port', port,
+                               'send_email_path', send_email_path,
+                               'template_name', template_name,
+                               'template_params', template_params)
+            FROM email_config
+            WHERE tenant_id = t.tenant_id) AS email_config,
+           (SELECT JSON_OBJECT('is_ssl_enabled', is_ssl_enabled,
+                               'host', host,
+                               'port', port,
+                               'get_user_path', get_user_path,
+                               'create_user_path', create_user_path,
+                               'authenticate_user_path', authenticate_user_path,
+                               'add_provider_path', add_provider_path)
+            FROM user_config
+            WHERE tenant_id = t.tenant_id) AS user_config,
+           (SELECT JSON_OBJECT('algorithm', algorithm,
+                               'issuer', issuer,
+                               'access_token_expiry', access_token_expiry,
+                               'refresh_token_expiry', refresh_token_expiry,
+                               'self_contained_refresh_token', self_contained_refresh_token,
+                               'id_token_expiry', id_token_expiry,
+                               'id_token_claims', id_token_claims,
+                               'rsa_keys', rsa_keys,
+                               'cookie_same_site', cookie_same_site,
+                               'cookie_path', cookie_path,
+                               'cookie_domain', cookie_domain,
+                               'cookie_secure', cookie_secure,
+                               'cookie_http_only', cookie_http_only,
+                               'access_token_claims', access_token_claims)
+            FROM token_config
+            WHERE tenant_id = t.tenant_id) AS token_config,
+           (SELECT JSON_OBJECT('app_id', app_id,
+                               'app_secret', app_secret,
+                               'send_app_secret', send_app_secret)
+            FROM fb_config
+            WHERE tenant_id = t.tenant_id) AS fb_config,
+           (SELECT JSON_OBJECT('client_id', client_id,
+                               'client_secret', client_secret)
+            FROM google_config
+            WHERE tenant_id = t.tenant_id) AS google_config,
+           (SELECT JSON_OBJECT('is_ssl_enabled', is_ssl_enabled,
+                               'host', host,
+                               'port', port,
+                               'send_sms_path', send_sms_path,
+                               'template_name', template_name,
+                               'template_params', template_params)
+            FROM sms_config
+            WHERE tenant_id = t.tenant_id) AS sms_config,
+           (SELECT JSON_OBJECT('otp_length', otp_length,
+                               'try_limit', try_limit,
+                               'is_otp_mocked', is_otp_mocked,
+                               'resend_limit', resend_limit,
+                               'otp_resend_interval', otp_resend_interval,
+                               'otp_validity', otp_validity,
+                               'whitelisted_inputs', whitelisted_inputs)
+            FROM otp_config
+            WHERE tenant_id = t.tenant_id) AS otp_config,
+           (SELECT JSON_OBJECT('otp_length', otp_length,
+                               'try_limit', try_limit,
+                               'is_otp_mocked', is_otp_mocked,
+                               'resend_limit', resend_limit,
+                               'otp_resend_interval', otp_resend_interval,
+                               'otp_validity', otp_validity,
+                               'whitelisted_inputs', whitelisted_inputs)
+            FROM contact_verify_config
+            WHERE tenant_id = t.tenant_id) AS contact_verify_config,
+           (SELECT JSON_ARRAYAGG(JSON_OBJECT('tenant_id', tenant_id,
+                                             'provider_name', provider_name,
+                                             'issuer', issuer,
+                                             'jwks_url', jwks_url,
+                                             'token_url', token_url,
+                                             'client_id', client_id,
+                                             'client_secret', client_secret,
+                                             'redirect_uri', redirect_uri,
+                                             'client_auth_method', client_auth_method,
+                                             'is_ssl_enabled', is_ssl_enabled,
+                                             'user_identifier', user_identifier,
+                                             'audience_claims', audience_claims))
+                   OVER (ORDER BY provider_name
+                         ROWS BETWEEN UNBOUNDED PRECEDING AND UNBOUNDED FOLLOWING)
+            FROM oidc_provider_config
+            WHERE tenant_id = t.tenant_id
+            LIMIT 1) AS oidc_provider_config,
+           (SELECT JSON_OBJECT('username', username,
+                               'password', password)
+            FROM admin_config
+            WHERE tenant_id = t.tenant_id) AS admin_config,
+           (SELECT JSON_OBJECT('tenant_id', tenant_id,
+                               'issuer', issuer,
+                               'authorization_endpoint', authorization_endpoint,
+                               'token_endpoint', token_endpoint,
+                               'userinfo_endpoint', userinfo_endpoint,
+                               'revocation_endpoint', revocation_endpoint,
+                               'jwks_uri', jwks_uri,
+                               'login_page_uri', login_page_uri,
+                               'consent_page_uri', consent_page_uri,
+                               'authorize_ttl', authorize_ttl,
+                               'grant_types_supported', grant_types_supported,
+                               'response_types_supported', response_types_supported,
+                               'subject_types_supported', subject_types_supported,
+                               'id_token_signing_alg_values_supported',
+                               id_token_signing_alg_values_supported,
+                               'token_endpoint_auth_methods_supported',
+                               token_endpoint_auth_methods_supported)
+            FROM oidc_config
+            WHERE tenant_id = t.tenant_id) AS oidc_config,
+           (SELECT JSON_OBJECT('tenant_id', tenant_id,
+                               'is_encrypted', is_encrypted,
+                               'secret_key', secret_key,
+                               'allowed_scopes', allowed_scopes)
+            FROM guest_config
+            WHERE tenant_id = t.tenant_id
+            LIMIT 1) AS guest_config
+    FROM (SELECT ? AS tenant_id) t
     """;
 
-  public static final String CONTACT_VERIFY_CONFIG =
+  // Row count and last update of one per tenant config table, read through its tenant_id index
+  // without touching the config columns. updated_at has a one second resolution and the reader may
+  // lag the writer, so a change within the last minute yields NULL and with it a NULL version.
+  private static final String CONFIG_TABLE_VERSION =
       """
-       SELECT otp_length,
-              try_limit,
-              is_otp_mocked,
-              resend_limit,
-              otp_resend_interval,
-              otp_validity,
-              whitelisted_inputs
-       FROM contact_verify_config
-       WHERE tenant_id = ?
-    """;
+           (SELECT IF(MAX(updated_at) > NOW() - INTERVAL 60 SECOND, NULL,
+                      CONCAT(COUNT(*), '@', COALESCE(UNIX_TIMESTAMP(MAX(updated_at)), 0)))
+            FROM %s
+            WHERE tenant_id = t.tenant_id)""";
 
-  public static final String OIDC_PROVIDER_CONFIG =
-      """
-    SELECT tenant_id,
-           provider_name,
-           issuer,
-           jwks_url,
-           token_url,
-           client_id,
-           client_secret,
-           redirect_uri,
-           client_auth_method,
-           is_ssl_enabled,
-           user_identifier,
-           audience_claims
-    FROM oidc_provider_config
-    WHERE tenant_id = ?
-    """;
+  // A NULL version never matches, so a recently changed config is reloaded until it settles
+  private static final String CONFIG_VERSION_QUERY =
+      "SELECT MD5(CONCAT(t.tenant_id"
+          + Stream.of(
+                  AUTH_CODE_CONFIG,
+                  EMAIL_CONFIG,
+                  USER_CONFIG,
+                  TOKEN_CONFIG,
+                  FB_AUTH_CONFIG,
+                  GOOGLE_AUTH_CONFIG,
+                  SMS_CONFIG,
+                  OTP_CONFIG,
+                  CONTACT_VERIFY_CONFIG,
+                  OIDC_PROVIDER_CONFIG,
+                  ADMIN_CONFIG,
+                  OIDC_CONFIG,
+                  GUEST_CONFIG)
+              .map(table -> ", ',',\n" + CONFIG_TABLE_VERSION.formatted(table))
+              .collect(Collectors.joining())
+          + ")) AS config_version FROM (SELECT ? AS tenant_id) t";
 
-  public static final String ADMIN_CONFIG =
-      """
-    SELECT username,
-           password
-    FROM admin_config
-    WHERE tenant_id = ?
-    """;
-
-  public static final String OIDC_CONFIG =
-      """
-    SELECT tenant_id,
-           issuer,
-           authorization_endpoint,
-           token_endpoint,
-           userinfo_endpoint,
-           revocation_endpoint,
-           jwks_uri,
-           login_page_uri,
-           consent_page_uri,
-           authorize_ttl,
-           grant_types_supported,
-           response_types_supported,
-           subject_types_supported,
-           id_token_signing_alg_values_supported,
-           token_endpoint_auth_methods_supported
-    FROM oidc_config
-    WHERE tenant_id = ?
-    """;
+  // Loads every per tenant config table in one round trip along with its version, the tenant id is
+  // bound once for each of the two subqueries
+  public static final String TENANT_CONFIG =
+      "SELECT c.*, v.config_version FROM ("
+          + CONFIG_COLUMNS
+          + ") c, ("
+          + CONFIG_VERSION_QUERY
+          + ") v";
 
-  public static final String GUEST_CONFIG =
-      """
-     SELECT tenant_id,
-            is_encrypted,
-            secret_key,
-            allowed_scopes
-     FROM guest_config
-     WHERE tenant_id = ?
-     """;
+  public static final String TENANT_CONFIG_VERSION = CONFIG_VERSION_QUERY;
 }
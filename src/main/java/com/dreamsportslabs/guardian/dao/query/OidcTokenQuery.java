@@ -4,25 +4,47 @@ import lombok.experimental.UtilityClass;
 
 @UtilityClass
 public class OidcTokenQuery {
+  // Like RefreshTokenSql, refresh_token and the LEGACY_ queries go in the contract step
   public static final String SAVE_OIDC_REFRESH_TOKEN =
       """
       INSERT INTO oidc_refresh_token (
-          tenant_id, client_id, user_id, refresh_token,
+          tenant_id, client_id, user_id, refresh_token, token_hash, family_id,
           refresh_token_exp, scope, device_name, ip
-      ) VALUES (?, ?, ?, ?, ?, ?, ?, INET6_ATON(?))
+      ) VALUES (?, ?, ?, ?, UNHEX(?), ?, ?, ?, ?, INET6_ATON(?))
       """;
 
   public static final String GET_OIDC_REFRESH_TOKEN =
       """
-      SELECT tenant_id, client_id, user_id, is_active, refresh_token, refresh_token_exp, scope
+      SELECT tenant_id, client_id, user_id, is_active, refresh_token_exp, scope
+      FROM oidc_refresh_token
+      WHERE tenant_id = ? AND client_id = ? AND token_hash = UNHEX(?) AND is_active = true
+      """;
+
+  public static final String GET_LEGACY_OIDC_REFRESH_TOKEN =
+      """
+      SELECT tenant_id, client_id, user_id, is_active, refresh_token_exp, scope
       FROM oidc_refresh_token
       WHERE tenant_id = ? AND client_id = ? AND refresh_token = ? AND is_active = true
       """;
 
   public static final String REVOKE_OIDC_REFRESH_TOKEN =
+      """
+        UPDATE oidc_refresh_token
+        SET is_active = false
+        WHERE tenant_id = ? AND client_id = ? AND token_hash = UNHEX(?);
+      """;
+
+  public static final String REVOKE_LEGACY_OIDC_REFRESH_TOKEN =
       """
         UPDATE oidc_refresh_token
         SET is_active = false
         WHERE tenant_id = ? AND client_id = ? AND refresh_token = ?;
       """;
+
+  public static final String REVOKE_OIDC_REFRESH_TOKEN_FAMILY =
+      """
+      UPDATE oidc_refresh_token
+      SET is_active = false
+      WHERE tenant_id = ? AND family_id = ? AND is_active = true
+      """;
 }
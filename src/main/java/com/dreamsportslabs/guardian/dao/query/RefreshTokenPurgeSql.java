@@ -0,0 +1,15 @@
+package com.dreamsportslabs.guardian.dao.query;
+
+public class RefreshTokenPurgeSql {
+  public static final String GET_REFRESH_TOKENS_BATCH_END =
+      "SELECT MAX(id) AS id FROM (SELECT id FROM refresh_tokens WHERE id > ? ORDER BY id LIMIT ?) batch";
+
+  public static final String PURGE_REFRESH_TOKENS =
+      "DELETE FROM refresh_tokens WHERE id > ? AND id <= ? AND (refresh_token_exp < ? OR (is_active = 0 AND updated_at < FROM_UNIXTIME(?)))";
+
+  public static final String GET_OIDC_REFRESH_TOKENS_BATCH_END =
+      "SELECT MAX(id) AS id FROM (SELECT id FROM oidc_refresh_token WHERE id > ? ORDER BY id LIMIT ?) batch";
+
+  public static final String PURGE_OIDC_REFRESH_TOKENS =
+      "DELETE FROM oidc_refresh_token WHERE id > ? AND id <= ? AND (refresh_token_exp < ? OR (is_active = 0 AND updated_at < FROM_UNIXTIME(?)))";
+}
@@ -1,16 +1,27 @@
 package com.dreamsportslabs.guardian.dao.query;
 
 public class RefreshTokenSql {
+  // refresh_token is written and the LEGACY_ queries are tried after a hash miss only while nodes
+  // of the version predating token_hash are running, all of it goes in the contract step
   public static final String SAVE_REFRESH_TOKEN =
-      "INSERT INTO refresh_tokens (tenant_id, user_id, refresh_token, refresh_token_exp, source, device_name, location, ip) VALUES (?, ?, ?, ?, ?, ?, ?, INET6_ATON(?))";
+      "INSERT INTO refresh_tokens (tenant_id, user_id, refresh_token, token_hash, rft_id, refresh_token_exp, source, device_name, location, ip) VALUES (?, ?, ?, UNHEX(?), UNHEX(?), ?, ?, ?, ?, INET6_ATON(?))";
 
   public static final String VALIDATE_REFRESH_TOKEN =
+      "SELECT user_id FROM refresh_tokens WHERE tenant_id = ? AND token_hash = UNHEX(?) AND is_active = 1 AND refresh_token_exp > UNIX_TIMESTAMP()";
+
+  public static final String VALIDATE_LEGACY_REFRESH_TOKEN =
       "SELECT user_id FROM refresh_tokens WHERE tenant_id = ? AND refresh_token = ? AND is_active = 1 AND refresh_token_exp > UNIX_TIMESTAMP()";
 
-  public static final String GET_ALL_REFRESH_TOKENS_FOR_USER =
-      "SELECT refresh_token AS refreshToken FROM refresh_tokens WHERE tenant_id = ? AND user_id = ? AND is_active = 1";
+  public static final String GET_ALL_RFT_IDS_FOR_USER =
+      "SELECT HEX(COALESCE(rft_id, UNHEX(MD5(refresh_token)))) AS rftId FROM refresh_tokens WHERE tenant_id = ? AND user_id = ? AND is_active = 1 AND (rft_id IS NOT NULL OR refresh_token IS NOT NULL)";
+
+  public static final String GET_UNEXPIRED_TOKEN_HASHES_FOR_USER =
+      "SELECT LOWER(HEX(token_hash)) AS tokenHash FROM refresh_tokens WHERE tenant_id = ? AND user_id = ? AND refresh_token_exp > UNIX_TIMESTAMP() AND token_hash IS NOT NULL";
 
   public static final String INVALIDATE_REFRESH_TOKEN =
+      "UPDATE refresh_tokens SET is_active = 0 WHERE tenant_id = ? AND token_hash = UNHEX(?)";
+
+  public static final String INVALIDATE_LEGACY_REFRESH_TOKEN =
       "UPDATE refresh_tokens SET is_active = 0 WHERE tenant_id = ? AND refresh_token = ?";
 
   public static final String INVALIDATE_ALL_REFRESH_TOKENS_FOR_USER =
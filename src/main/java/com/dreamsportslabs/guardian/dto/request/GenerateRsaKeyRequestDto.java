@@ -2,6 +2,9 @@ package com.dreamsportslabs.guardian.dto.request;
 
 import static com.dreamsportslabs.guardian.constant.Constants.FORMAT_JWKS;
 import static com.dreamsportslabs.guardian.constant.Constants.FORMAT_PEM;
+import static com.dreamsportslabs.guardian.constant.Constants.KEY_TYPE_EC;
+import static com.dreamsportslabs.guardian.constant.Constants.KEY_TYPE_RSA;
+import static com.dreamsportslabs.guardian.constant.Constants.VALID_EC_KEY_SIZES;
 import static com.dreamsportslabs.guardian.constant.Constants.VALID_KEY_SIZES;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INVALID_REQUEST;
 
@@ -11,13 +14,29 @@ import org.apache.commons.lang3.StringUtils;
 @Data
 public class GenerateRsaKeyRequestDto {
 
-  private Integer keySize = 2048;
+  private Integer keySize;
   private String format = FORMAT_PEM;
+  private String keyType = KEY_TYPE_RSA;
 
   public void validate() {
-    if (!VALID_KEY_SIZES.contains(keySize)) {
-      throw INVALID_REQUEST.getCustomException(
-          "Invalid RSA key length. Allowed values are [2048, 3072, 4096]");
+    if (StringUtils.equals(this.keyType, KEY_TYPE_EC)) {
+      if (keySize == null) {
+        keySize = 256;
+      }
+      if (!VALID_EC_KEY_SIZES.contains(keySize)) {
+        throw INVALID_REQUEST.getCustomException(
+            "Invalid EC key length. Allowed values are [256, 384, 521]");
+      }
+    } else if (StringUtils.equals(this.keyType, KEY_TYPE_RSA)) {
+      if (keySize == null) {
+        keySize = 2048;
+      }
+      if (!VALID_KEY_SIZES.contains(keySize)) {
+        throw INVALID_REQUEST.getCustomException(
+            "Invalid RSA key length. Allowed values are [2048, 3072, 4096]");
+      }
+    } else {
+      throw INVALID_REQUEST.getCustomException("Invalid key type. Allowed values are RSA or EC");
     }
 
     if (!StringUtils.equals(this.format, FORMAT_PEM)
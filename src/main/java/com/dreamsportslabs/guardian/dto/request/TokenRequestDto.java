@@ -11,7 +11,6 @@ import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.UNSUPPORTED_G
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.constant.OidcGrantType;
 import com.dreamsportslabs.guardian.constant.OidcTokenEndpointAuthMethod;
-import com.dreamsportslabs.guardian.registry.Registry;
 import com.dreamsportslabs.guardian.utils.Utils;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.ws.rs.FormParam;
@@ -69,13 +68,12 @@ public class TokenRequestDto {
     this.deviceName = Utils.getDeviceNameFromHeaders(headers);
   }
 
-  public void validateAuth(String authorizationHeader, String tenantId, Registry registry) {
+  public void validateAuth(String authorizationHeader, TenantConfig tenantConfig) {
     if (StringUtils.isBlank(authorizationHeader) && StringUtils.isBlank(clientId)) {
       throw INVALID_REQUEST.getJsonCustomException(
           "Both 'Authorization' header and 'client_id' parameter are missing");
     }
 
-    TenantConfig tenantConfig = registry.get(tenantId, TenantConfig.class);
     List<OidcTokenEndpointAuthMethod> endpointAuthMethods =
         tenantConfig.getOidcConfig().getTokenEndpointAuthMethodsSupported();
 
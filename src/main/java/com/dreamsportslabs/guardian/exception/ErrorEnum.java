@@ -12,6 +12,7 @@ public enum ErrorEnum {
   INVALID_REQUEST("invalid_request", "Invalid request params", 400),
   UNAUTHORIZED(UNAUTHORIZED_ERROR_CODE, "Unauthorized", 401),
   INTERNAL_SERVER_ERROR("internal_server_error", "Something went wrong", 500),
+  SERVICE_UNAVAILABLE("service_unavailable", "Service unavailable, Try again later", 503),
   USER_SERVICE_ERROR("user_service_error", "User service error", 500),
   SMS_SERVICE_ERROR("sms_service_error", "SMS service error", 500),
   EMAIL_SERVICE_ERROR("email_service_error", "Email service error", 500),
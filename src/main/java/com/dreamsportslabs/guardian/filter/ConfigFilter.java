@@ -6,13 +6,16 @@ import com.dreamsportslabs.guardian.cache.TenantCache;
 import com.dreamsportslabs.guardian.constant.Constants;
 import com.dreamsportslabs.guardian.injection.GuiceInjector;
 import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
 import jakarta.annotation.Priority;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerRequestFilter;
 import jakarta.ws.rs.container.PreMatching;
 import jakarta.ws.rs.ext.Provider;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.jboss.resteasy.core.ResteasyContext;
 import org.jboss.resteasy.core.interception.jaxrs.SuspendableContainerRequestContext;
 
 @PreMatching
@@ -42,14 +45,20 @@ public class ConfigFilter implements ContainerRequestFilter {
       throw UNAUTHORIZED.getException();
     }
 
+    // The request context data is restored when the filter chain resumes, so the tenant snapshot
+    // added here is what resources receive through @Context TenantEntry
+    Map<Class<?>, Object> contextData = ResteasyContext.getContextDataMap();
     SuspendableContainerRequestContext suspendableContext =
         (SuspendableContainerRequestContext) requestContext;
     suspendableContext.suspend();
 
     tenantCache
-        .getTenantConfig(tenantId)
+        .getTenant(tenantId)
         .subscribe(
-            r -> suspendableContext.resume(),
+            tenant -> {
+              contextData.put(TenantEntry.class, tenant);
+              suspendableContext.resume();
+            },
             err -> {
               log.error("Error Initializing tenant details", err);
               suspendableContext.resume(err);
@@ -1,11 +1,21 @@
 package com.dreamsportslabs.guardian.injection;
 
+import com.dreamsportslabs.guardian.cache.CacheInvalidator;
+import com.dreamsportslabs.guardian.cache.ClientCache;
+import com.dreamsportslabs.guardian.cache.ClientCredentialsTokenCache;
+import com.dreamsportslabs.guardian.cache.RefreshTokenCache;
+import com.dreamsportslabs.guardian.cache.ScopeCatalog;
 import com.dreamsportslabs.guardian.cache.TenantCache;
 import com.dreamsportslabs.guardian.client.MysqlClient;
 import com.dreamsportslabs.guardian.client.impl.MysqlClientImpl;
 import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.service.ClientSecretHasher;
+import com.dreamsportslabs.guardian.service.RefreshTokenSigner;
+import com.dreamsportslabs.guardian.service.TokenSigningExecutor;
 import com.dreamsportslabs.guardian.utils.SharedDataUtils;
 import com.google.inject.AbstractModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
 import io.vertx.core.Vertx;
 import io.vertx.rxjava3.ext.web.client.WebClient;
 import io.vertx.rxjava3.redis.client.Redis;
@@ -27,5 +37,23 @@ public class MainModule extends AbstractModule {
     bind(WebClient.class).toProvider(() -> SharedDataUtils.get(vertx, WebClient.class));
     bind(Registry.class).toProvider(() -> SharedDataUtils.get(vertx, Registry.class));
     bind(TenantCache.class).toProvider(() -> SharedDataUtils.get(vertx, TenantCache.class));
+    bind(CacheInvalidator.class)
+        .toProvider(() -> SharedDataUtils.get(vertx, CacheInvalidator.class));
+    bind(PrometheusMeterRegistry.class)
+        .toProvider(() -> SharedDataUtils.get(vertx, PrometheusMeterRegistry.class));
+    bind(MeterRegistry.class)
+        .toProvider(() -> SharedDataUtils.get(vertx, PrometheusMeterRegistry.class));
+    bind(TokenSigningExecutor.class)
+        .toProvider(() -> SharedDataUtils.get(vertx, TokenSigningExecutor.class));
+    bind(ClientCredentialsTokenCache.class)
+        .toProvider(() -> SharedDataUtils.get(vertx, ClientCredentialsTokenCache.class));
+    bind(ClientCache.class).toProvider(() -> SharedDataUtils.get(vertx, ClientCache.class));
+    bind(ScopeCatalog.class).toProvider(() -> SharedDataUtils.get(vertx, ScopeCatalog.class));
+    bind(RefreshTokenCache.class)
+        .toProvider(() -> SharedDataUtils.get(vertx, RefreshTokenCache.class));
+    bind(ClientSecretHasher.class)
+        .toProvider(() -> SharedDataUtils.get(vertx, ClientSecretHasher.class));
+    bind(RefreshTokenSigner.class)
+        .toProvider(() -> SharedDataUtils.get(vertx, RefreshTokenSigner.class));
   }
 }
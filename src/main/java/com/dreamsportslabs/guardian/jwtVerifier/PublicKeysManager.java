@@ -1,21 +1,50 @@
 package com.dreamsportslabs.guardian.jwtVerifier;
 
+import com.dreamsportslabs.guardian.jwtVerifier.exception.InvalidTokenException;
 import com.dreamsportslabs.guardian.jwtVerifier.exception.PublicKeysManagerException;
-import io.fusionauth.jwks.JSONWebKeySetHelper;
+import io.fusionauth.jwks.JSONWebKeySetHelper.JSONWebKeySetResponse;
 import io.fusionauth.jwks.domain.JSONWebKey;
+import io.fusionauth.jwt.json.Mapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.subjects.SingleSubject;
+import io.vertx.rxjava3.core.Context;
+import io.vertx.rxjava3.core.RxHelper;
+import io.vertx.rxjava3.core.Vertx;
+import io.vertx.rxjava3.ext.web.client.WebClient;
 import java.security.PublicKey;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Holds the public keys of a JWKS endpoint as an immutable snapshot that is read without locking.
+ * Keys are fetched asynchronously through the vert.x web client. Concurrent refreshes share a
+ * single request, a snapshot nearing expiry is served while it is refreshed in the background and
+ * an unknown kid triggers a refetch at most once every {@link #MIN_REFRESH_INTERVAL_MILLIS}.
+ */
+@Slf4j
 class PublicKeysManager {
   private static final long REFRESH_SKEW_MILLIS = 120000L;
-  private String publicCertsEncodedUrl;
-  private Long refreshTimeout;
-  private Long expirationTime;
-  private Map<String, PublicKey> publicKeys;
-  private Lock lock;
+  private static final long MIN_REFRESH_INTERVAL_MILLIS = 30000L;
+  private static final String METRIC_FETCH = "guardian.jwks.fetch";
+  private static final String METRIC_CACHE_AGE = "guardian.jwks.cache.age";
+  private static final String TAG_RESULT = "result";
+
+  private final String publicCertsEncodedUrl;
+  private final long refreshTimeoutMillis;
+  private final WebClient webClient;
+  private final AtomicReference<KeySet> keySet = new AtomicReference<>();
+  private final AtomicReference<SingleSubject<KeySet>> inFlightRefresh = new AtomicReference<>();
+  private final AtomicLong lastRefreshAttempt = new AtomicLong();
+  private Counter fetchSuccess;
+  private Counter fetchFailure;
 
   PublicKeysManager(Builder builder) {
     if (builder.publicKeys == null && builder.publicCertsEncodedUrl == null) {
@@ -24,59 +53,168 @@ class PublicKeysManager {
     }
 
     if (builder.publicKeys != null) {
-      this.publicKeys = new HashMap<>();
+      Map<String, PublicKey> keys = new HashMap<>();
       for (Map.Entry<String, String> key : builder.publicKeys.entrySet()) {
-        this.publicKeys.put(key.getKey(), JSONWebKey.parse(JSONWebKey.build(key.getValue())));
+        keys.put(key.getKey(), JSONWebKey.parse(JSONWebKey.build(key.getValue())));
       }
+      this.publicCertsEncodedUrl = null;
+      this.refreshTimeoutMillis = 0;
+      this.webClient = null;
+      this.keySet.set(
+          new KeySet(
+              Collections.unmodifiableMap(keys), System.currentTimeMillis(), Long.MAX_VALUE));
       return;
     }
 
+    if (builder.webClient == null) {
+      throw new PublicKeysManagerException(
+          "webClient must be provided with publicCertsEncodedUrl.");
+    }
+
     this.publicCertsEncodedUrl = builder.publicCertsEncodedUrl;
-    this.refreshTimeout = builder.refreshTimeout;
+    this.refreshTimeoutMillis = builder.refreshTimeout * 1000;
+    this.webClient = builder.webClient;
 
-    this.lock = new ReentrantLock();
+    if (builder.meterRegistry != null) {
+      registerMetrics(builder.meterRegistry, builder.tags);
+    }
+  }
+
+  private void registerMetrics(MeterRegistry meterRegistry, Iterable<Tag> tags) {
+    this.fetchSuccess =
+        Counter.builder(METRIC_FETCH).tags(tags).tag(TAG_RESULT, "success").register(meterRegistry);
+    this.fetchFailure =
+        Counter.builder(METRIC_FETCH).tags(tags).tag(TAG_RESULT, "failure").register(meterRegistry);
+
+    // A manager replaced after a config change registers under the same id, drop the old gauge
+    Gauge existing = meterRegistry.find(METRIC_CACHE_AGE).tags(tags).gauge();
+    if (existing != null) {
+      meterRegistry.remove(existing);
+    }
+    Gauge.builder(METRIC_CACHE_AGE, this, PublicKeysManager::getCacheAgeSeconds)
+        .tags(tags)
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+
+  private double getCacheAgeSeconds() {
+    KeySet current = this.keySet.get();
+    if (current == null) {
+      return Double.NaN;
+    }
+    return (System.currentTimeMillis() - current.fetchedAt()) / 1000.0;
   }
 
   static Builder builder() {
     return new Builder();
   }
 
-  Map<String, PublicKey> getPublicKeyMap() {
-    if (this.publicCertsEncodedUrl == null) {
-      return this.publicKeys;
+  Single<PublicKey> getPublicKey(String keyId) {
+    KeySet current = this.keySet.get();
+    if (current == null) {
+      return awaitRefresh().map(keys -> getKey(keys, keyId));
     }
 
-    this.lock.lock();
-    try {
-      if (this.publicKeys == null || this.isExpired()) {
-        this.refresh();
+    PublicKey publicKey = current.keys().get(keyId);
+    if (publicKey == null) {
+      if (canRefresh()) {
+        return awaitRefresh().map(keys -> getKey(keys, keyId));
       }
-    } finally {
-      this.lock.unlock();
+      return Single.error(new InvalidTokenException("Invalid Signature"));
     }
 
-    return this.publicKeys;
+    if (current.isRefreshDue() && canRefresh()) {
+      refresh()
+          .subscribe(
+              keys -> {},
+              e -> log.warn("Failed to refresh public keys from {}", publicCertsEncodedUrl, e));
+    }
+    return Single.just(publicKey);
   }
 
-  private boolean isExpired() {
-    return System.currentTimeMillis() + REFRESH_SKEW_MILLIS > this.expirationTime;
+  private static PublicKey getKey(KeySet keys, String keyId) {
+    PublicKey publicKey = keys.keys().get(keyId);
+    if (publicKey == null) {
+      throw new InvalidTokenException("Invalid Signature");
+    }
+    return publicKey;
   }
 
-  private void refresh() {
-    this.lock.lock();
+  private boolean canRefresh() {
+    return this.publicCertsEncodedUrl != null
+        && (this.inFlightRefresh.get() != null
+            || System.currentTimeMillis() - this.lastRefreshAttempt.get()
+                >= MIN_REFRESH_INTERVAL_MILLIS);
+  }
 
-    try {
-      this.publicKeys = new HashMap<>();
+  private Single<KeySet> awaitRefresh() {
+    Context context = Vertx.currentContext();
+    Single<KeySet> refresh = refresh();
+    return context == null ? refresh : refresh.observeOn(RxHelper.scheduler(context));
+  }
 
-      for (JSONWebKey key : JSONWebKeySetHelper.retrieveKeysFromJWKS(this.publicCertsEncodedUrl)) {
-        this.publicKeys.put(key.kid, JSONWebKey.parse(key));
+  private Single<KeySet> refresh() {
+    while (true) {
+      SingleSubject<KeySet> inFlight = this.inFlightRefresh.get();
+      if (inFlight != null) {
+        return inFlight;
       }
 
-      this.expirationTime = System.currentTimeMillis() + this.refreshTimeout * 1000;
-    } catch (Exception e) {
-      throw new PublicKeysManagerException("Failed to create public keys from public certs url", e);
-    } finally {
-      this.lock.unlock();
+      SingleSubject<KeySet> subject = SingleSubject.create();
+      if (this.inFlightRefresh.compareAndSet(null, subject)) {
+        this.lastRefreshAttempt.set(System.currentTimeMillis());
+        fetchKeys()
+            .doOnSuccess(
+                keys -> {
+                  this.keySet.set(keys);
+                  increment(this.fetchSuccess);
+                })
+            .doOnError(e -> increment(this.fetchFailure))
+            .doFinally(() -> this.inFlightRefresh.compareAndSet(subject, null))
+            .subscribe(subject);
+        return subject;
+      }
+    }
+  }
+
+  private static void increment(Counter counter) {
+    if (counter != null) {
+      counter.increment();
+    }
+  }
+
+  private Single<KeySet> fetchKeys() {
+    return this.webClient
+        .getAbs(this.publicCertsEncodedUrl)
+        .rxSend()
+        .map(
+            response -> {
+              if (response.statusCode() != 200) {
+                throw new PublicKeysManagerException(
+                    "Public certs url returned status " + response.statusCode());
+              }
+
+              Map<String, PublicKey> keys = new HashMap<>();
+              JSONWebKeySetResponse keySetResponse =
+                  Mapper.deserialize(response.body().getBytes(), JSONWebKeySetResponse.class);
+              for (JSONWebKey key : keySetResponse.keys) {
+                keys.put(key.kid, JSONWebKey.parse(key));
+              }
+
+              long now = System.currentTimeMillis();
+              return new KeySet(
+                  Collections.unmodifiableMap(keys), now, now + this.refreshTimeoutMillis);
+            })
+        .onErrorResumeNext(
+            e ->
+                Single.error(
+                    new PublicKeysManagerException(
+                        "Failed to create public keys from public certs url", e)));
+  }
+
+  private record KeySet(Map<String, PublicKey> keys, long fetchedAt, long expirationTime) {
+    boolean isRefreshDue() {
+      return System.currentTimeMillis() + REFRESH_SKEW_MILLIS > this.expirationTime;
     }
   }
 
@@ -84,6 +222,9 @@ class PublicKeysManager {
     String publicCertsEncodedUrl;
     Map<String, String> publicKeys;
     Long refreshTimeout;
+    WebClient webClient;
+    MeterRegistry meterRegistry;
+    Iterable<Tag> tags;
 
     Builder() {}
 
@@ -105,5 +246,16 @@ class PublicKeysManager {
       this.refreshTimeout = refreshTimeout;
       return this;
     }
+
+    Builder webClient(WebClient webClient) {
+      this.webClient = webClient;
+      return this;
+    }
+
+    Builder meterRegistry(MeterRegistry meterRegistry, Iterable<Tag> tags) {
+      this.meterRegistry = meterRegistry;
+      this.tags = tags;
+      return this;
+    }
   }
 }
@@ -5,65 +5,111 @@ import static com.dreamsportslabs.guardian.jwtVerifier.constants.Constants.JWT_C
 import static com.dreamsportslabs.guardian.jwtVerifier.constants.Constants.JWT_CLAIMS_ISSUER;
 
 import com.dreamsportslabs.guardian.jwtVerifier.exception.InvalidTokenException;
+import com.dreamsportslabs.guardian.utils.JwtHeaderReader;
 import io.fusionauth.jwt.JWTDecoder;
 import io.fusionauth.jwt.Verifier;
 import io.fusionauth.jwt.domain.JWT;
 import io.fusionauth.jwt.ec.ECVerifier;
 import io.fusionauth.jwt.rsa.RSAVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.reactivex.rxjava3.core.Single;
+import io.vertx.rxjava3.ext.web.client.WebClient;
 import java.security.PublicKey;
 import java.security.interfaces.ECPublicKey;
 import java.security.interfaces.RSAPublicKey;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import lombok.Getter;
 
 public class TokenVerifier {
   private final JWTDecoder decoder;
   private final PublicKeysManager publicKeysManager;
-  private final String issuer;
+  @Getter private final List<String> issuers;
+  @Getter private final String publicCertsEncodedUrl;
 
-  public TokenVerifier(String publicCertsEncodedUrl, String issuer) {
-    this(publicCertsEncodedUrl, issuer, DEFAULT_REFRESH_TIMEOUT);
+  public TokenVerifier(WebClient webClient, String publicCertsEncodedUrl, String issuer) {
+    this(webClient, publicCertsEncodedUrl, issuer, DEFAULT_REFRESH_TIMEOUT);
   }
 
-  public TokenVerifier(String publicCertsEncodedUrl, String issuer, Long refreshTimeout) {
-    this.issuer = issuer;
-    this.decoder = JWT.getDecoder();
-    this.publicKeysManager =
+  public TokenVerifier(
+      WebClient webClient, String publicCertsEncodedUrl, String issuer, Long refreshTimeout) {
+    this(
+        PublicKeysManager.builder()
+            .webClient(webClient)
+            .publicCertsEncodedUrl(publicCertsEncodedUrl)
+            .refreshTimeout(refreshTimeout),
+        List.of(issuer));
+  }
+
+  public TokenVerifier(
+      WebClient webClient,
+      String publicCertsEncodedUrl,
+      String issuer,
+      MeterRegistry meterRegistry,
+      Iterable<Tag> tags) {
+    this(webClient, publicCertsEncodedUrl, List.of(issuer), meterRegistry, tags);
+  }
+
+  public TokenVerifier(
+      WebClient webClient,
+      String publicCertsEncodedUrl,
+      List<String> issuers,
+      MeterRegistry meterRegistry,
+      Iterable<Tag> tags) {
+    this(
         PublicKeysManager.builder()
+            .webClient(webClient)
             .publicCertsEncodedUrl(publicCertsEncodedUrl)
-            .refreshTimeout(refreshTimeout)
-            .build();
+            .refreshTimeout(DEFAULT_REFRESH_TIMEOUT)
+            .meterRegistry(meterRegistry, tags),
+        issuers);
   }
 
   public TokenVerifier(Map<String, String> publicKeys, String issuer) {
-    this.issuer = issuer;
+    this(PublicKeysManager.builder().publicKeys(publicKeys), List.of(issuer));
+  }
+
+  private TokenVerifier(PublicKeysManager.Builder builder, List<String> issuers) {
+    this.issuers = issuers;
+    this.publicCertsEncodedUrl = builder.publicCertsEncodedUrl;
     this.decoder = JWT.getDecoder();
-    this.publicKeysManager = PublicKeysManager.builder().publicKeys(publicKeys).build();
+    this.publicKeysManager = builder.build();
   }
 
-  public Map<String, Object> verify(String token) {
-    JWT jwt = this.decoder.decode(token, this::getVerifier);
+  public Single<Map<String, Object>> verify(String token) {
+    return Single.defer(() -> this.publicKeysManager.getPublicKey(getKeyId(token)))
+        .map(
+            publicKey -> {
+              JWT jwt = this.decoder.decode(token, keyId -> getVerifier(publicKey));
 
-    Map<String, Object> claims = jwt.getAllClaims();
+              Map<String, Object> claims = jwt.getAllClaims();
 
-    verifyIssuerClaim(claims);
+              verifyIssuerClaim(claims);
 
-    return claims;
+              return claims;
+            });
   }
 
-  public Map<String, Object> verify(String token, String audience) {
-    Map<String, Object> claims = verify(token);
-    verifyAudienceClaim(claims, audience);
-
-    return claims;
+  public Single<Map<String, Object>> verify(String token, String audience) {
+    return verify(token)
+        .map(
+            claims -> {
+              verifyAudienceClaim(claims, audience);
+              return claims;
+            });
   }
 
-  private Verifier getVerifier(String keyId) {
-    PublicKey publicKey = this.publicKeysManager.getPublicKeyMap().get(keyId);
-    if (publicKey == null) {
-      throw new InvalidTokenException("Invalid Signature");
+  private String getKeyId(String token) {
+    try {
+      return JwtHeaderReader.read(token).kid();
+    } catch (Exception e) {
+      throw new InvalidTokenException("Invalid JWT format");
     }
+  }
+
+  private Verifier getVerifier(PublicKey publicKey) {
     if (publicKey instanceof RSAPublicKey) {
       return RSAVerifier.newVerifier(publicKey);
     } else if (publicKey instanceof ECPublicKey) {
@@ -74,7 +120,7 @@ public class TokenVerifier {
   }
 
   private void verifyIssuerClaim(Map<String, Object> claims) {
-    if (!claims.get(JWT_CLAIMS_ISSUER).equals(this.issuer)) {
+    if (!this.issuers.contains(claims.get(JWT_CLAIMS_ISSUER))) {
       throw new InvalidTokenException("Invalid issuer");
     }
   }
@@ -0,0 +1,11 @@
+package com.dreamsportslabs.guardian.registry;
+
+import com.dreamsportslabs.guardian.jwtVerifier.TokenVerifier;
+import java.util.Map;
+
+public record IdpTokenVerifiers(Map<String, TokenVerifier> verifiersByProvider) {
+
+  public TokenVerifier get(String providerName) {
+    return verifiersByProvider.get(providerName);
+  }
+}
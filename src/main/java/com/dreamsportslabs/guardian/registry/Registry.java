@@ -1,39 +1,61 @@
 package com.dreamsportslabs.guardian.registry;
 
-import java.util.HashMap;
+import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
+import com.dreamsportslabs.guardian.service.impl.idproviders.FacebookIdProvider;
+import com.dreamsportslabs.guardian.service.impl.idproviders.GoogleIdProvider;
+import io.fusionauth.jwt.Signer;
 import java.util.Map;
 import java.util.Objects;
-import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections.keyvalue.MultiKey;
+import java.util.concurrent.ConcurrentHashMap;
 
-@Slf4j
+/**
+ * Per tenant objects shared by all event loops. A tenant's {@link TenantEntry} is immutable and
+ * swapped in as a whole, so readers never observe a partially initialized tenant and lookups do not
+ * take locks or allocate.
+ */
 public class Registry {
-  private final Map<MultiKey, Object> classMap;
+  private final Map<String, TenantEntry> tenants = new ConcurrentHashMap<>();
 
-  private static final String DEFAULT_NAME = "default";
+  public TenantEntry get(String tenant) {
+    return tenants.get(tenant);
+  }
+
+  public void put(String tenant, TenantEntry entry) {
+    Objects.requireNonNull(entry);
+    tenants.put(tenant, entry);
+  }
+
+  public void remove(String tenant) {
+    tenants.remove(tenant);
+  }
 
-  public Registry() {
-    this.classMap = new HashMap<>();
+  public TenantConfig getTenantConfig(String tenant) {
+    TenantEntry entry = tenants.get(tenant);
+    return entry == null ? null : entry.tenantConfig();
   }
 
-  public <T> T get(String tenant, Class<T> clazz) {
-    return this.get(tenant, clazz, DEFAULT_NAME);
+  public Signer getSigner(String tenant) {
+    TenantEntry entry = tenants.get(tenant);
+    return entry == null ? null : entry.signer();
   }
 
-  public <T> T get(String tenant, Class<T> clazz, String name) {
-    return (T) classMap.get(getKey(clazz, tenant, name));
+  public TokenVerifiers getTokenVerifiers(String tenant) {
+    TenantEntry entry = tenants.get(tenant);
+    return entry == null ? null : entry.tokenVerifiers();
   }
 
-  public <T> void put(String tenant, T object) {
-    this.put(tenant, object, DEFAULT_NAME);
+  public IdpTokenVerifiers getIdpTokenVerifiers(String tenant) {
+    TenantEntry entry = tenants.get(tenant);
+    return entry == null ? null : entry.idpTokenVerifiers();
   }
 
-  public <T> void put(String tenant, T object, String name) {
-    Objects.requireNonNull(object);
-    classMap.put(getKey(object.getClass(), tenant, name), object);
+  public FacebookIdProvider getFacebookIdProvider(String tenant) {
+    TenantEntry entry = tenants.get(tenant);
+    return entry == null ? null : entry.facebookIdProvider();
   }
 
-  private MultiKey getKey(Class<?> clazz, String tenant, String name) {
-    return new MultiKey(tenant, clazz.getName(), name);
+  public GoogleIdProvider getGoogleIdProvider(String tenant) {
+    TenantEntry entry = tenants.get(tenant);
+    return entry == null ? null : entry.googleIdProvider();
   }
 }
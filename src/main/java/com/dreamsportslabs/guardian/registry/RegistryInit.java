@@ -1,33 +1,128 @@
 package com.dreamsportslabs.guardian.registry;
 
+import com.dreamsportslabs.guardian.config.tenant.GoogleConfig;
+import com.dreamsportslabs.guardian.config.tenant.OidcProviderConfig;
 import com.dreamsportslabs.guardian.config.tenant.RsaKey;
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.config.tenant.TokenConfig;
+import com.dreamsportslabs.guardian.injection.GuiceInjector;
+import com.dreamsportslabs.guardian.jwtVerifier.TokenVerifier;
 import com.dreamsportslabs.guardian.service.impl.idproviders.FacebookIdProvider;
 import com.dreamsportslabs.guardian.service.impl.idproviders.GoogleIdProvider;
 import io.fusionauth.jwt.Signer;
+import io.fusionauth.jwt.Verifier;
+import io.fusionauth.jwt.ec.ECSigner;
+import io.fusionauth.jwt.ec.ECVerifier;
 import io.fusionauth.jwt.rsa.RSASigner;
+import io.fusionauth.jwt.rsa.RSAVerifier;
+import io.fusionauth.pem.domain.PEM;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.vertx.rxjava3.ext.web.client.WebClient;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 import lombok.SneakyThrows;
 
 public class RegistryInit {
 
   @SneakyThrows
-  public static TenantConfig initializeRegistry(Registry registry, TenantConfig tenantConfig) {
+  public static TenantEntry initializeRegistry(Registry registry, TenantConfig tenantConfig) {
     String tenantId = tenantConfig.getTenantId();
-    registry.put(tenantId, tenantConfig);
-    registry.put(tenantId, getTokenSigner(tenantConfig.getTokenConfig()));
-    registry.put(tenantId, new FacebookIdProvider(tenantConfig.getFbConfig()));
-    registry.put(tenantId, new GoogleIdProvider(tenantConfig.getGoogleConfig()));
-    return tenantConfig;
+    TenantEntry existing = registry.get(tenantId);
+    TenantEntry entry =
+        TenantEntry.builder()
+            .tenantConfig(tenantConfig)
+            .signer(getTokenSigner(tenantConfig.getTokenConfig()))
+            .tokenVerifiers(getTokenVerifiers(tenantConfig.getTokenConfig()))
+            .idpTokenVerifiers(
+                getIdpTokenVerifiers(
+                    tenantId,
+                    tenantConfig.getOidcProviderConfig(),
+                    existing == null ? null : existing.idpTokenVerifiers()))
+            .facebookIdProvider(new FacebookIdProvider(tenantConfig.getFbConfig()))
+            .googleIdProvider(
+                getGoogleIdProvider(
+                    tenantId,
+                    tenantConfig.getGoogleConfig(),
+                    existing == null ? null : existing.googleIdProvider()))
+            .build();
+    registry.put(tenantId, entry);
+    return entry;
   }
 
   private static Signer getTokenSigner(TokenConfig config) {
     RsaKey currentKey = config.getRsaKeys().stream().filter(RsaKey::getCurrent).toList().get(0);
-    if ("RS512".equals(config.getAlgorithm())) {
-      return RSASigner.newSHA512Signer(currentKey.getPrivateKey(), currentKey.getKid());
-    } else if ("RS256".equals(config.getAlgorithm())) {
-      return RSASigner.newSHA256Signer(currentKey.getPrivateKey(), currentKey.getKid());
+    return switch (config.getAlgorithm()) {
+      case "RS512" -> RSASigner.newSHA512Signer(currentKey.getPrivateKey(), currentKey.getKid());
+      case "RS256" -> RSASigner.newSHA256Signer(currentKey.getPrivateKey(), currentKey.getKid());
+      case "ES256" -> ECSigner.newSHA256Signer(currentKey.getPrivateKey(), currentKey.getKid());
+      case "ES384" -> ECSigner.newSHA384Signer(currentKey.getPrivateKey(), currentKey.getKid());
+      case "ES512" -> ECSigner.newSHA512Signer(currentKey.getPrivateKey(), currentKey.getKid());
+      default -> throw new Error(
+          "Invalid configuration, only RS256, RS512, ES256, ES384 and ES512 are supported");
+    };
+  }
+
+  private static TokenVerifiers getTokenVerifiers(TokenConfig config) {
+    Map<String, Verifier> verifiers =
+        config.getRsaKeys().stream()
+            .collect(
+                Collectors.toUnmodifiableMap(
+                    RsaKey::getKid, key -> getTokenVerifier(key.getPublicKey()), (a, b) -> a));
+    return new TokenVerifiers(verifiers);
+  }
+
+  private static IdpTokenVerifiers getIdpTokenVerifiers(
+      String tenantId,
+      Map<String, OidcProviderConfig> providerConfigs,
+      IdpTokenVerifiers existingVerifiers) {
+    Map<String, TokenVerifier> verifiers = new HashMap<>();
+    if (providerConfigs == null) {
+      return new IdpTokenVerifiers(verifiers);
+    }
+
+    for (OidcProviderConfig config : providerConfigs.values()) {
+      TokenVerifier existing =
+          existingVerifiers == null ? null : existingVerifiers.get(config.getProviderName());
+      // Keep the verifier and its cached JWKS across tenant refreshes unless the provider changed
+      if (existing != null
+          && Objects.equals(existing.getPublicCertsEncodedUrl(), config.getJwksUrl())
+          && Objects.equals(existing.getIssuers(), List.of(config.getIssuer()))) {
+        verifiers.put(config.getProviderName(), existing);
+      } else {
+        verifiers.put(
+            config.getProviderName(),
+            new TokenVerifier(
+                GuiceInjector.getGuiceInjector().getInstance(WebClient.class),
+                config.getJwksUrl(),
+                config.getIssuer(),
+                GuiceInjector.getGuiceInjector().getInstance(MeterRegistry.class),
+                Tags.of("tenant", tenantId, "provider", config.getProviderName())));
+      }
+    }
+    return new IdpTokenVerifiers(Map.copyOf(verifiers));
+  }
+
+  private static GoogleIdProvider getGoogleIdProvider(
+      String tenantId, GoogleConfig config, GoogleIdProvider existingProvider) {
+    // Keep the provider and its cached Google keys across tenant refreshes for the same audience
+    if (existingProvider != null
+        && Objects.equals(existingProvider.getClientId(), config.getClientId())) {
+      return existingProvider;
+    }
+    return new GoogleIdProvider(tenantId, config);
+  }
+
+  private static Verifier getTokenVerifier(String publicKey) {
+    PublicKey key = PEM.decode(publicKey).getPublicKey();
+    if (key instanceof ECPublicKey) {
+      return ECVerifier.newVerifier(key);
     }
-    throw new Error("Invalid configuration, only RS256 and RS512 are supported");
+    return RSAVerifier.newVerifier(key);
   }
 }
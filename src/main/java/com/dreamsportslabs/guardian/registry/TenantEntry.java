@@ -0,0 +1,17 @@
+package com.dreamsportslabs.guardian.registry;
+
+import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
+import com.dreamsportslabs.guardian.service.impl.idproviders.FacebookIdProvider;
+import com.dreamsportslabs.guardian.service.impl.idproviders.GoogleIdProvider;
+import io.fusionauth.jwt.Signer;
+import lombok.Builder;
+
+/** Everything built from a tenant's config, replaced as a whole whenever the config is reloaded. */
+@Builder
+public record TenantEntry(
+    TenantConfig tenantConfig,
+    Signer signer,
+    TokenVerifiers tokenVerifiers,
+    IdpTokenVerifiers idpTokenVerifiers,
+    FacebookIdProvider facebookIdProvider,
+    GoogleIdProvider googleIdProvider) {}
@@ -0,0 +1,11 @@
+package com.dreamsportslabs.guardian.registry;
+
+import io.fusionauth.jwt.Verifier;
+import java.util.Map;
+
+public record TokenVerifiers(Map<String, Verifier> verifiersByKid) {
+
+  public Verifier get(String kid) {
+    return verifiersByKid.get(kid);
+  }
+}
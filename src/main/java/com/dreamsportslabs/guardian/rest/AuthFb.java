@@ -4,6 +4,7 @@ import static com.dreamsportslabs.guardian.constant.Constants.TENANT_ID;
 
 import com.dreamsportslabs.guardian.dto.request.V1AuthFbRequestDto;
 import com.dreamsportslabs.guardian.dto.response.TokenResponseDto;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
 import com.dreamsportslabs.guardian.service.AuthorizationService;
 import com.dreamsportslabs.guardian.service.SocialAuthService;
 import com.google.inject.Inject;
@@ -29,7 +30,8 @@ public class AuthFb {
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public CompletionStage<Response> authFb(@Context HttpHeaders headers, V1AuthFbRequestDto dto) {
+  public CompletionStage<Response> authFb(
+      @Context HttpHeaders headers, @Context TenantEntry tenant, V1AuthFbRequestDto dto) {
     dto.validate();
     String tenantId = headers.getHeaderString(TENANT_ID);
     return socialAuthService
@@ -38,7 +40,8 @@ public class AuthFb {
             resp -> {
               if (resp instanceof TokenResponseDto tokenResponseDto) {
                 return Response.ok(tokenResponseDto)
-                    .cookie(authorizationService.getCookies(tokenResponseDto, tenantId))
+                    .cookie(
+                        authorizationService.getCookies(tokenResponseDto, tenant.tenantConfig()))
                     .build();
               }
               return Response.ok(resp).build();
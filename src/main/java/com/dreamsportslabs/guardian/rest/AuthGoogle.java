@@ -4,6 +4,7 @@ import static com.dreamsportslabs.guardian.constant.Constants.TENANT_ID;
 
 import com.dreamsportslabs.guardian.dto.request.V1AuthGoogleRequestDto;
 import com.dreamsportslabs.guardian.dto.response.TokenResponseDto;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
 import com.dreamsportslabs.guardian.service.AuthorizationService;
 import com.dreamsportslabs.guardian.service.SocialAuthService;
 import com.google.inject.Inject;
@@ -30,7 +31,7 @@ public class AuthGoogle {
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
   public CompletionStage<Response> authIdp(
-      @Context HttpHeaders headers, V1AuthGoogleRequestDto dto) {
+      @Context HttpHeaders headers, @Context TenantEntry tenant, V1AuthGoogleRequestDto dto) {
     dto.validate();
 
     String tenantId = headers.getHeaderString(TENANT_ID);
@@ -40,7 +41,8 @@ public class AuthGoogle {
             resp -> {
               if (resp instanceof TokenResponseDto tokenResponseDto) {
                 return Response.ok(tokenResponseDto)
-                    .cookie(authorizationService.getCookies(tokenResponseDto, tenantId))
+                    .cookie(
+                        authorizationService.getCookies(tokenResponseDto, tenant.tenantConfig()))
                     .build();
               }
               return Response.ok(resp).build();
@@ -1,8 +1,11 @@
 package com.dreamsportslabs.guardian.rest;
 
+import static com.dreamsportslabs.guardian.cache.CacheInvalidator.TENANT_CONFIG_CHANNEL;
 import static com.dreamsportslabs.guardian.constant.Constants.TENANT_ID;
 
+import com.dreamsportslabs.guardian.cache.CacheInvalidator;
 import com.dreamsportslabs.guardian.cache.TenantCache;
+import com.dreamsportslabs.guardian.service.ScopeService;
 import com.google.inject.Inject;
 import io.reactivex.rxjava3.core.Single;
 import jakarta.ws.rs.Consumes;
@@ -21,6 +24,8 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class CaffeineCache {
   private final TenantCache tenantCache;
+  private final CacheInvalidator cacheInvalidator;
+  private final ScopeService scopeService;
 
   @POST
   @Path("/clear")
@@ -30,8 +35,15 @@ public class CaffeineCache {
 
     tenantCache.invalidateCache(tenantId);
 
-    return Single.just(
-            Response.status(Response.Status.NO_CONTENT).entity("Cache invalidated").build())
+    // Other nodes still pick up the change on their next version check if the publish fails
+    return cacheInvalidator
+        .publish(TENANT_CONFIG_CHANNEL, tenantId)
+        .doOnError(e -> log.error("Failed to publish cache invalidation for {}", tenantId, e))
+        .onErrorComplete()
+        .andThen(scopeService.invalidateCatalog(tenantId))
+        .andThen(
+            Single.just(
+                Response.status(Response.Status.NO_CONTENT).entity("Cache invalidated").build()))
         .toCompletionStage();
   }
 }
@@ -42,7 +42,7 @@ public class ClientResource {
     requestDto.validate();
     return clientService
         .createClient(requestDto, tenantId)
-        .map(this::mapToResponseDto)
+        .map(client -> mapToResponseDto(client, client.getClientSecret()))
         .map(client -> Response.status(Response.Status.CREATED).entity(client).build())
         .toCompletionStage();
   }
@@ -115,11 +115,17 @@ public class ClientResource {
         .toCompletionStage();
   }
 
+  // A hashed client's secret is only returned when it is created or regenerated
   private ClientResponseDto mapToResponseDto(ClientModel model) {
+    return mapToResponseDto(
+        model, model.getClientSecretHash() == null ? model.getClientSecret() : null);
+  }
+
+  private ClientResponseDto mapToResponseDto(ClientModel model, String clientSecret) {
     return ClientResponseDto.builder()
         .clientId(model.getClientId())
         .clientName(model.getClientName())
-        .clientSecret(model.getClientSecret())
+        .clientSecret(clientSecret)
         .clientUri(model.getClientUri())
         .contacts(model.getContacts())
         .grantTypes(model.getGrantTypes())
@@ -3,6 +3,7 @@ package com.dreamsportslabs.guardian.rest;
 import static com.dreamsportslabs.guardian.constant.Constants.TENANT_ID;
 
 import com.dreamsportslabs.guardian.dto.request.V1CodeTokenExchangeRequestDto;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
 import com.dreamsportslabs.guardian.service.AuthorizationService;
 import com.google.inject.Inject;
 import jakarta.ws.rs.Consumes;
@@ -10,6 +11,7 @@ import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.util.concurrent.CompletionStage;
@@ -26,14 +28,18 @@ public class CodeTokenExchange {
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
   public CompletionStage<Response> codeTokenExchange(
-      @HeaderParam(TENANT_ID) String tenantId, V1CodeTokenExchangeRequestDto dto) {
+      @HeaderParam(TENANT_ID) String tenantId,
+      @Context TenantEntry tenant,
+      V1CodeTokenExchangeRequestDto dto) {
     dto.validate();
 
     return authorizationService
         .codeTokenExchange(dto, tenantId)
         .map(
             resp ->
-                Response.ok(resp).cookie(authorizationService.getCookies(resp, tenantId)).build())
+                Response.ok(resp)
+                    .cookie(authorizationService.getCookies(resp, tenant.tenantConfig()))
+                    .build())
         .toCompletionStage();
   }
 }
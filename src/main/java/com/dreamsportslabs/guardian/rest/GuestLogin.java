@@ -3,6 +3,7 @@ package com.dreamsportslabs.guardian.rest;
 import static com.dreamsportslabs.guardian.constant.Constants.TENANT_ID;
 
 import com.dreamsportslabs.guardian.dto.request.V1GuestLoginRequestDto;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
 import com.dreamsportslabs.guardian.service.AuthorizationService;
 import com.dreamsportslabs.guardian.service.GuestLoginService;
 import com.google.inject.Inject;
@@ -30,7 +31,9 @@ public class GuestLogin {
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
   public CompletionStage<Response> guestLogin(
-      @Context HttpHeaders headers, V1GuestLoginRequestDto requestDto) {
+      @Context HttpHeaders headers,
+      @Context TenantEntry tenant,
+      V1GuestLoginRequestDto requestDto) {
     requestDto.validate();
     String tenantId = headers.getHeaderString(TENANT_ID);
     return guestService
@@ -40,7 +43,7 @@ public class GuestLogin {
                 Response.ok(response)
                     .cookie(
                         authorizationService.getGuestAccessTokenCookies(
-                            response.getAccessToken(), tenantId))
+                            response.getAccessToken(), tenant.tenantConfig()))
                     .build())
         .toCompletionStage();
   }
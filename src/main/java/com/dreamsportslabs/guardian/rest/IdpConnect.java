@@ -3,6 +3,7 @@ package com.dreamsportslabs.guardian.rest;
 import static com.dreamsportslabs.guardian.constant.Constants.TENANT_ID;
 
 import com.dreamsportslabs.guardian.dto.request.IdpConnectRequestDto;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
 import com.dreamsportslabs.guardian.service.AuthorizationService;
 import com.dreamsportslabs.guardian.service.IdpConnectService;
 import com.google.inject.Inject;
@@ -33,6 +34,7 @@ public class IdpConnect {
   public CompletionStage<Response> connect(
       @Context HttpHeaders headers,
       @HeaderParam(TENANT_ID) String tenantId,
+      @Context TenantEntry tenant,
       IdpConnectRequestDto requestDto) {
     requestDto.validate();
     return idpConnectService
@@ -43,7 +45,8 @@ public class IdpConnect {
                 return Response.ok(response).build();
               } else {
                 return Response.ok(response)
-                    .cookie(authorizationService.getIDPConnectCookies(response, tenantId))
+                    .cookie(
+                        authorizationService.getIDPConnectCookies(response, tenant.tenantConfig()))
                     .build();
               }
             })
@@ -3,6 +3,7 @@ package com.dreamsportslabs.guardian.rest;
 import static com.dreamsportslabs.guardian.constant.Constants.TENANT_ID;
 
 import com.dreamsportslabs.guardian.dto.request.V1LogoutRequestDto;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
 import com.dreamsportslabs.guardian.service.AuthorizationService;
 import com.google.inject.Inject;
 import io.reactivex.rxjava3.core.Single;
@@ -28,7 +29,7 @@ public class Logout {
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
   public CompletionStage<Response> logout(
-      @Context HttpHeaders headers, V1LogoutRequestDto requestDto) {
+      @Context HttpHeaders headers, @Context TenantEntry tenant, V1LogoutRequestDto requestDto) {
     if (requestDto == null) {
       requestDto = new V1LogoutRequestDto();
     }
@@ -40,8 +41,8 @@ public class Logout {
         .andThen(
             Single.just(
                 Response.noContent()
-                    .cookie(authorizationService.getAccessTokenCookie(null, tenantId))
-                    .cookie(authorizationService.getRefreshTokenCookie(null, tenantId))
+                    .cookie(authorizationService.getAccessTokenCookie(null, tenant.tenantConfig()))
+                    .cookie(authorizationService.getRefreshTokenCookie(null, tenant.tenantConfig()))
                     .build()))
         .toCompletionStage();
   }
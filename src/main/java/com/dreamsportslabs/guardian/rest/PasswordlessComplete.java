@@ -4,6 +4,7 @@ import static com.dreamsportslabs.guardian.constant.Constants.TENANT_ID;
 
 import com.dreamsportslabs.guardian.dto.request.V1PasswordlessCompleteRequestDto;
 import com.dreamsportslabs.guardian.dto.response.TokenResponseDto;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
 import com.dreamsportslabs.guardian.service.AuthorizationService;
 import com.dreamsportslabs.guardian.service.Passwordless;
 import com.google.inject.Inject;
@@ -12,6 +13,7 @@ import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.util.concurrent.CompletionStage;
@@ -29,7 +31,9 @@ public class PasswordlessComplete {
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
   public CompletionStage<Response> complete(
-      @HeaderParam(TENANT_ID) String tenantId, V1PasswordlessCompleteRequestDto dto) {
+      @HeaderParam(TENANT_ID) String tenantId,
+      @Context TenantEntry tenant,
+      V1PasswordlessCompleteRequestDto dto) {
     dto.validate();
     return passwordless
         .complete(dto, tenantId)
@@ -37,7 +41,8 @@ public class PasswordlessComplete {
             resp -> {
               if (resp instanceof TokenResponseDto tokenResponseDto) {
                 return Response.ok(tokenResponseDto)
-                    .cookie(authorizationService.getCookies(tokenResponseDto, tenantId))
+                    .cookie(
+                        authorizationService.getCookies(tokenResponseDto, tenant.tenantConfig()))
                     .build();
               }
               return Response.ok(resp).build();
@@ -1,10 +1,10 @@
 package com.dreamsportslabs.guardian.rest;
 
-import static com.dreamsportslabs.guardian.constant.Constants.TENANT_ID;
 import static com.dreamsportslabs.guardian.constant.Constants.UNAUTHORIZED_ERROR_CODE;
 
 import com.dreamsportslabs.guardian.dto.request.V1RefreshTokenRequestDto;
 import com.dreamsportslabs.guardian.exception.ErrorEnum.ErrorEntity;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
 import com.dreamsportslabs.guardian.service.AuthorizationService;
 import com.google.inject.Inject;
 import jakarta.ws.rs.Consumes;
@@ -28,16 +28,18 @@ public class RefreshToken {
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
   public CompletionStage<Response> refreshTokens(
-      @Context HttpHeaders headers, V1RefreshTokenRequestDto requestDto) {
-    String tenantId = headers.getHeaderString(TENANT_ID);
+      @Context HttpHeaders headers,
+      @Context TenantEntry tenant,
+      V1RefreshTokenRequestDto requestDto) {
     requestDto.validate();
     return authorizationService
-        .refreshTokens(requestDto, headers.getRequestHeaders(), tenantId)
+        .refreshTokens(requestDto, headers.getRequestHeaders(), tenant)
         .map(
             resp ->
                 Response.ok(resp)
                     .cookie(
-                        authorizationService.getAccessTokenCookie(resp.getAccessToken(), tenantId))
+                        authorizationService.getAccessTokenCookie(
+                            resp.getAccessToken(), tenant.tenantConfig()))
                     .build())
         .onErrorReturn(
             err -> {
@@ -47,8 +49,10 @@ public class RefreshToken {
                     && errorEntity.getError().getCode().equals(UNAUTHORIZED_ERROR_CODE)) {
                   return Response.status(webAppEx.getResponse().getStatus())
                       .entity(errorEntity)
-                      .cookie(authorizationService.getAccessTokenCookie(null, tenantId))
-                      .cookie(authorizationService.getRefreshTokenCookie(null, tenantId))
+                      .cookie(
+                          authorizationService.getAccessTokenCookie(null, tenant.tenantConfig()))
+                      .cookie(
+                          authorizationService.getRefreshTokenCookie(null, tenant.tenantConfig()))
                       .build();
                 }
                 return webAppEx.getResponse();
@@ -4,6 +4,7 @@ import static com.dreamsportslabs.guardian.constant.Constants.TENANT_ID;
 
 import com.dreamsportslabs.guardian.dto.request.V1SignInRequestDto;
 import com.dreamsportslabs.guardian.dto.response.TokenResponseDto;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
 import com.dreamsportslabs.guardian.service.AuthorizationService;
 import com.dreamsportslabs.guardian.service.PasswordAuth;
 import com.google.inject.Inject;
@@ -30,7 +31,7 @@ public class SignIn {
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
   public CompletionStage<Response> signIn(
-      @Context HttpHeaders headers, V1SignInRequestDto requestDto) {
+      @Context HttpHeaders headers, @Context TenantEntry tenant, V1SignInRequestDto requestDto) {
     requestDto.validate();
     String tenantId = headers.getHeaderString(TENANT_ID);
 
@@ -40,7 +41,8 @@ public class SignIn {
             resp -> {
               if (resp instanceof TokenResponseDto tokenResponseDto) {
                 return Response.ok(tokenResponseDto)
-                    .cookie(authorizationService.getCookies(tokenResponseDto, tenantId))
+                    .cookie(
+                        authorizationService.getCookies(tokenResponseDto, tenant.tenantConfig()))
                     .build();
               }
               return Response.ok(resp).build();
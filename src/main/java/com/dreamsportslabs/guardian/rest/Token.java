@@ -5,11 +5,10 @@ import static com.dreamsportslabs.guardian.constant.Constants.CACHE_CONTROL_HEAD
 import static com.dreamsportslabs.guardian.constant.Constants.CACHE_CONTROL_NO_STORE;
 import static com.dreamsportslabs.guardian.constant.Constants.PRAGMA_HEADER;
 import static com.dreamsportslabs.guardian.constant.Constants.PRAGMA_NO_CACHE;
-import static com.dreamsportslabs.guardian.constant.Constants.TENANT_ID;
 import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.INVALID_REQUEST;
 
 import com.dreamsportslabs.guardian.dto.request.TokenRequestDto;
-import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
 import com.dreamsportslabs.guardian.service.OidcTokenService;
 import com.google.inject.Inject;
 import jakarta.ws.rs.BeanParam;
@@ -31,14 +30,14 @@ import lombok.extern.slf4j.Slf4j;
 public class Token {
 
   private final OidcTokenService oidcTokenService;
-  private final Registry registry;
 
   @POST
   @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
   @Produces(MediaType.APPLICATION_JSON)
   public CompletionStage<Response> token(
-      @BeanParam TokenRequestDto requestDto, @Context HttpHeaders headers) {
-    String tenantId = headers.getHeaderString(TENANT_ID);
+      @BeanParam TokenRequestDto requestDto,
+      @Context HttpHeaders headers,
+      @Context TenantEntry tenant) {
     String authorizationHeader = headers.getHeaderString(AUTHORIZATION);
 
     if (requestDto == null) {
@@ -48,10 +47,10 @@ public class Token {
     }
 
     requestDto.validate();
-    requestDto.validateAuth(authorizationHeader, tenantId, registry);
+    requestDto.validateAuth(authorizationHeader, tenant.tenantConfig());
 
     return oidcTokenService
-        .getOidcTokens(requestDto, tenantId, authorizationHeader, headers.getRequestHeaders())
+        .getOidcTokens(requestDto, tenant, authorizationHeader, headers.getRequestHeaders())
         .map(
             dto ->
                 Response.ok(dto)
@@ -42,13 +42,14 @@ import com.dreamsportslabs.guardian.dto.response.IdpConnectResponseDto;
 import com.dreamsportslabs.guardian.dto.response.RefreshTokenResponseDto;
 import com.dreamsportslabs.guardian.dto.response.TokenResponseDto;
 import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
 import com.google.inject.Inject;
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import io.vertx.core.json.JsonObject;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.NewCookie;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -67,6 +68,7 @@ public class AuthorizationService {
   private final CodeDao codeDao;
   private final RevocationDao revocationDao;
   private final UserService userService;
+  private final RefreshTokenSigner refreshTokenSigner;
 
   public Single<Object> generate(
       JsonObject user, String responseType, MetaInfo metaInfo, String tenantId) {
@@ -78,41 +80,49 @@ public class AuthorizationService {
     throw INVALID_REQUEST.getException();
   }
 
-  public NewCookie[] getCookies(TokenResponseDto responseDto, String tenantId) {
-    NewCookie accessTokenCookie = getAccessTokenCookie(responseDto.getAccessToken(), tenantId);
-    NewCookie refreshTokenCookie = getRefreshTokenCookie(responseDto.getRefreshToken(), tenantId);
+  public NewCookie[] getCookies(TokenResponseDto responseDto, TenantConfig config) {
+    NewCookie accessTokenCookie = getAccessTokenCookie(responseDto.getAccessToken(), config);
+    NewCookie refreshTokenCookie = getRefreshTokenCookie(responseDto.getRefreshToken(), config);
     return new NewCookie[] {accessTokenCookie, refreshTokenCookie};
   }
 
-  public NewCookie[] getGuestAccessTokenCookies(String accessToken, String tenantId) {
-    NewCookie accessTokenCookie = getAccessTokenCookie(accessToken, tenantId);
+  public NewCookie[] getGuestAccessTokenCookies(String accessToken, TenantConfig config) {
+    NewCookie accessTokenCookie = getAccessTokenCookie(accessToken, config);
     return new NewCookie[] {accessTokenCookie};
   }
 
-  public NewCookie[] getIDPConnectCookies(IdpConnectResponseDto responseDto, String tenantId) {
-    NewCookie accessTokenCookie = getAccessTokenCookie(responseDto.getAccessToken(), tenantId);
-    NewCookie refreshTokenCookie = getRefreshTokenCookie(responseDto.getRefreshToken(), tenantId);
+  public NewCookie[] getIDPConnectCookies(IdpConnectResponseDto responseDto, TenantConfig config) {
+    NewCookie accessTokenCookie = getAccessTokenCookie(responseDto.getAccessToken(), config);
+    NewCookie refreshTokenCookie = getRefreshTokenCookie(responseDto.getRefreshToken(), config);
     return new NewCookie[] {accessTokenCookie, refreshTokenCookie};
   }
 
   private Single<TokenResponseDto> generateTokens(
       JsonObject user, MetaInfo metaInfo, String tenantId) {
-    TenantConfig config = registry.get(tenantId, TenantConfig.class);
-    String refreshToken = tokenIssuer.generateRefreshToken();
+    TenantEntry tenant = registry.get(tenantId);
+    TenantConfig config = tenant.tenantConfig();
     long iat = getCurrentTimeInSeconds();
+    String refreshToken =
+        tokenIssuer.generateRefreshToken(
+            config, user.getString(USERID), iat + config.getTokenConfig().getRefreshTokenExpiry());
     Map<String, Object> commonTokenClaims =
         getCommonTokenClaims(user.getString(USERID), iat, config);
     Map<String, Object> accessTokenClaims = getAccessTokenClaims(user, iat, config, refreshToken);
     Map<String, Object> idTokenClaims = new HashMap<>(commonTokenClaims);
     idTokenClaims.put(JWT_CLAIMS_EXP, iat + config.getTokenConfig().getIdTokenExpiry());
-    return Single.zip(
-            tokenIssuer.generateAccessToken(accessTokenClaims, config.getTenantId()),
-            tokenIssuer.generateIdToken(idTokenClaims, user, config.getTenantId()),
-            (accessToken, idToken) ->
+    return tokenIssuer
+        .signTokens(
+            List.of(
+                tokenIssuer.buildAccessToken(accessTokenClaims),
+                tokenIssuer.buildIdToken(
+                    idTokenClaims, user, config.getTokenConfig().getIdTokenClaims())),
+            tenant)
+        .map(
+            tokens ->
                 new TokenResponseDto(
-                    accessToken,
+                    tokens.get(0),
                     refreshToken,
-                    idToken,
+                    tokens.get(1),
                     TOKEN_TYPE,
                     config.getTokenConfig().getAccessTokenExpiry(),
                     user.getBoolean(IS_NEW_USER, false)))
@@ -145,10 +155,10 @@ public class AuthorizationService {
   }
 
   public Single<RefreshTokenResponseDto> refreshTokens(
-      V1RefreshTokenRequestDto dto, MultivaluedMap<String, String> headers, String tenantId) {
-    TenantConfig config = registry.get(tenantId, TenantConfig.class);
-    return refreshTokenDao
-        .getUserIdFromRefreshToken(dto.getRefreshToken(), tenantId)
+      V1RefreshTokenRequestDto dto, MultivaluedMap<String, String> headers, TenantEntry tenant) {
+    TenantConfig config = tenant.tenantConfig();
+    String tenantId = config.getTenantId();
+    return getUserIdFromRefreshToken(dto.getRefreshToken(), config)
         .switchIfEmpty(Single.error(UNAUTHORIZED.getCustomException("Invalid refresh token")))
         .flatMap(
             userId -> {
@@ -171,18 +181,35 @@ public class AuthorizationService {
                         dto.getRefreshToken()));
               }
             })
-        .flatMap(
-            accessTokenClaims ->
-                tokenIssuer.generateAccessToken(accessTokenClaims, config.getTenantId()))
+        .flatMap(accessTokenClaims -> tokenIssuer.generateAccessToken(accessTokenClaims, tenant))
         .map(
             accessToken ->
                 new RefreshTokenResponseDto(
                     accessToken, TOKEN_TYPE, config.getTokenConfig().getAccessTokenExpiry()));
   }
 
+  // Self-contained tokens are checked locally against the revocation set, without reading MySQL.
+  // Tokens of another format, or of a tenant that opted out since, are looked up in the database
+  private Maybe<String> getUserIdFromRefreshToken(String refreshToken, TenantConfig config) {
+    String tenantId = config.getTenantId();
+    if (!Boolean.TRUE.equals(config.getTokenConfig().getSelfContainedRefreshToken())
+        || !refreshTokenSigner.isSigned(refreshToken)) {
+      return refreshTokenDao.getUserIdFromRefreshToken(refreshToken, tenantId);
+    }
+
+    String userId = refreshTokenSigner.verify(refreshToken, tenantId, getCurrentTimeInSeconds());
+    if (userId == null) {
+      return Maybe.empty();
+    }
+    return revocationDao
+        .isRevoked(getRftId(refreshToken), tenantId)
+        .filter(revoked -> !revoked)
+        .map(revoked -> userId);
+  }
+
   private Single<CodeResponseDto> generateCode(
       JsonObject user, MetaInfo metaInfo, String tenantId) {
-    AuthCodeConfig config = registry.get(tenantId, TenantConfig.class).getAuthCodeConfig();
+    AuthCodeConfig config = registry.getTenantConfig(tenantId).getAuthCodeConfig();
     String code = RandomStringUtils.randomAlphanumeric(config.getLength());
     CodeModel codeModel =
         CodeModel.builder()
@@ -214,14 +241,13 @@ public class AuthorizationService {
 
   public Completable adminLogout(String userId, String tenantId) {
     return refreshTokenDao
-        .getRefreshTokens(userId, tenantId)
+        .getRftIds(userId, tenantId)
         .flatMap(
             list ->
                 refreshTokenDao
                     .invalidateAllRefreshTokensForUser(userId, tenantId)
                     .andThen(Single.just(list)))
-        .doOnSuccess(tokens -> updateRevocations(tokens, tenantId))
-        .ignoreElement();
+        .flatMapCompletable(rftIds -> updateRevocations(rftIds, tenantId));
   }
 
   private Completable invalidateRefreshToken(V1LogoutRequestDto dto, String tenantId) {
@@ -232,73 +258,80 @@ public class AuthorizationService {
             userId -> {
               if (dto.getIsUniversalLogout()) {
                 return refreshTokenDao
-                    .getRefreshTokens(userId, tenantId)
+                    .getRftIds(userId, tenantId)
                     .flatMap(
                         list ->
                             refreshTokenDao
                                 .invalidateAllRefreshTokensForUser(userId, tenantId)
                                 .andThen(Single.just(list)))
-                    .doOnSuccess(tokens -> updateRevocations(tokens, tenantId))
-                    .ignoreElement();
+                    .flatMapCompletable(rftIds -> updateRevocations(rftIds, tenantId));
               } else {
                 return refreshTokenDao
                     .invalidateRefreshToken(dto.getRefreshToken(), tenantId)
-                    .doOnComplete(
-                        () -> updateRevocations(List.of(dto.getRefreshToken()), tenantId));
+                    .andThen(
+                        Completable.defer(
+                            () ->
+                                updateRevocations(
+                                    List.of(getRftId(dto.getRefreshToken())), tenantId)));
               }
             });
   }
 
-  private void updateRevocations(List<String> refreshTokens, String tenantId) {
-    TokenConfig config = registry.get(tenantId, TenantConfig.class).getTokenConfig();
-    List<String> expiredRefreshTokens = new ArrayList<>();
+  // Self-contained refresh tokens are only rejected through this set until they expire, so for
+  // tenants that opted in the write completes before the revocation is reported as done
+  private Completable updateRevocations(List<String> rftIds, String tenantId) {
+    TokenConfig config = registry.getTenantConfig(tenantId).getTokenConfig();
+    long currentTimeStamp = getCurrentTimeInSeconds();
+    boolean selfContained = Boolean.TRUE.equals(config.getSelfContainedRefreshToken());
 
-    for (String refreshToken : refreshTokens) {
-      String rftId = getRftId(refreshToken);
-      expiredRefreshTokens.add(rftId);
+    long retention = config.getAccessTokenExpiry() * 60;
+    if (selfContained) {
+      retention = Math.max(retention, config.getRefreshTokenExpiry());
     }
-    long currentTimeStamp = getCurrentTimeInSeconds();
 
-    long accessTokenExpiry = config.getAccessTokenExpiry() * 60;
+    Completable added =
+        revocationDao.addExpiredRefreshTokensInSortedSet(currentTimeStamp, rftIds, tenantId);
 
-    revocationDao.addExpiredRefreshTokensInSortedSet(
-        currentTimeStamp, expiredRefreshTokens, tenantId);
+    revocationDao.removeExpiredRefreshTokensFromSortedSet(currentTimeStamp, retention, tenantId);
+
+    if (selfContained) {
+      return added;
+    }
+    added.subscribe(() -> {}, err -> log.error("Failed to add revocations", err));
+    return Completable.complete();
+  }
 
-    revocationDao.removeExpiredRefreshTokensFromSortedSet(
-        currentTimeStamp, accessTokenExpiry, tenantId);
+  public Completable revokeTokens(List<String> refreshTokens, String tenantId) {
+    return updateRevocations(
+        refreshTokens.stream().map(token -> getRftId(token)).toList(), tenantId);
   }
 
-  public void revokeTokens(List<String> refreshTokens, String tenantId) {
-    updateRevocations(refreshTokens, tenantId);
+  public Completable revokeRftIds(List<String> rftIds, String tenantId) {
+    return updateRevocations(rftIds, tenantId);
   }
 
-  protected NewCookie buildCookie(String name, String value, Integer maxAge, String tenantId) {
-    TenantConfig config = registry.get(tenantId, TenantConfig.class);
+  protected NewCookie buildCookie(String name, String value, Integer maxAge, TokenConfig config) {
     return new NewCookie.Builder(name)
         .value(value)
-        .path(config.getTokenConfig().getCookiePath())
+        .path(config.getCookiePath())
         .maxAge(maxAge)
-        .domain(config.getTokenConfig().getCookieDomain())
-        .sameSite(NewCookie.SameSite.valueOf(config.getTokenConfig().getCookieSameSite()))
-        .httpOnly(config.getTokenConfig().getCookieHttpOnly())
-        .secure(config.getTokenConfig().getCookieSecure())
+        .domain(config.getCookieDomain())
+        .sameSite(NewCookie.SameSite.valueOf(config.getCookieSameSite()))
+        .httpOnly(config.getCookieHttpOnly())
+        .secure(config.getCookieSecure())
         .build();
   }
 
-  public NewCookie getAccessTokenCookie(String accessToken, String tenantId) {
+  public NewCookie getAccessTokenCookie(String accessToken, TenantConfig config) {
+    TokenConfig tokenConfig = config.getTokenConfig();
     return buildCookie(
-        ACCESS_TOKEN_COOKIE_NAME,
-        accessToken,
-        registry.get(tenantId, TenantConfig.class).getTokenConfig().getAccessTokenExpiry(),
-        tenantId);
+        ACCESS_TOKEN_COOKIE_NAME, accessToken, tokenConfig.getAccessTokenExpiry(), tokenConfig);
   }
 
-  public NewCookie getRefreshTokenCookie(String refreshToken, String tenantId) {
+  public NewCookie getRefreshTokenCookie(String refreshToken, TenantConfig config) {
+    TokenConfig tokenConfig = config.getTokenConfig();
     return buildCookie(
-        REFRESH_TOKEN_COOKIE_NAME,
-        refreshToken,
-        registry.get(tenantId, TenantConfig.class).getTokenConfig().getRefreshTokenExpiry(),
-        tenantId);
+        REFRESH_TOKEN_COOKIE_NAME, refreshToken, tokenConfig.getRefreshTokenExpiry(), tokenConfig);
   }
 
   private Map<String, Object> getAccessTokenClaims(
@@ -324,7 +357,7 @@ public class AuthorizationService {
       String guestIdentifier, String tenantId, String scope, String clientId) {
     Map<String, Object> guestTokenClaims = new HashMap<>();
     Long iat = getCurrentTimeInSeconds();
-    TenantConfig config = registry.get(tenantId, TenantConfig.class);
+    TenantConfig config = registry.getTenantConfig(tenantId);
 
     guestTokenClaims.put(JWT_CLAIMS_SUB, guestIdentifier);
     guestTokenClaims.put(JWT_CLAIMS_JTI, RandomStringUtils.randomAlphanumeric(32));
@@ -6,12 +6,11 @@ import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.INVALID_REDIR
 import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.INVALID_SCOPE;
 import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.UNSUPPORTED_RESPONSE_TYPE;
 
+import com.dreamsportslabs.guardian.cache.ScopeCatalog;
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.dao.AuthorizeSessionDao;
-import com.dreamsportslabs.guardian.dao.ClientScopeDao;
 import com.dreamsportslabs.guardian.dao.model.AuthorizeSessionModel;
 import com.dreamsportslabs.guardian.dao.model.ClientModel;
-import com.dreamsportslabs.guardian.dao.model.ClientScopeModel;
 import com.dreamsportslabs.guardian.dto.request.AuthorizeRequestDto;
 import com.dreamsportslabs.guardian.dto.response.AuthorizeResponseDto;
 import com.dreamsportslabs.guardian.registry.Registry;
@@ -31,7 +30,7 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class AuthorizeService {
   private final ClientService clientService;
-  private final ClientScopeDao clientScopeDao;
+  private final ScopeCatalog scopeCatalog;
   private final AuthorizeSessionDao authorizeSessionDao;
   private final Registry registry;
 
@@ -44,15 +43,16 @@ public class AuthorizeService {
             client -> {
               String loginChallenge = UUID.randomUUID().toString();
 
-              return clientScopeDao
-                  .getClientScopes(requestDto.getClientId(), tenantId)
+              return scopeCatalog
+                  .get(tenantId)
+                  .map(scopes -> scopes.getClientScopes(requestDto.getClientId()))
                   .map(clientScopes -> filterAllowedScopes(requestDto.getScope(), clientScopes))
                   .map(
                       allowedScopes ->
                           buildAuthorizeSessionModel(requestDto, client, allowedScopes))
                   .flatMap(
                       sessionModel -> {
-                        TenantConfig tenantConfig = registry.get(tenantId, TenantConfig.class);
+                        TenantConfig tenantConfig = registry.getTenantConfig(tenantId);
                         int authorizeTtl = tenantConfig.getOidcConfig().getAuthorizeTtl();
                         String loginPageUri = tenantConfig.getOidcConfig().getLoginPageUri();
                         return saveSession(loginChallenge, sessionModel, tenantId, authorizeTtl)
@@ -136,15 +136,11 @@ public class AuthorizeService {
         "scope must contain 'openid'", requestDto.getState(), requestDto.getRedirectUri());
   }
 
-  private List<String> filterAllowedScopes(
-      String requestedScopes, List<ClientScopeModel> clientScopes) {
-    Set<String> clientAllowedScopes =
-        clientScopes.stream().map(ClientScopeModel::getScope).collect(Collectors.toSet());
-
+  private List<String> filterAllowedScopes(String requestedScopes, List<String> clientScopes) {
     Set<String> requestedScopesSet =
         Arrays.stream(requestedScopes.split("\\s+")).collect(Collectors.toSet());
 
-    requestedScopesSet.retainAll(clientAllowedScopes);
+    requestedScopesSet.retainAll(clientScopes);
 
     return new ArrayList<>(requestedScopesSet);
   }
@@ -2,6 +2,7 @@ package com.dreamsportslabs.guardian.service;
 
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INVALID_REQUEST;
 
+import com.dreamsportslabs.guardian.cache.ClientCredentialsTokenCache;
 import com.dreamsportslabs.guardian.dao.ClientDao;
 import com.dreamsportslabs.guardian.dao.ClientScopeDao;
 import com.dreamsportslabs.guardian.dao.model.ClientScopeModel;
@@ -22,6 +23,7 @@ public class ClientScopeService {
   private final ClientScopeDao clientScopeDao;
   private final ScopeService scopeService;
   private final ClientDao clientDao;
+  private final ClientCredentialsTokenCache clientCredentialsTokenCache;
 
   public Completable createClientScope(
       String clientId, CreateClientScopeRequestDto requestDto, String tenantId) {
@@ -64,7 +66,9 @@ public class ClientScopeService {
                 clientScopeList.add(clientScopeModel);
               }
               return clientScopeDao.createClientScope(clientScopeList);
-            });
+            })
+        .doOnComplete(() -> clientCredentialsTokenCache.invalidate(tenantId, clientId))
+        .andThen(scopeService.invalidateCatalog(tenantId));
   }
 
   public Single<List<ClientScopeModel>> getClientScopes(String clientId, String tenantId) {
@@ -78,6 +82,8 @@ public class ClientScopeService {
     return clientDao
         .getClient(clientId, tenantId)
         .switchIfEmpty(Single.error(INVALID_REQUEST.getCustomException("Client not found")))
-        .flatMapCompletable(exists -> clientScopeDao.deleteClientScope(tenantId, clientId, scope));
+        .flatMapCompletable(exists -> clientScopeDao.deleteClientScope(tenantId, clientId, scope))
+        .doOnComplete(() -> clientCredentialsTokenCache.invalidate(tenantId, clientId))
+        .andThen(scopeService.invalidateCatalog(tenantId));
   }
 }
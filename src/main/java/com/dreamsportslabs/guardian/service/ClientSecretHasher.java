@@ -0,0 +1,129 @@
+package com.dreamsportslabs.guardian.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.dreamsportslabs.guardian.dao.model.ClientModel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Hashes client secrets with HMAC-SHA256 keyed by a server side pepper and verifies presented
+ * secrets in constant time. For the last secret verified per client only a SHA-256 digest salted
+ * with a random per node key is remembered, together with the hash it matched, so repeated
+ * authentications with the same secret skip the HMAC until the entry expires or the client's hash
+ * changes.
+ */
+public class ClientSecretHasher {
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+  private static final int MIN_PEPPER_LENGTH = 32;
+  private static final String DEFAULT_PEPPER = "guardian-client-secret-pepper";
+
+  private final SecretKeySpec key;
+  private final byte[] digestSalt;
+  private final boolean storePlaintext;
+  private final ThreadLocal<Mac> mac;
+  private final ThreadLocal<MessageDigest> digest;
+  private final Cache<CacheKey, VerifiedSecret> verifiedSecrets;
+
+  public ClientSecretHasher(
+      String pepper, boolean storePlaintext, long cacheTtl, long cacheMaxSize) {
+    if (StringUtils.isBlank(pepper)) {
+      throw new IllegalArgumentException("Client secret pepper must be configured");
+    }
+    if (pepper.getBytes(UTF_8).length < MIN_PEPPER_LENGTH || DEFAULT_PEPPER.equals(pepper)) {
+      throw new IllegalArgumentException(
+          "Client secret pepper must be a private value of at least "
+              + MIN_PEPPER_LENGTH
+              + " bytes");
+    }
+    this.key = new SecretKeySpec(pepper.getBytes(UTF_8), ALGORITHM);
+    this.digestSalt = new byte[32];
+    new SecureRandom().nextBytes(this.digestSalt);
+    this.storePlaintext = storePlaintext;
+    this.mac = ThreadLocal.withInitial(this::newMac);
+    this.digest = ThreadLocal.withInitial(this::newDigest);
+    this.verifiedSecrets =
+        Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(cacheTtl))
+            .maximumSize(cacheMaxSize)
+            .build();
+  }
+
+  public String hash(String secret) {
+    return HexFormat.of().formatHex(mac.get().doFinal(secret.getBytes(UTF_8)));
+  }
+
+  /**
+   * Whether the plaintext secret is still written next to its hash, so nodes running a version
+   * that predates hashing can authenticate the client during a rolling deploy.
+   */
+  public boolean storesPlaintext() {
+    return storePlaintext;
+  }
+
+  public boolean verify(ClientModel client, String secret) {
+    if (secret == null) {
+      return false;
+    }
+
+    String storedHash = client.getClientSecretHash();
+    if (storedHash == null) {
+      // Rows created before secrets were hashed hold only the plaintext until their first login
+      return client.getClientSecret() != null
+          && MessageDigest.isEqual(
+              client.getClientSecret().getBytes(UTF_8), secret.getBytes(UTF_8));
+    }
+
+    CacheKey cacheKey = new CacheKey(client.getTenantId(), client.getClientId());
+    byte[] presented = digest(secret);
+    VerifiedSecret verified = verifiedSecrets.getIfPresent(cacheKey);
+    if (verified != null
+        && verified.hash().equals(storedHash)
+        && MessageDigest.isEqual(verified.digest(), presented)) {
+      return true;
+    }
+
+    boolean valid = MessageDigest.isEqual(hash(secret).getBytes(UTF_8), storedHash.getBytes(UTF_8));
+    if (valid) {
+      verifiedSecrets.put(cacheKey, new VerifiedSecret(storedHash, presented));
+    }
+    return valid;
+  }
+
+  private byte[] digest(String secret) {
+    MessageDigest instance = digest.get();
+    instance.update(digestSalt);
+    return instance.digest(secret.getBytes(UTF_8));
+  }
+
+  private Mac newMac() {
+    try {
+      Mac instance = Mac.getInstance(ALGORITHM);
+      instance.init(key);
+      return instance;
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to initialize " + ALGORITHM, e);
+    }
+  }
+
+  private MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(DIGEST_ALGORITHM);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to initialize " + DIGEST_ALGORITHM, e);
+    }
+  }
+
+  private record CacheKey(String tenantId, String clientId) {}
+
+  private record VerifiedSecret(String hash, byte[] digest) {}
+}
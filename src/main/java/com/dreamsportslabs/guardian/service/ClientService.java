@@ -1,9 +1,13 @@
 package com.dreamsportslabs.guardian.service;
 
+import static com.dreamsportslabs.guardian.cache.CacheInvalidator.CLIENT_CHANNEL;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.CLIENT_NOT_FOUND;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INVALID_REQUEST;
 import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.INVALID_CLIENT;
 
+import com.dreamsportslabs.guardian.cache.CacheInvalidator;
+import com.dreamsportslabs.guardian.cache.ClientCache;
+import com.dreamsportslabs.guardian.cache.ClientCredentialsTokenCache;
 import com.dreamsportslabs.guardian.dao.ClientDao;
 import com.dreamsportslabs.guardian.dao.model.ClientModel;
 import com.dreamsportslabs.guardian.dto.request.CreateClientRequestDto;
@@ -11,6 +15,7 @@ import com.dreamsportslabs.guardian.dto.request.UpdateClientRequestDto;
 import com.google.inject.Inject;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
+import io.vertx.core.json.JsonArray;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +28,11 @@ public class ClientService {
   private static final int CLIENT_SECRET_LENGTH = 32;
 
   private final ClientDao clientDao;
+  private final ClientCredentialsTokenCache clientCredentialsTokenCache;
+  private final ClientCache clientCache;
+  private final CacheInvalidator cacheInvalidator;
+  private final ClientSecretHasher clientSecretHasher;
+  private final ScopeService scopeService;
 
   public Single<ClientModel> createClient(CreateClientRequestDto requestDto, String tenantId) {
     String clientId = RandomStringUtils.randomAlphanumeric(CLIENT_ID_LENGTH);
@@ -33,7 +43,8 @@ public class ClientService {
             .tenantId(tenantId)
             .clientId(clientId)
             .clientName(requestDto.getClientName())
-            .clientSecret(clientSecret)
+            .clientSecret(storedSecret(clientSecret))
+            .clientSecretHash(clientSecretHasher.hash(clientSecret))
             .clientUri(requestDto.getClientUri())
             .contacts(requestDto.getContacts())
             .grantTypes(requestDto.getGrantTypes())
@@ -44,12 +55,19 @@ public class ClientService {
             .skipConsent(requestDto.getSkipConsent())
             .build();
 
-    return clientDao.createClient(clientModel);
+    // The plaintext is returned once, in the create response
+    return clientDao
+        .createClient(clientModel)
+        .map(
+            client -> {
+              client.setClientSecret(clientSecret);
+              return client;
+            });
   }
 
   public Single<ClientModel> getClient(String clientId, String tenantId) {
-    return clientDao
-        .getClient(clientId, tenantId)
+    return clientCache
+        .get(tenantId, clientId, () -> clientDao.getClient(clientId, tenantId))
         .switchIfEmpty(Single.error(CLIENT_NOT_FOUND.getException()));
   }
 
@@ -62,6 +80,7 @@ public class ClientService {
       String clientId, UpdateClientRequestDto requestDto, String tenantId) {
     return clientDao
         .updateClient(requestDto, clientId, tenantId)
+        .andThen(invalidateClient(tenantId, clientId))
         .andThen(getClient(clientId, tenantId));
   }
 
@@ -70,7 +89,9 @@ public class ClientService {
         .deleteClient(clientId, tenantId)
         .filter(deleted -> deleted)
         .switchIfEmpty(Single.error(INVALID_REQUEST.getCustomException("Client not found")))
-        .ignoreElement();
+        .ignoreElement()
+        .andThen(invalidateClient(tenantId, clientId))
+        .andThen(scopeService.invalidateCatalog(tenantId));
   }
 
   public Single<String> regenerateClientSecret(String clientId, String tenantId) {
@@ -80,9 +101,13 @@ public class ClientService {
         .flatMap(
             existingClient -> {
               String newSecret = RandomStringUtils.randomAlphanumeric(CLIENT_SECRET_LENGTH);
-              existingClient.setClientSecret(newSecret);
               return clientDao
-                  .updateClientSecret(newSecret, clientId, tenantId)
+                  .updateClientSecret(
+                      clientSecretHasher.hash(newSecret),
+                      storedSecret(newSecret),
+                      clientId,
+                      tenantId)
+                  .andThen(invalidateClient(tenantId, clientId))
                   .andThen(Single.just(newSecret));
             });
   }
@@ -91,7 +116,45 @@ public class ClientService {
       String clientId, String clientSecret, String tenantId) {
     return getClient(clientId, tenantId)
         .onErrorResumeNext(err -> Single.error(INVALID_CLIENT.getException()))
-        .filter(clientModel -> clientModel.getClientSecret().equals(clientSecret))
-        .switchIfEmpty(Single.error(INVALID_CLIENT.getException()));
+        .filter(clientModel -> clientSecretHasher.verify(clientModel, clientSecret))
+        .switchIfEmpty(Single.error(INVALID_CLIENT.getException()))
+        .doOnSuccess(clientModel -> hashLegacySecret(clientModel, clientSecret));
+  }
+
+  // Hashes rows created before secrets were hashed, and clears kept plaintext once it is not needed
+  private void hashLegacySecret(ClientModel client, String clientSecret) {
+    boolean dropPlaintext =
+        !clientSecretHasher.storesPlaintext() && client.getClientSecret() != null;
+    if (client.getClientSecretHash() != null && !dropPlaintext) {
+      return;
+    }
+
+    String clientId = client.getClientId();
+    String tenantId = client.getTenantId();
+    clientDao
+        .updateClientSecret(
+            clientSecretHasher.hash(clientSecret), storedSecret(clientSecret), clientId, tenantId)
+        .andThen(invalidateClient(tenantId, clientId))
+        .subscribe(
+            () -> log.info("Hashed client secret for clientId: {}", clientId),
+            err -> log.error("Failed to hash client secret for clientId: {}", clientId, err));
+  }
+
+  private String storedSecret(String clientSecret) {
+    return clientSecretHasher.storesPlaintext() ? clientSecret : null;
+  }
+
+  // Other nodes still serve the old client until it expires if the publish fails
+  private Completable invalidateClient(String tenantId, String clientId) {
+    return Completable.defer(
+        () -> {
+          clientCache.invalidate(tenantId, clientId);
+          clientCredentialsTokenCache.invalidate(tenantId, clientId);
+          return cacheInvalidator
+              .publish(CLIENT_CHANNEL, new JsonArray().add(tenantId).add(clientId).encode())
+              .doOnError(
+                  e -> log.error("Failed to publish client invalidation for {}", clientId, e))
+              .onErrorComplete();
+        });
   }
 }
@@ -45,7 +45,7 @@ public class ContactVerifyService {
       otpGenerateModel = this.getOtpGenerateModel(tenantId, state);
     } else {
       state = OtpUtils.generateState();
-      TenantConfig tenantConfig = registry.get(tenantId, TenantConfig.class);
+      TenantConfig tenantConfig = registry.getTenantConfig(tenantId);
 
       OtpUtils.updateContactTemplate(
           tenantConfig.getSmsConfig(), tenantConfig.getEmailConfig(), requestDto.getContact());
@@ -94,7 +94,7 @@ public class ContactVerifyService {
       MultivaluedMap<String, String> headers,
       String tenantId,
       String state) {
-    TenantConfig tenantConfig = registry.get(tenantId, TenantConfig.class);
+    TenantConfig tenantConfig = registry.getTenantConfig(tenantId);
 
     OtpUtils.updateContactTemplate(
         tenantConfig.getSmsConfig(), tenantConfig.getEmailConfig(), dto.getContact());
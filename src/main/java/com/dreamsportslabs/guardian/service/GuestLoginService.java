@@ -5,10 +5,9 @@ import static com.dreamsportslabs.guardian.exception.ErrorEnum.CLIENT_NOT_FOUND;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INVALID_SCOPE;
 import static com.dreamsportslabs.guardian.utils.Utils.decryptUsingAESCBCAlgo;
 
+import com.dreamsportslabs.guardian.cache.ScopeCatalog;
 import com.dreamsportslabs.guardian.config.tenant.GuestConfig;
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
-import com.dreamsportslabs.guardian.dao.ClientScopeDao;
-import com.dreamsportslabs.guardian.dao.model.ClientScopeModel;
 import com.dreamsportslabs.guardian.dto.request.V1GuestLoginRequestDto;
 import com.dreamsportslabs.guardian.dto.response.GuestLoginResponseDto;
 import com.dreamsportslabs.guardian.registry.Registry;
@@ -16,7 +15,7 @@ import com.google.inject.Inject;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,11 +25,11 @@ public class GuestLoginService {
 
   private final Registry registry;
   private final TokenIssuer tokenIssuer;
-  private final ClientScopeDao clientScopeDao;
+  private final ScopeCatalog scopeCatalog;
   private final AuthorizationService authorizationService;
 
   public Single<GuestLoginResponseDto> login(V1GuestLoginRequestDto requestDto, String tenantId) {
-    TenantConfig config = registry.get(tenantId, TenantConfig.class);
+    TenantConfig config = registry.getTenantConfig(tenantId);
     GuestConfig guestConfig = config.getGuestConfig();
 
     Boolean isEncrypted = guestConfig.getIsEncrypted();
@@ -65,16 +64,15 @@ public class GuestLoginService {
 
   public Completable validateClientScopes(
       String clientId, String tenantId, List<String> requestedScopes) {
-    return clientScopeDao
-        .getClientScopes(clientId, tenantId)
+    return scopeCatalog
+        .get(tenantId)
         .map(
-            clientScopes -> {
+            scopes -> {
+              List<String> clientScopes = scopes.getClientScopes(clientId);
               if (clientScopes.isEmpty()) {
                 throw CLIENT_NOT_FOUND.getException();
               }
-              return clientScopes.stream()
-                  .map(ClientScopeModel::getScope)
-                  .collect(Collectors.toSet());
+              return Set.copyOf(clientScopes);
             })
         .flatMapCompletable(
             allowedClientScopes -> {
@@ -1,6 +1,7 @@
 package com.dreamsportslabs.guardian.service;
 
 import static com.dreamsportslabs.guardian.utils.ApplicationUtil.getShutdownStatus;
+import static com.dreamsportslabs.guardian.utils.ApplicationUtil.getTenantWarmUpStatus;
 
 import io.reactivex.rxjava3.core.Single;
 import io.vertx.rxjava3.core.Vertx;
@@ -9,9 +10,13 @@ import jakarta.ws.rs.core.Response;
 public class HealthCheckService {
 
   public Single<Response> getHealthCheckResponse() {
-    boolean shutdownStatus = getShutdownStatus(Vertx.currentContext().owner().getDelegate()).get();
-    return shutdownStatus
-        ? Single.just(Response.serverError().build())
-        : Single.just(Response.ok().build());
+    io.vertx.core.Vertx vertx = Vertx.currentContext().owner().getDelegate();
+    if (getShutdownStatus(vertx).get()) {
+      return Single.just(Response.serverError().build());
+    }
+    if (!getTenantWarmUpStatus(vertx).get()) {
+      return Single.just(Response.status(Response.Status.SERVICE_UNAVAILABLE).build());
+    }
+    return Single.just(Response.ok().build());
   }
 }
@@ -76,7 +76,7 @@ public class IdpConnectService {
   public Single<IdpConnectResponseDto> connect(
       IdpConnectRequestDto requestDto, MultivaluedMap<String, String> headers, String tenantId) {
 
-    TenantConfig tenantConfig = registry.get(tenantId, TenantConfig.class);
+    TenantConfig tenantConfig = registry.getTenantConfig(tenantId);
     String providerName = requestDto.getIdProvider();
     OidcProviderConfig oidcProviderConfig = tenantConfig.getOidcProviderConfig().get(providerName);
 
@@ -284,20 +284,18 @@ public class IdpConnectService {
   private Single<IdpCredentials> verifyIdToken(
       IdpConnectRequestDto idpConnectRequestDto, OidcProviderConfig oidcProviderConfig) {
 
-    try {
-      TokenVerifier tokenVerifier =
-          new TokenVerifier(oidcProviderConfig.getJwksUrl(), oidcProviderConfig.getIssuer());
-      Map<String, Object> claims =
-          tokenVerifier.verify(
-              idpConnectRequestDto.getIdentifier(), oidcProviderConfig.getClientId());
-
-      verifyNonceClaim(idpConnectRequestDto, claims);
-      return Single.just(
-          IdpCredentials.builder().idToken(idpConnectRequestDto.getIdentifier()).build());
-
-    } catch (Exception e) {
-      throw INVALID_IDP_TOKEN.getException();
-    }
+    TokenVerifier tokenVerifier =
+        registry
+            .getIdpTokenVerifiers(oidcProviderConfig.getTenantId())
+            .get(oidcProviderConfig.getProviderName());
+    return tokenVerifier
+        .verify(idpConnectRequestDto.getIdentifier(), oidcProviderConfig.getClientId())
+        .map(
+            claims -> {
+              verifyNonceClaim(idpConnectRequestDto, claims);
+              return IdpCredentials.builder().idToken(idpConnectRequestDto.getIdentifier()).build();
+            })
+        .onErrorResumeNext(e -> Single.error(INVALID_IDP_TOKEN.getException()));
   }
 
   private void verifyNonceClaim(
@@ -18,10 +18,10 @@ public class JwksService {
 
   public Single<List<JsonObject>> getJwks(String tenantId) {
     return tenantCache
-        .getTenantConfig(tenantId)
+        .getTenant(tenantId)
         .map(
-            tenantConfig -> {
-              TokenConfig tokenConfig = tenantConfig.getTokenConfig();
+            tenant -> {
+              TokenConfig tokenConfig = tenant.tenantConfig().getTokenConfig();
               String alg = tokenConfig.getAlgorithm();
               return tokenConfig.getRsaKeys().stream()
                   .map(key -> getKeysInJwksFormat(key.getPublicKey(), key.getKid(), alg))
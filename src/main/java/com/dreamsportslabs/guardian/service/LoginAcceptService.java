@@ -89,7 +89,7 @@ public class LoginAcceptService {
   private Single<LoginAcceptResponseDto> handleConsentRequiredFlow(
       AuthorizeSessionModel authorizeSession, String tenantId) {
     String consentChallenge = UUID.randomUUID().toString();
-    TenantConfig tenantConfig = registry.get(tenantId, TenantConfig.class);
+    TenantConfig tenantConfig = registry.getTenantConfig(tenantId);
 
     return authorizeSessionDao
         .saveAuthorizeSession(
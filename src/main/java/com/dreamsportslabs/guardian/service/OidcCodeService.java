@@ -3,7 +3,6 @@ package com.dreamsportslabs.guardian.service;
 import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.INTERNAL_SERVER_ERROR;
 
 import com.dreamsportslabs.guardian.config.tenant.OidcConfig;
-import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.dao.OidcCodeDao;
 import com.dreamsportslabs.guardian.dao.model.OidcCodeModel;
 import com.dreamsportslabs.guardian.registry.Registry;
@@ -21,7 +20,7 @@ public class OidcCodeService {
   private final Registry registry;
 
   public Completable saveOidcCode(String code, OidcCodeModel oidcCodeModel, String tenantId) {
-    OidcConfig oidcConfig = registry.get(tenantId, TenantConfig.class).getOidcConfig();
+    OidcConfig oidcConfig = registry.getTenantConfig(tenantId).getOidcConfig();
     return oidcCodeDao.saveOidcCode(code, oidcCodeModel, tenantId, oidcConfig.getAuthorizeTtl());
   }
 
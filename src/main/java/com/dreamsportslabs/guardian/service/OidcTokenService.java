@@ -26,27 +26,30 @@ import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.UNAUTHORIZED;
 import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.UNAUTHORIZED_CLIENT;
 import static com.dreamsportslabs.guardian.utils.Utils.appendAdditionalAccessTokenClaims;
 import static com.dreamsportslabs.guardian.utils.Utils.getCurrentTimeInSeconds;
+import static com.dreamsportslabs.guardian.utils.Utils.getRefreshTokenHash;
 import static com.dreamsportslabs.guardian.utils.Utils.getRftId;
 import static com.dreamsportslabs.guardian.utils.Utils.shouldSetAccessTokenAdditionalClaims;
 
+import com.dreamsportslabs.guardian.cache.ClientCredentialsTokenCache;
+import com.dreamsportslabs.guardian.cache.ScopeCatalog;
 import com.dreamsportslabs.guardian.config.tenant.OidcConfig;
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.config.tenant.TokenConfig;
 import com.dreamsportslabs.guardian.constant.OidcCodeChallengeMethod;
 import com.dreamsportslabs.guardian.constant.OidcGrantType;
 import com.dreamsportslabs.guardian.dao.OidcRefreshTokenDao;
+import com.dreamsportslabs.guardian.dao.OidcRefreshTokenFamilyDao;
 import com.dreamsportslabs.guardian.dao.RefreshTokenDao;
 import com.dreamsportslabs.guardian.dao.model.ClientModel;
-import com.dreamsportslabs.guardian.dao.model.ClientScopeModel;
 import com.dreamsportslabs.guardian.dao.model.OidcCodeModel;
+import com.dreamsportslabs.guardian.dao.model.OidcRefreshTokenFamilyModel;
 import com.dreamsportslabs.guardian.dao.model.OidcRefreshTokenModel;
-import com.dreamsportslabs.guardian.dao.model.ScopeModel;
 import com.dreamsportslabs.guardian.dto.request.GenerateOidcTokenDto;
 import com.dreamsportslabs.guardian.dto.request.RevokeTokenRequestDto;
 import com.dreamsportslabs.guardian.dto.request.TokenRequestDto;
-import com.dreamsportslabs.guardian.dto.request.scope.GetScopeRequestDto;
 import com.dreamsportslabs.guardian.dto.response.OidcTokenResponseDto;
 import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
 import com.dreamsportslabs.guardian.utils.Utils;
 import com.google.inject.Inject;
 import io.reactivex.rxjava3.core.Completable;
@@ -58,12 +61,12 @@ import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.MultivaluedMap;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.RandomStringUtils;
@@ -71,47 +74,59 @@ import org.apache.commons.lang3.RandomStringUtils;
 @Slf4j
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class OidcTokenService {
+  private static final int FAMILY_ID_LENGTH = 24;
+  private static final String FAMILY_ID_SEPARATOR = ".";
 
   private final ClientService clientService;
   private final OidcCodeService oidcCodeService;
-  private final ClientScopeService clientScopeService;
-  private final ScopeService scopeService;
+  private final ScopeCatalog scopeCatalog;
   private final UserService userService;
   private final TokenIssuer tokenIssuer;
   private final RefreshTokenDao refreshTokenDao;
 
   private final OidcRefreshTokenDao oidcRefreshTokenDao;
+  private final OidcRefreshTokenFamilyDao oidcRefreshTokenFamilyDao;
   private final AuthorizationService authorizationService;
 
   private final Registry registry;
+  private final ClientCredentialsTokenCache clientCredentialsTokenCache;
 
   public Single<OidcTokenResponseDto> getOidcTokens(
       TokenRequestDto requestDto,
-      String tenantId,
+      TenantEntry tenant,
       String authorizationHeader,
       MultivaluedMap<String, String> headers) {
     return switch (requestDto.getOidcGrantType()) {
       case AUTHORIZATION_CODE -> authorizationCodeFlow(
-          requestDto, tenantId, authorizationHeader, headers);
-      case CLIENT_CREDENTIALS -> clientCredentialsFlow(requestDto, tenantId, authorizationHeader);
-      case REFRESH_TOKEN -> refreshTokenFlow(requestDto, tenantId, authorizationHeader, headers);
+          requestDto, tenant, authorizationHeader, headers);
+      case CLIENT_CREDENTIALS -> clientCredentialsFlow(requestDto, tenant, authorizationHeader);
+      case REFRESH_TOKEN -> refreshTokenFlow(requestDto, tenant, authorizationHeader, headers);
     };
   }
 
   public Completable revokeOidcToken(
       RevokeTokenRequestDto requestDto, String tenantId, String authorizationHeader) {
+    String refreshToken = requestDto.getToken();
     return authenticateClientUsingHeader(authorizationHeader, tenantId)
         .flatMap(
             clientModel ->
-                oidcRefreshTokenDao.revokeOidcRefreshToken(
-                    tenantId, clientModel.getClientId(), requestDto.getToken()))
+                Single.zip(
+                    oidcRefreshTokenDao.revokeOidcRefreshToken(
+                        tenantId, clientModel.getClientId(), refreshToken),
+                    revokeRefreshTokenFamily(
+                        tenantId, getFamilyId(refreshToken), clientModel.getClientId()),
+                    (revoked, familyRftIds) -> {
+                      List<String> rftIds = new ArrayList<>(familyRftIds);
+                      if (revoked && !rftIds.contains(getRftId(refreshToken))) {
+                        rftIds.add(getRftId(refreshToken));
+                      }
+                      return rftIds;
+                    }))
         .flatMapCompletable(
-            result -> {
-              if (result) {
-                authorizationService.revokeTokens(List.of(requestDto.getToken()), tenantId);
-              }
-              return Completable.complete();
-            });
+            rftIds ->
+                rftIds.isEmpty()
+                    ? Completable.complete()
+                    : authorizationService.revokeRftIds(rftIds, tenantId));
   }
 
   public Single<String> validateRefreshToken(String refreshToken, String tenantId) {
@@ -126,10 +141,10 @@ public class OidcTokenService {
 
   private Single<OidcTokenResponseDto> authorizationCodeFlow(
       TokenRequestDto requestDto,
-      String tenantId,
+      TenantEntry tenant,
       String authorizationHeader,
       MultivaluedMap<String, String> headers) {
-
+    String tenantId = tenant.tenantConfig().getTenantId();
     return authenticateClient(requestDto, tenantId, authorizationHeader)
         .map(
             clientId -> {
@@ -152,18 +167,32 @@ public class OidcTokenService {
                                 oidcCodeModel, tenantId, userResponse, requestDto)))
         .flatMap(
             generateOidcTokenDto ->
-                generateOidcTokensForAuthorizationCodeFlow(generateOidcTokenDto)
+                generateOidcTokensForAuthorizationCodeFlow(generateOidcTokenDto, tenant)
                     .flatMap(
                         tokenResponseDto ->
-                            oidcRefreshTokenDao
-                                .saveOidcRefreshToken(
+                            saveOidcRefreshToken(
                                     getOidcRefreshTokenModel(
-                                        tokenResponseDto, generateOidcTokenDto))
+                                        tokenResponseDto,
+                                        generateOidcTokenDto,
+                                        tenant.tenantConfig()))
                                 .toSingleDefault(tokenResponseDto)));
   }
 
+  // Tokens carrying a family can only be refreshed through their Redis family, so failing to
+  // create it fails the exchange
+  private Completable saveOidcRefreshToken(OidcRefreshTokenModel refreshTokenModel) {
+    return Completable.mergeArray(
+        oidcRefreshTokenDao.saveOidcRefreshToken(refreshTokenModel),
+        oidcRefreshTokenFamilyDao
+            .createFamily(
+                getOidcRefreshTokenFamilyModel(
+                    refreshTokenModel, refreshTokenModel.getRefreshToken()))
+            .ignoreElement());
+  }
+
   private Single<OidcTokenResponseDto> clientCredentialsFlow(
-      TokenRequestDto requestDto, String tenantId, String authorizationHeader) {
+      TokenRequestDto requestDto, TenantEntry tenant, String authorizationHeader) {
+    String tenantId = tenant.tenantConfig().getTenantId();
     return authenticateClient(requestDto, tenantId, authorizationHeader)
         .map(
             clientId -> {
@@ -171,28 +200,78 @@ public class OidcTokenService {
               return clientId;
             })
         .flatMap(
-            clientId -> getAllowedScopes(requestDto.getClientId(), tenantId, requestDto.getScope()))
-        .flatMap(
+            clientId ->
+                clientCredentialsTokenCache
+                    .get(tenant.tenantConfig(), clientId, requestDto.getScope())
+                    .switchIfEmpty(
+                        Single.defer(() -> issueClientCredentialsTokens(requestDto, tenant))));
+  }
+
+  private Single<OidcTokenResponseDto> issueClientCredentialsTokens(
+      TokenRequestDto requestDto, TenantEntry tenant) {
+    String tenantId = tenant.tenantConfig().getTenantId();
+    return getAllowedScopes(requestDto.getClientId(), tenantId, requestDto.getScope())
+        .map(
             allowedScopes ->
-                generateOidcTokensForClientCredentialsFlow(
-                    getGenerateOidcTokenDto(requestDto.getClientId(), allowedScopes, tenantId)));
+                getGenerateOidcTokenDto(requestDto.getClientId(), allowedScopes, tenantId))
+        .flatMap(
+            generateOidcTokenDto ->
+                generateOidcTokensForClientCredentialsFlow(generateOidcTokenDto, tenant)
+                    .doOnSuccess(
+                        tokenResponseDto ->
+                            clientCredentialsTokenCache.put(
+                                tenant.tenantConfig(),
+                                requestDto.getClientId(),
+                                requestDto.getScope(),
+                                tokenResponseDto,
+                                generateOidcTokenDto.getIat())));
   }
 
   private Single<OidcTokenResponseDto> refreshTokenFlow(
       TokenRequestDto requestDto,
-      String tenantId,
+      TenantEntry tenant,
       String authorizationHeader,
       MultivaluedMap<String, String> headers) {
-    TenantConfig tenantConfig = registry.get(tenantId, TenantConfig.class);
+    TenantConfig tenantConfig = tenant.tenantConfig();
+    String tenantId = tenantConfig.getTenantId();
+    String familyId = getFamilyId(requestDto.getRefreshToken());
+    String newRefreshToken = generateOidcRefreshToken(familyId);
     return authenticateClient(requestDto, tenantId, authorizationHeader)
         .map(
             clientId -> {
               requestDto.setClientId(clientId);
               return clientId;
             })
-        .flatMap(clientId -> getOidcRefreshToken(requestDto, tenantId))
         .flatMap(
-            oidcRefreshTokenModel -> {
+            clientId -> rotateRefreshToken(requestDto, tenantId, familyId, newRefreshToken, true))
+        .flatMap(
+            oidcRefreshTokenModel ->
+                issueRefreshTokenFlowTokens(requestDto, oidcRefreshTokenModel, tenant, headers)
+                    .doOnSuccess(
+                        tokenResponseDto ->
+                            saveRotatedRefreshToken(requestDto, oidcRefreshTokenModel))
+                    .onErrorResumeNext(
+                        err ->
+                            oidcRefreshTokenFamilyDao
+                                .restore(
+                                    tenantId,
+                                    familyId,
+                                    getRefreshTokenHash(requestDto.getRefreshToken()),
+                                    getRftId(requestDto.getRefreshToken()),
+                                    getRefreshTokenHash(newRefreshToken))
+                                .onErrorComplete()
+                                .andThen(Single.error(err))));
+  }
+
+  private Single<OidcTokenResponseDto> issueRefreshTokenFlowTokens(
+      TokenRequestDto requestDto,
+      OidcRefreshTokenModel oidcRefreshTokenModel,
+      TenantEntry tenant,
+      MultivaluedMap<String, String> headers) {
+    TenantConfig tenantConfig = tenant.tenantConfig();
+    String tenantId = tenantConfig.getTenantId();
+    return Single.defer(
+            () -> {
               String scopes =
                   getValidScopes(
                       String.join(" ", oidcRefreshTokenModel.getScope()), requestDto.getScope());
@@ -216,7 +295,156 @@ public class OidcTokenService {
         .flatMap(
             generateOidcTokenDto ->
                 generateOidcTokensForRefreshTokenFlow(
-                    generateOidcTokenDto, requestDto.getRefreshToken()));
+                    generateOidcTokenDto, oidcRefreshTokenModel.getRefreshToken(), tenant));
+  }
+
+  /**
+   * Retires the presented refresh token in favour of the new one with a single Redis call and
+   * returns the model of the new token. Tokens issued before rotation are read from MySQL once and
+   * their family created with the new token as current. A token carrying a family whose Redis state
+   * is gone is rejected, its retired siblings may still look active in MySQL.
+   */
+  private Single<OidcRefreshTokenModel> rotateRefreshToken(
+      TokenRequestDto requestDto,
+      String tenantId,
+      String familyId,
+      String newRefreshToken,
+      boolean createFamily) {
+    return oidcRefreshTokenFamilyDao
+        .rotate(
+            tenantId,
+            familyId,
+            requestDto.getClientId(),
+            getRefreshTokenHash(requestDto.getRefreshToken()),
+            getRefreshTokenHash(newRefreshToken),
+            getRftId(newRefreshToken))
+        .flatMap(
+            rotation ->
+                switch (rotation.status()) {
+                  case ROTATED -> Single.just(
+                      getRotatedRefreshTokenModel(
+                          requestDto,
+                          tenantId,
+                          familyId,
+                          newRefreshToken,
+                          rotation.userId(),
+                          rotation.scope(),
+                          rotation.refreshTokenExp()));
+                  case REUSED -> revokeReusedRefreshTokenFamily(
+                      tenantId, familyId, rotation.rftId());
+                  case UNKNOWN -> createFamily && !hasFamily(requestDto.getRefreshToken())
+                      ? createRefreshTokenFamily(requestDto, tenantId, familyId, newRefreshToken)
+                      : Single.error(
+                          INVALID_GRANT.getJsonCustomException("refresh_token is invalid"));
+                  default -> Single.error(
+                      INVALID_GRANT.getJsonCustomException("refresh_token is invalid"));
+                })
+        .filter(
+            oidcRefreshTokenModel ->
+                oidcRefreshTokenModel.getRefreshTokenExp() > getCurrentTimeInSeconds())
+        .switchIfEmpty(
+            Single.error(INVALID_GRANT.getJsonCustomException("refresh_token is expired")));
+  }
+
+  // When another refresh of the same token created the family first, rotating against it tells
+  // whether this one is a reuse. The MySQL row is deactivated before responding, so the token cannot
+  // start another family should Redis lose this one
+  private Single<OidcRefreshTokenModel> createRefreshTokenFamily(
+      TokenRequestDto requestDto, String tenantId, String familyId, String newRefreshToken) {
+    return getOidcRefreshToken(requestDto, tenantId)
+        .map(
+            oidcRefreshTokenModel ->
+                getRotatedRefreshTokenModel(
+                    requestDto,
+                    tenantId,
+                    familyId,
+                    newRefreshToken,
+                    oidcRefreshTokenModel.getUserId(),
+                    oidcRefreshTokenModel.getScope(),
+                    oidcRefreshTokenModel.getRefreshTokenExp()))
+        .flatMap(
+            oidcRefreshTokenModel ->
+                oidcRefreshTokenFamilyDao
+                    .createFamily(
+                        getOidcRefreshTokenFamilyModel(oidcRefreshTokenModel, newRefreshToken))
+                    .flatMap(
+                        created ->
+                            created
+                                ? oidcRefreshTokenDao
+                                    .revokeOidcRefreshToken(
+                                        tenantId,
+                                        requestDto.getClientId(),
+                                        requestDto.getRefreshToken())
+                                    .map(revoked -> oidcRefreshTokenModel)
+                                : rotateRefreshToken(
+                                    requestDto, tenantId, familyId, newRefreshToken, false)));
+  }
+
+  private Single<OidcRefreshTokenModel> revokeReusedRefreshTokenFamily(
+      String tenantId, String familyId, String rftId) {
+    return Single.defer(
+        () -> {
+          log.warn("Rotated OIDC refresh token reused, revoking family {}", familyId);
+          authorizationService
+              .revokeRftIds(List.of(rftId), tenantId)
+              .subscribe(
+                  () -> {},
+                  err -> log.error("Failed to revoke OIDC refresh token family {}", familyId, err));
+          oidcRefreshTokenDao
+              .revokeOidcRefreshTokenFamily(tenantId, familyId)
+              .subscribe(
+                  rows -> {},
+                  err -> log.error("Failed to revoke OIDC refresh token family {}", familyId, err));
+          return Single.error(INVALID_GRANT.getJsonCustomException("refresh_token is invalid"));
+        });
+  }
+
+  private Single<List<String>> revokeRefreshTokenFamily(
+      String tenantId, String familyId, String clientId) {
+    return oidcRefreshTokenFamilyDao
+        .revokeFamily(tenantId, familyId, clientId)
+        .flatMapSingle(
+            rftId ->
+                oidcRefreshTokenDao
+                    .revokeOidcRefreshTokenFamily(tenantId, familyId)
+                    .map(rows -> List.of(rftId)))
+        .defaultIfEmpty(List.of());
+  }
+
+  // Redis already holds the new token as current, MySQL is only read when Redis lost the family
+  private void saveRotatedRefreshToken(
+      TokenRequestDto requestDto, OidcRefreshTokenModel oidcRefreshTokenModel) {
+    Completable.mergeArray(
+            oidcRefreshTokenDao
+                .revokeOidcRefreshToken(
+                    oidcRefreshTokenModel.getTenantId(),
+                    oidcRefreshTokenModel.getClientId(),
+                    requestDto.getRefreshToken())
+                .ignoreElement(),
+            oidcRefreshTokenDao.saveOidcRefreshToken(oidcRefreshTokenModel))
+        .subscribe(
+            () -> {},
+            err ->
+                log.error(
+                    "Failed to save rotated OIDC refresh token of family {}",
+                    oidcRefreshTokenModel.getFamilyId(),
+                    err));
+  }
+
+  private String generateOidcRefreshToken(String familyId) {
+    return familyId + FAMILY_ID_SEPARATOR + tokenIssuer.generateRefreshToken();
+  }
+
+  // Tokens issued before rotation carry no family, theirs is derived from the token
+  private String getFamilyId(String refreshToken) {
+    if (hasFamily(refreshToken)) {
+      return refreshToken.substring(0, FAMILY_ID_LENGTH);
+    }
+    return getRefreshTokenHash(refreshToken).substring(0, FAMILY_ID_LENGTH);
+  }
+
+  private boolean hasFamily(String refreshToken) {
+    return refreshToken.indexOf(FAMILY_ID_SEPARATOR) == FAMILY_ID_LENGTH;
   }
 
   private Single<String> authenticateClient(
@@ -278,17 +506,11 @@ public class OidcTokenService {
   }
 
   private Single<String> getAllowedScopes(String clientId, String tenantId, String requestScopes) {
-    return clientScopeService
-        .getClientScopes(clientId, tenantId)
+    return scopeCatalog
+        .get(tenantId)
         .map(
-            clientScopeModels -> {
-              String allowedScopes =
-                  clientScopeModels.stream()
-                      .map(ClientScopeModel::getScope)
-                      .collect(Collectors.joining(" "));
-
-              return getValidScopes(allowedScopes, requestScopes);
-            });
+            scopes ->
+                getValidScopes(String.join(" ", scopes.getClientScopes(clientId)), requestScopes));
   }
 
   private String getValidScopes(String allowedScopes, String requestedScopes) {
@@ -306,13 +528,13 @@ public class OidcTokenService {
   }
 
   private Single<OidcTokenResponseDto> generateOidcTokensForAuthorizationCodeFlow(
-      GenerateOidcTokenDto generateOidcTokenDto) {
+      GenerateOidcTokenDto generateOidcTokenDto, TenantEntry tenant) {
 
-    TenantConfig tenantConfig =
-        registry.get(generateOidcTokenDto.getTenantId(), TenantConfig.class);
+    TenantConfig tenantConfig = tenant.tenantConfig();
     TokenConfig tokenConfig = tenantConfig.getTokenConfig();
     OidcConfig oidcConfig = tenantConfig.getOidcConfig();
-    String refreshToken = tokenIssuer.generateRefreshToken();
+    String refreshToken =
+        generateOidcRefreshToken(RandomStringUtils.randomAlphanumeric(FAMILY_ID_LENGTH));
 
     Map<String, Object> accessTokenClaims =
         getAccessTokenClaims(
@@ -339,35 +561,28 @@ public class OidcTokenService {
             generateOidcTokenDto.getNonce(),
             generateOidcTokenDto.getUserId());
 
-    return scopeService
-        .getScopes(
-            generateOidcTokenDto.getTenantId(), createScopeRequest(generateOidcTokenDto.getScope()))
+    return scopeCatalog
+        .get(generateOidcTokenDto.getTenantId())
         .map(
-            scopeModels ->
-                scopeModels.stream().map(ScopeModel::getClaims).flatMap(List::stream).toList())
+            scopes ->
+                scopes.getClaims(
+                    Arrays.asList(generateOidcTokenDto.getScope().trim().split("\\s+"))))
         .flatMap(
             claims ->
-                Single.zip(
-                    tokenIssuer.generateAccessToken(
-                        accessTokenClaimsWithAdditionalInfo, generateOidcTokenDto.getTenantId()),
-                    tokenIssuer.generateIdToken(
-                        idTokenClaims,
-                        generateOidcTokenDto.getUserResponse(),
-                        generateOidcTokenDto.getTenantId(),
-                        claims),
-                    (accessToken, idToken) ->
-                        buildTokenResponse(
-                            accessToken,
-                            idToken,
-                            refreshToken,
-                            tokenConfig.getAccessTokenExpiry(),
-                            String.join(" ", generateOidcTokenDto.getScope()))));
-  }
-
-  private GetScopeRequestDto createScopeRequest(String scope) {
-    GetScopeRequestDto scopeRequest = new GetScopeRequestDto();
-    scopeRequest.setNames(Arrays.asList(scope.trim().split("\\s+")));
-    return scopeRequest;
+                tokenIssuer.signTokens(
+                    List.of(
+                        tokenIssuer.buildAccessToken(accessTokenClaimsWithAdditionalInfo),
+                        tokenIssuer.buildIdToken(
+                            idTokenClaims, generateOidcTokenDto.getUserResponse(), claims)),
+                    tenant))
+        .map(
+            tokens ->
+                buildTokenResponse(
+                    tokens.get(0),
+                    tokens.get(1),
+                    refreshToken,
+                    tokenConfig.getAccessTokenExpiry(),
+                    String.join(" ", generateOidcTokenDto.getScope())));
   }
 
   private OidcTokenResponseDto buildTokenResponse(
@@ -383,10 +598,9 @@ public class OidcTokenService {
   }
 
   private Single<OidcTokenResponseDto> generateOidcTokensForClientCredentialsFlow(
-      GenerateOidcTokenDto generateOidcTokenDto) {
+      GenerateOidcTokenDto generateOidcTokenDto, TenantEntry tenant) {
 
-    TenantConfig tenantConfig =
-        registry.get(generateOidcTokenDto.getTenantId(), TenantConfig.class);
+    TenantConfig tenantConfig = tenant.tenantConfig();
     TokenConfig tokenConfig = tenantConfig.getTokenConfig();
     OidcConfig oidcConfig = tenantConfig.getOidcConfig();
 
@@ -403,7 +617,7 @@ public class OidcTokenService {
             tenantConfig.getTenantId());
 
     return tokenIssuer
-        .generateAccessToken(accessTokenClaims, generateOidcTokenDto.getTenantId())
+        .generateAccessToken(accessTokenClaims, tenant)
         .map(
             accessToken ->
                 OidcTokenResponseDto.builder()
@@ -415,10 +629,9 @@ public class OidcTokenService {
   }
 
   private Single<OidcTokenResponseDto> generateOidcTokensForRefreshTokenFlow(
-      GenerateOidcTokenDto generateOidcTokenDto, String refreshToken) {
+      GenerateOidcTokenDto generateOidcTokenDto, String refreshToken, TenantEntry tenant) {
 
-    TenantConfig tenantConfig =
-        registry.get(generateOidcTokenDto.getTenantId(), TenantConfig.class);
+    TenantConfig tenantConfig = tenant.tenantConfig();
 
     TokenConfig tokenConfig = tenantConfig.getTokenConfig();
     OidcConfig oidcConfig = tenantConfig.getOidcConfig();
@@ -439,7 +652,7 @@ public class OidcTokenService {
         appendAdditionalAccessTokenClaims(
             accessTokenClaims, generateOidcTokenDto.getUserResponse(), tenantConfig);
     return tokenIssuer
-        .generateAccessToken(accessTokenClaims, generateOidcTokenDto.getTenantId())
+        .generateAccessToken(accessTokenClaims, tenant)
         .map(
             accessToken ->
                 OidcTokenResponseDto.builder()
@@ -523,10 +736,9 @@ public class OidcTokenService {
   }
 
   private OidcRefreshTokenModel getOidcRefreshTokenModel(
-      OidcTokenResponseDto tokenResponseDto, GenerateOidcTokenDto generateOidcTokenDto) {
-
-    TenantConfig tenantConfig =
-        registry.get(generateOidcTokenDto.getTenantId(), TenantConfig.class);
+      OidcTokenResponseDto tokenResponseDto,
+      GenerateOidcTokenDto generateOidcTokenDto,
+      TenantConfig tenantConfig) {
     TokenConfig tokenConfig = tenantConfig.getTokenConfig();
 
     return OidcRefreshTokenModel.builder()
@@ -534,6 +746,7 @@ public class OidcTokenService {
         .clientId(generateOidcTokenDto.getClientId())
         .userId(generateOidcTokenDto.getUserId())
         .refreshToken(tokenResponseDto.getRefreshToken())
+        .familyId(getFamilyId(tokenResponseDto.getRefreshToken()))
         .refreshTokenExp(generateOidcTokenDto.getIat() + tokenConfig.getRefreshTokenExpiry())
         .scope(Arrays.asList(generateOidcTokenDto.getScope().trim().split("\\s+")))
         .deviceName(generateOidcTokenDto.getDeviceName())
@@ -541,6 +754,41 @@ public class OidcTokenService {
         .build();
   }
 
+  private OidcRefreshTokenModel getRotatedRefreshTokenModel(
+      TokenRequestDto requestDto,
+      String tenantId,
+      String familyId,
+      String newRefreshToken,
+      String userId,
+      List<String> scope,
+      long refreshTokenExp) {
+    return OidcRefreshTokenModel.builder()
+        .tenantId(tenantId)
+        .clientId(requestDto.getClientId())
+        .userId(userId)
+        .refreshToken(newRefreshToken)
+        .familyId(familyId)
+        .refreshTokenExp(refreshTokenExp)
+        .scope(scope)
+        .deviceName(requestDto.getDeviceName())
+        .ip(requestDto.getIp())
+        .build();
+  }
+
+  private OidcRefreshTokenFamilyModel getOidcRefreshTokenFamilyModel(
+      OidcRefreshTokenModel refreshTokenModel, String currentRefreshToken) {
+    return OidcRefreshTokenFamilyModel.builder()
+        .tenantId(refreshTokenModel.getTenantId())
+        .familyId(refreshTokenModel.getFamilyId())
+        .clientId(refreshTokenModel.getClientId())
+        .userId(refreshTokenModel.getUserId())
+        .tokenHash(getRefreshTokenHash(currentRefreshToken))
+        .rftId(getRftId(currentRefreshToken))
+        .scope(refreshTokenModel.getScope())
+        .refreshTokenExp(refreshTokenModel.getRefreshTokenExp())
+        .build();
+  }
+
   private Map<String, Object> getAccessTokenClaims(
       String aud,
       String clientId,
@@ -588,7 +836,7 @@ public class OidcTokenService {
     return INVALID_CLIENT
         .setHeaders(
             getFailedAuthenticationHeaders(
-                registry.get(tenantId, TenantConfig.class).getOidcConfig().getIssuer()))
+                registry.getTenantConfig(tenantId).getOidcConfig().getIssuer()))
         .getJsonException();
   }
 
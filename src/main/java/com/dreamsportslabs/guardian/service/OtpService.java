@@ -11,7 +11,6 @@ import static com.dreamsportslabs.guardian.exception.ErrorEnum.SMS_SERVICE_ERROR
 
 import com.dreamsportslabs.guardian.config.tenant.EmailConfig;
 import com.dreamsportslabs.guardian.config.tenant.SmsConfig;
-import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.constant.Channel;
 import com.dreamsportslabs.guardian.constant.Contact;
 import com.dreamsportslabs.guardian.registry.Registry;
@@ -49,7 +48,7 @@ public class OtpService {
 
   public Completable sendOtpViaSms(
       Contact contact, MultivaluedMap<String, String> headers, String tenantId) {
-    SmsConfig config = registry.get(tenantId, TenantConfig.class).getSmsConfig();
+    SmsConfig config = registry.getTenantConfig(tenantId).getSmsConfig();
     return webClient
         .post(config.getPort(), config.getHost(), config.getSendSmsPath())
         .ssl(config.isSslEnabled())
@@ -73,7 +72,7 @@ public class OtpService {
 
   public Completable sendOtpViaEmail(
       Contact contact, MultivaluedMap<String, String> headers, String tenantId) {
-    EmailConfig config = registry.get(tenantId, TenantConfig.class).getEmailConfig();
+    EmailConfig config = registry.getTenantConfig(tenantId).getEmailConfig();
     return webClient
         .post(config.getPort(), config.getHost(), config.getSendEmailPath())
         .ssl(config.isSslEnabled())
@@ -95,7 +95,7 @@ public class Passwordless {
   }
 
   private void updateDefaultTemplate(V1PasswordlessInitRequestDto requestDto, String tenantId) {
-    TenantConfig tenantConfig = registry.get(tenantId, TenantConfig.class);
+    TenantConfig tenantConfig = registry.getTenantConfig(tenantId);
     for (Contact contact : requestDto.getContacts()) {
       OtpUtils.updateContactTemplate(
           tenantConfig.getSmsConfig(), tenantConfig.getEmailConfig(), contact);
@@ -132,7 +132,7 @@ public class Passwordless {
         .getUser(userFilters, headers, tenantId)
         .map(
             user -> {
-              OtpConfig config = registry.get(tenantId, TenantConfig.class).getOtpConfig();
+              OtpConfig config = registry.getTenantConfig(tenantId).getOtpConfig();
               Map<String, String> h = new HashMap<>();
               headers.forEach((key, val) -> h.put(key, val.get(0)));
               return PasswordlessModel.builder()
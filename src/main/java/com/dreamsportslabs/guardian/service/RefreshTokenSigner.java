@@ -0,0 +1,117 @@
+package com.dreamsportslabs.guardian.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import io.vertx.core.json.JsonObject;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Issues and verifies self-contained refresh tokens of the form {@code grt1.<payload>.<mac>}. The
+ * payload is the base64url JSON of the tenant, user, expiry and a random id, the mac is its
+ * HMAC-SHA256 keyed by a server side key. Revocation is not part of the token, callers check the
+ * revocation set of the tenant. Without a key the signer is disabled, it issues nothing and rejects
+ * every token.
+ */
+public class RefreshTokenSigner {
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final String PREFIX = "grt1.";
+  private static final String SEPARATOR = ".";
+  private static final String CLAIM_TENANT = "tid";
+  private static final String CLAIM_SUBJECT = "sub";
+  private static final String CLAIM_EXPIRY = "exp";
+  private static final String CLAIM_ID = "jti";
+  private static final int MIN_KEY_LENGTH = 32;
+  private static final String DEFAULT_KEY = "guardian-refresh-token-signing-key";
+
+  private final SecretKeySpec key;
+  private final ThreadLocal<Mac> mac;
+
+  public RefreshTokenSigner(String signingKey) {
+    if (StringUtils.isBlank(signingKey)) {
+      this.key = null;
+    } else if (signingKey.getBytes(UTF_8).length < MIN_KEY_LENGTH
+        || DEFAULT_KEY.equals(signingKey)) {
+      throw new IllegalArgumentException(
+          "Refresh token signing key must be a private value of at least "
+              + MIN_KEY_LENGTH
+              + " bytes");
+    } else {
+      this.key = new SecretKeySpec(signingKey.getBytes(UTF_8), ALGORITHM);
+    }
+    this.mac = ThreadLocal.withInitial(this::newMac);
+  }
+
+  public boolean isEnabled() {
+    return key != null;
+  }
+
+  public String sign(String tenantId, String userId, long expiry) {
+    if (!isEnabled()) {
+      throw new IllegalStateException("Refresh token signing key is not configured");
+    }
+    JsonObject payload =
+        new JsonObject()
+            .put(CLAIM_TENANT, tenantId)
+            .put(CLAIM_SUBJECT, userId)
+            .put(CLAIM_EXPIRY, expiry)
+            .put(CLAIM_ID, RandomStringUtils.randomAlphanumeric(16));
+    String signedPart = PREFIX + encode(payload.encode().getBytes(UTF_8));
+    return signedPart + SEPARATOR + encode(mac.get().doFinal(signedPart.getBytes(UTF_8)));
+  }
+
+  public boolean isSigned(String refreshToken) {
+    return refreshToken.startsWith(PREFIX);
+  }
+
+  /**
+   * Returns the user of a token issued for the tenant with a valid mac that has not expired, null
+   * otherwise.
+   */
+  public String verify(String refreshToken, String tenantId, long now) {
+    int macStart = refreshToken.lastIndexOf(SEPARATOR);
+    if (!isEnabled() || !isSigned(refreshToken) || macStart < PREFIX.length()) {
+      return null;
+    }
+
+    String signedPart = refreshToken.substring(0, macStart);
+    byte[] expected = mac.get().doFinal(signedPart.getBytes(UTF_8));
+    try {
+      byte[] presented = Base64.getUrlDecoder().decode(refreshToken.substring(macStart + 1));
+      if (!MessageDigest.isEqual(expected, presented)) {
+        return null;
+      }
+
+      JsonObject payload =
+          new JsonObject(
+              new String(
+                  Base64.getUrlDecoder().decode(signedPart.substring(PREFIX.length())), UTF_8));
+      if (!tenantId.equals(payload.getString(CLAIM_TENANT))
+          || payload.getLong(CLAIM_EXPIRY) <= now) {
+        return null;
+      }
+      return payload.getString(CLAIM_SUBJECT);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static String encode(byte[] bytes) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  private Mac newMac() {
+    try {
+      Mac instance = Mac.getInstance(ALGORITHM);
+      instance.init(key);
+      return instance;
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to initialize " + ALGORITHM, e);
+    }
+  }
+}
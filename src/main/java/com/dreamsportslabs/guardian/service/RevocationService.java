@@ -22,7 +22,7 @@ public class RevocationService {
 
   public Single<RevocationsResponseDto> getRevocations(
       RevocationRequestDto requestDto, String tenantId) {
-    TenantConfig config = registry.get(tenantId, TenantConfig.class);
+    TenantConfig config = registry.getTenantConfig(tenantId);
 
     Integer accessTokenExpiry = config.getTokenConfig().getAccessTokenExpiry();
     requestDto.validate(accessTokenExpiry);
@@ -1,6 +1,7 @@
 package com.dreamsportslabs.guardian.service;
 
 import static com.dreamsportslabs.guardian.constant.Constants.FORMAT_PEM;
+import static com.dreamsportslabs.guardian.constant.Constants.KEY_TYPE_EC;
 
 import com.dreamsportslabs.guardian.dto.request.GenerateRsaKeyRequestDto;
 import com.dreamsportslabs.guardian.dto.response.RsaKeyResponseDto;
@@ -16,7 +17,10 @@ import lombok.extern.slf4j.Slf4j;
 public class RsaKeyPairGeneratorService {
 
   public RsaKeyResponseDto generateKey(GenerateRsaKeyRequestDto request) {
-    KeyPair keyPair = getRsaKeyPair(request.getKeySize());
+    KeyPair keyPair =
+        KEY_TYPE_EC.equals(request.getKeyType())
+            ? getEcKeyPair(request.getKeySize())
+            : getRsaKeyPair(request.getKeySize());
 
     JSONWebKey publicJsonWebKey = JSONWebKey.build(keyPair.publicKey);
     JSONWebKey privateJsonWebKey = JSONWebKey.build(keyPair.privateKey);
@@ -56,4 +60,21 @@ public class RsaKeyPairGeneratorService {
       }
     };
   }
+
+  private KeyPair getEcKeyPair(Integer keySize) {
+    return switch (keySize) {
+      case 521 -> {
+        log.debug("Generating P-521 EC key pair");
+        yield JWTUtils.generate521_ECKeyPair();
+      }
+      case 384 -> {
+        log.debug("Generating P-384 EC key pair");
+        yield JWTUtils.generate384_ECKeyPair();
+      }
+      default -> {
+        log.debug("Generating P-256 EC key pair");
+        yield JWTUtils.generate256_ECKeyPair();
+      }
+    };
+  }
 }
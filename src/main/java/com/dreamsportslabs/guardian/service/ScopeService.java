@@ -1,14 +1,18 @@
 package com.dreamsportslabs.guardian.service;
 
+import static com.dreamsportslabs.guardian.cache.CacheInvalidator.SCOPE_CHANNEL;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INTERNAL_SERVER_ERROR;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.SCOPE_NOT_FOUND;
 
+import com.dreamsportslabs.guardian.cache.CacheInvalidator;
+import com.dreamsportslabs.guardian.cache.ScopeCatalog;
 import com.dreamsportslabs.guardian.dao.ScopeDao;
 import com.dreamsportslabs.guardian.dao.model.ScopeModel;
 import com.dreamsportslabs.guardian.dto.request.scope.CreateScopeRequestDto;
 import com.dreamsportslabs.guardian.dto.request.scope.GetScopeRequestDto;
 import com.dreamsportslabs.guardian.dto.request.scope.UpdateScopeRequestDto;
 import com.google.inject.Inject;
+import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +22,8 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class ScopeService {
   private final ScopeDao scopeDao;
+  private final ScopeCatalog scopeCatalog;
+  private final CacheInvalidator cacheInvalidator;
 
   public Single<List<ScopeModel>> getScopes(
       String tenantId, GetScopeRequestDto getScopeRequestDto) {
@@ -28,7 +34,9 @@ public class ScopeService {
           (getScopeRequestDto.getPage() - 1) * getScopeRequestDto.getPageSize(),
           getScopeRequestDto.getPageSize());
     } else {
-      return scopeDao.getScopes(tenantId, getScopeRequestDto.getNames());
+      return scopeCatalog
+          .get(tenantId)
+          .map(scopes -> scopes.getScopes(getScopeRequestDto.getNames()));
     }
   }
 
@@ -44,17 +52,22 @@ public class ScopeService {
             .isOidc(requestDto.getIsOidc())
             .build();
 
-    return scopeDao.saveScope(scopeModel);
+    return scopeDao
+        .saveScope(scopeModel)
+        .flatMap(saved -> invalidateCatalog(tenantId).toSingleDefault(saved));
   }
 
   public Single<Boolean> deleteScope(String tenantId, String name) {
-    return scopeDao.deleteScope(tenantId, name);
+    return scopeDao
+        .deleteScope(tenantId, name)
+        .flatMap(deleted -> invalidateCatalog(tenantId).toSingleDefault(deleted));
   }
 
   public Single<ScopeModel> updateScope(
       String tenantId, String name, UpdateScopeRequestDto requestDto) {
-    return scopeDao
-        .getScopes(tenantId, List.of(name))
+    return scopeCatalog
+        .get(tenantId)
+        .map(scopes -> scopes.getScopes(List.of(name)))
         .filter(existingScopes -> !existingScopes.isEmpty())
         .switchIfEmpty(Single.error(SCOPE_NOT_FOUND.getException()))
         .flatMap(
@@ -69,7 +82,20 @@ public class ScopeService {
                           }
                           return buildUpdatedScopeModel(
                               scopeModels.get(0), requestDto, tenantId, name);
-                        }));
+                        })
+                    .flatMap(updated -> invalidateCatalog(tenantId).toSingleDefault(updated)));
+  }
+
+  // Other nodes still serve the old scopes until their catalog expires if the publish fails
+  public Completable invalidateCatalog(String tenantId) {
+    return Completable.defer(
+        () -> {
+          scopeCatalog.invalidate(tenantId);
+          return cacheInvalidator
+              .publish(SCOPE_CHANNEL, tenantId)
+              .doOnError(e -> log.error("Failed to publish scope invalidation for {}", tenantId, e))
+              .onErrorComplete();
+        });
   }
 
   private ScopeModel buildUpdatedScopeModel(
@@ -26,8 +26,6 @@ import com.dreamsportslabs.guardian.dto.UserDto;
 import com.dreamsportslabs.guardian.dto.request.V1AuthFbRequestDto;
 import com.dreamsportslabs.guardian.dto.request.V1AuthGoogleRequestDto;
 import com.dreamsportslabs.guardian.registry.Registry;
-import com.dreamsportslabs.guardian.service.impl.idproviders.FacebookIdProvider;
-import com.dreamsportslabs.guardian.service.impl.idproviders.GoogleIdProvider;
 import com.google.inject.Inject;
 import io.reactivex.rxjava3.core.Single;
 import io.vertx.core.json.JsonObject;
@@ -59,7 +57,7 @@ public class SocialAuthService {
   public Single<Object> authFb(
       V1AuthFbRequestDto dto, MultivaluedMap<String, String> headers, String tenantId) {
     return registry
-        .get(tenantId, FacebookIdProvider.class)
+        .getFacebookIdProvider(tenantId)
         .getUserIdentity(dto.getAccessToken())
         .flatMap(
             fbUserData -> {
@@ -144,7 +142,7 @@ public class SocialAuthService {
   public Single<Object> authGoogle(
       V1AuthGoogleRequestDto dto, MultivaluedMap<String, String> headers, String tenantId) {
     return registry
-        .get(tenantId, GoogleIdProvider.class)
+        .getGoogleIdProvider(tenantId)
         .getUserIdentity(dto.getIdToken())
         .flatMap(
             googleUserData -> {
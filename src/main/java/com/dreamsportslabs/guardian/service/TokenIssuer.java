@@ -6,14 +6,17 @@ import static com.dreamsportslabs.guardian.constant.Constants.TYP_JWT_ACCESS_TOK
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INTERNAL_SERVER_ERROR;
 
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
+import com.dreamsportslabs.guardian.config.tenant.TokenConfig;
 import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.registry.TenantEntry;
 import com.google.inject.Inject;
 import io.fusionauth.jwt.JWTEncoder;
+import io.fusionauth.jwt.Signer;
 import io.fusionauth.jwt.domain.JWT;
-import io.fusionauth.jwt.rsa.RSASigner;
 import io.reactivex.rxjava3.core.Single;
 import io.vertx.core.json.JsonObject;
-import io.vertx.rxjava3.core.Vertx;
+import jakarta.ws.rs.WebApplicationException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,19 +27,26 @@ import org.apache.commons.lang3.RandomStringUtils;
 @Slf4j
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class TokenIssuer {
-  private final Vertx vertx;
   private final JWTEncoder encoder = JWT.getEncoder();
   private final Registry registry;
+  private final TokenSigningExecutor tokenSigningExecutor;
+  private final RefreshTokenSigner refreshTokenSigner;
 
-  public Single<String> generateIdToken(
-      Map<String, Object> claims, JsonObject user, String tenantId) {
-    TenantConfig tenantConfig = registry.get(tenantId, TenantConfig.class);
-    return generateIdToken(
-        claims, user, tenantId, tenantConfig.getTokenConfig().getIdTokenClaims());
+  public Single<String> generateAccessToken(Map<String, Object> claims, String tenantId) {
+    return signTokens(List.of(buildAccessToken(claims)), tenantId).map(tokens -> tokens.get(0));
+  }
+
+  public Single<String> generateAccessToken(Map<String, Object> claims, TenantEntry tenant) {
+    return signTokens(List.of(buildAccessToken(claims)), tenant).map(tokens -> tokens.get(0));
+  }
+
+  public UnsignedToken buildIdToken(Map<String, Object> claims, JsonObject user, String tenantId) {
+    TenantConfig tenantConfig = registry.getTenantConfig(tenantId);
+    return buildIdToken(claims, user, tenantConfig.getTokenConfig().getIdTokenClaims());
   }
 
-  public Single<String> generateIdToken(
-      Map<String, Object> claims, JsonObject user, String tenantId, List<String> idTokenClaims) {
+  public UnsignedToken buildIdToken(
+      Map<String, Object> claims, JsonObject user, List<String> idTokenClaims) {
     JWT jwt = new JWT();
     for (Map.Entry<String, Object> claim : claims.entrySet()) {
       jwt.addClaim(claim.getKey(), claim.getValue());
@@ -47,10 +57,10 @@ public class TokenIssuer {
         jwt.addClaim(claim, value);
       }
     }
-    return signToken(jwt, tenantId);
+    return new UnsignedToken(jwt, Map.of());
   }
 
-  public Single<String> generateAccessToken(Map<String, Object> claims, String tenantId) {
+  public UnsignedToken buildAccessToken(Map<String, Object> claims) {
     JWT jwt = new JWT();
     for (Map.Entry<String, Object> claim : claims.entrySet()) {
       jwt.addClaim(claim.getKey(), claim.getValue());
@@ -58,36 +68,70 @@ public class TokenIssuer {
 
     Map<String, String> tokenHeaders = new HashMap<>();
     tokenHeaders.put(JWT_HEADERS_TYP, TYP_JWT_ACCESS_TOKEN);
-    return signToken(jwt, tenantId, tokenHeaders);
+    return new UnsignedToken(jwt, tokenHeaders);
   }
 
   public String generateRefreshToken() {
     return RandomStringUtils.randomAlphanumeric(32);
   }
 
-  private Single<String> signToken(JWT jwt, String tenantId) {
-    return signToken(jwt, tenantId, new HashMap<>());
+  /**
+   * Issues a self-contained token when the tenant opted in and a signing key is configured, an
+   * opaque one otherwise.
+   */
+  public String generateRefreshToken(TenantConfig config, String userId, long expiry) {
+    TokenConfig tokenConfig = config.getTokenConfig();
+    if (Boolean.TRUE.equals(tokenConfig.getSelfContainedRefreshToken())
+        && refreshTokenSigner.isEnabled()) {
+      return refreshTokenSigner.sign(config.getTenantId(), userId, expiry);
+    }
+    return generateRefreshToken();
+  }
+
+  /** Signs all tokens with the tenant's current signer in a single signing task. */
+  public Single<List<String>> signTokens(List<UnsignedToken> tokens, String tenantId) {
+    return signTokens(tokens, tenantId, registry.getSigner(tenantId));
+  }
+
+  public Single<List<String>> signTokens(List<UnsignedToken> tokens, TenantEntry tenant) {
+    return signTokens(tokens, tenant.tenantConfig().getTenantId(), tenant.signer());
+  }
+
+  private Single<List<String>> signTokens(
+      List<UnsignedToken> tokens, String tenantId, Signer signer) {
+    if (signer == null) {
+      return Single.error(INTERNAL_SERVER_ERROR.getException());
+    }
+
+    return tokenSigningExecutor
+        .sign(
+            tenantId,
+            signer.getAlgorithm().getName(),
+            () -> {
+              List<String> signedTokens = new ArrayList<>(tokens.size());
+              for (UnsignedToken token : tokens) {
+                signedTokens.add(encode(token, signer));
+              }
+              return signedTokens;
+            })
+        .onErrorResumeNext(
+            err ->
+                err instanceof WebApplicationException
+                    ? Single.error(err)
+                    : Single.error(INTERNAL_SERVER_ERROR.getException(err)));
   }
 
-  private Single<String> signToken(JWT jwt, String tenantId, Map<String, String> headers) {
-    return vertx
-        .rxExecuteBlocking(
-            future -> {
-              RSASigner signer = registry.get(tenantId, RSASigner.class);
-              future.complete(
-                  encoder.encode(
-                      jwt,
-                      signer,
-                      header -> {
-                        for (Map.Entry<String, String> entry : headers.entrySet()) {
-                          header.set(entry.getKey(), entry.getValue());
-                        }
-                        header.set(JWT_HEADERS_KID, signer.getKid());
-                      }));
-            },
-            false)
-        .switchIfEmpty(Single.error(INTERNAL_SERVER_ERROR.getException()))
-        .onErrorResumeNext(err -> Single.error(INTERNAL_SERVER_ERROR.getException(err)))
-        .map(String.class::cast);
+  private String encode(UnsignedToken token, Signer signer) {
+    return encoder.encode(
+        token.jwt(),
+        signer,
+        header -> {
+          for (Map.Entry<String, String> entry : token.headers().entrySet()) {
+            header.set(entry.getKey(), entry.getValue());
+          }
+          header.set(JWT_HEADERS_KID, signer.getKid());
+        });
   }
+
+  public record UnsignedToken(JWT jwt, Map<String, String> headers) {}
 }
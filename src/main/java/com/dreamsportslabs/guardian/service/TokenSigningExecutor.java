@@ -0,0 +1,143 @@
+package com.dreamsportslabs.guardian.service;
+
+import static com.dreamsportslabs.guardian.exception.ErrorEnum.SERVICE_UNAVAILABLE;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.core.SingleEmitter;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs JWT signing on a fixed size pool with a bounded queue so that signing load cannot starve the
+ * shared vert.x worker pool. Requests are rejected with 503 once the queue is full.
+ */
+@Slf4j
+public class TokenSigningExecutor {
+  private static final String THREAD_NAME_PREFIX = "token-signer-";
+  private static final String METRIC_QUEUE_DEPTH = "guardian.token.signing.queue.depth";
+  private static final String METRIC_LATENCY = "guardian.token.signing.latency";
+  private static final String METRIC_REJECTED = "guardian.token.signing.rejected";
+  private static final String TAG_TENANT = "tenant";
+  private static final String TAG_MODE = "mode";
+  private static final String MODE_POOL = "pool";
+  private static final String MODE_INLINE = "inline";
+
+  private final ThreadPoolExecutor executor;
+  private final Set<String> inlineAlgorithms;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, AtomicInteger> queueDepths = new ConcurrentHashMap<>();
+
+  public TokenSigningExecutor(
+      int poolSize, int queueSize, Set<String> inlineAlgorithms, MeterRegistry meterRegistry) {
+    this.executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            getThreadFactory(),
+            new ThreadPoolExecutor.AbortPolicy());
+    this.inlineAlgorithms = inlineAlgorithms;
+    this.meterRegistry = meterRegistry;
+    log.info(
+        "Token signing executor started with pool size: {}, queue size: {}, inline algorithms: {}",
+        poolSize,
+        queueSize,
+        inlineAlgorithms);
+  }
+
+  public <T> Single<T> sign(String tenantId, String algorithm, Callable<T> task) {
+    if (inlineAlgorithms.contains(algorithm)) {
+      return Single.fromCallable(() -> getLatencyTimer(tenantId, MODE_INLINE).recordCallable(task));
+    }
+
+    return Single.create(emitter -> submit(tenantId, task, emitter));
+  }
+
+  private <T> void submit(String tenantId, Callable<T> task, SingleEmitter<T> emitter) {
+    Context context = Vertx.currentContext();
+    AtomicInteger queueDepth = getQueueDepth(tenantId);
+    long submittedAt = System.nanoTime();
+
+    queueDepth.incrementAndGet();
+    try {
+      executor.execute(
+          () -> {
+            queueDepth.decrementAndGet();
+            try {
+              T result = task.call();
+              getLatencyTimer(tenantId, MODE_POOL)
+                  .record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+              complete(context, () -> emitter.onSuccess(result));
+            } catch (Exception e) {
+              complete(context, () -> emitter.onError(e));
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      queueDepth.decrementAndGet();
+      getRejectedCounter(tenantId).increment();
+      log.warn("Token signing queue is full, rejecting request for tenant: {}", tenantId);
+      emitter.onError(SERVICE_UNAVAILABLE.getException());
+    }
+  }
+
+  private void complete(Context context, Runnable callback) {
+    if (context == null) {
+      callback.run();
+    } else {
+      context.runOnContext(v -> callback.run());
+    }
+  }
+
+  private AtomicInteger getQueueDepth(String tenantId) {
+    return queueDepths.computeIfAbsent(
+        tenantId,
+        k -> {
+          AtomicInteger depth = new AtomicInteger();
+          Gauge.builder(METRIC_QUEUE_DEPTH, depth, AtomicInteger::get)
+              .tag(TAG_TENANT, k)
+              .register(meterRegistry);
+          return depth;
+        });
+  }
+
+  private Timer getLatencyTimer(String tenantId, String mode) {
+    return Timer.builder(METRIC_LATENCY)
+        .tag(TAG_TENANT, tenantId)
+        .tag(TAG_MODE, mode)
+        .register(meterRegistry);
+  }
+
+  private Counter getRejectedCounter(String tenantId) {
+    return Counter.builder(METRIC_REJECTED).tag(TAG_TENANT, tenantId).register(meterRegistry);
+  }
+
+  private ThreadFactory getThreadFactory() {
+    AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  public void close() {
+    executor.shutdown();
+  }
+}
@@ -1,17 +1,17 @@
 package com.dreamsportslabs.guardian.service;
 
+import static com.dreamsportslabs.guardian.constant.Constants.TYP_JWT_ACCESS_TOKEN;
 import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.INVALID_TOKEN;
-import static com.dreamsportslabs.guardian.utils.Utils.decodeJwtHeaders;
 
-import com.dreamsportslabs.guardian.config.tenant.RsaKey;
-import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.utils.JwtHeaderReader;
+import com.dreamsportslabs.guardian.utils.JwtHeaderReader.JwtHeader;
 import com.google.inject.Inject;
 import io.fusionauth.jwt.InvalidJWTSignatureException;
 import io.fusionauth.jwt.JWTDecoder;
 import io.fusionauth.jwt.JWTExpiredException;
+import io.fusionauth.jwt.Verifier;
 import io.fusionauth.jwt.domain.JWT;
-import io.fusionauth.jwt.rsa.RSAVerifier;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,28 +25,24 @@ public class TokenVerifier {
 
   public Map<String, Object> verifyAccessToken(String accessToken, String tenantId) {
 
-    Map<String, Object> jwtHeaders = decodeJwtHeaders(accessToken);
+    JwtHeader jwtHeader = JwtHeaderReader.read(accessToken);
 
-    String kid = (String) jwtHeaders.get("kid");
+    String kid = jwtHeader.kid();
     if (StringUtils.isBlank(kid)) {
       throw INVALID_TOKEN.getBearerAuthHeaderException("Invalid token: missing kid in headers");
     }
 
-    String typ = (String) jwtHeaders.get("typ");
-    if (typ == null || !typ.equals("at+jwt")) {
+    if (!TYP_JWT_ACCESS_TOKEN.equals(jwtHeader.typ())) {
       throw INVALID_TOKEN.getBearerAuthHeaderException("Invalid token type");
     }
 
-    TenantConfig tenantConfig = registry.get(tenantId, TenantConfig.class);
-
-    RsaKey rsaKey =
-        tenantConfig.getTokenConfig().getRsaKeys().stream()
-            .filter(RsaKey -> kid.equals(RsaKey.getKid()))
-            .findFirst()
-            .orElseThrow(() -> new RuntimeException("No RSA key found"));
+    Verifier verifier = registry.getTokenVerifiers(tenantId).get(kid);
+    if (verifier == null) {
+      throw new RuntimeException("No RSA key found");
+    }
 
     try {
-      JWT jwt = decoder.decode(accessToken, RSAVerifier.newVerifier(rsaKey.getPublicKey()));
+      JWT jwt = decoder.decode(accessToken, verifier);
       return jwt.getAllClaims();
     } catch (InvalidJWTSignatureException e) {
       throw INVALID_TOKEN.getBearerAuthHeaderException("Token Signature is invalid");
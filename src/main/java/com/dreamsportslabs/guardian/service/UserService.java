@@ -6,7 +6,6 @@ import static com.dreamsportslabs.guardian.constant.Constants.USERID;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INTERNAL_SERVER_ERROR;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.USER_SERVICE_ERROR;
 
-import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.config.tenant.UserConfig;
 import com.dreamsportslabs.guardian.dto.Provider;
 import com.dreamsportslabs.guardian.dto.UserDto;
@@ -33,7 +32,7 @@ public class UserService {
 
   public Single<JsonObject> getUser(
       Map<String, String> userFilters, MultivaluedMap<String, String> headers, String tenantId) {
-    UserConfig userConfig = registry.get(tenantId, TenantConfig.class).getUserConfig();
+    UserConfig userConfig = registry.getTenantConfig(tenantId).getUserConfig();
 
     HttpRequest<Buffer> request =
         webClient.get(userConfig.getPort(), userConfig.getHost(), userConfig.getGetUserPath());
@@ -60,7 +59,7 @@ public class UserService {
 
   public Single<JsonObject> createUser(
       UserDto dto, MultivaluedMap<String, String> headers, String tenantId) {
-    UserConfig userConfig = registry.get(tenantId, TenantConfig.class).getUserConfig();
+    UserConfig userConfig = registry.getTenantConfig(tenantId).getUserConfig();
     return webClient
         .post(userConfig.getPort(), userConfig.getHost(), userConfig.getCreateUserPath())
         .ssl(userConfig.getIsSslEnabled())
@@ -82,7 +81,7 @@ public class UserService {
 
   public Single<JsonObject> authenticate(
       UserDto dto, MultivaluedMap<String, String> headers, String tenantId) {
-    UserConfig userConfig = registry.get(tenantId, TenantConfig.class).getUserConfig();
+    UserConfig userConfig = registry.getTenantConfig(tenantId).getUserConfig();
     return webClient
         .post(userConfig.getPort(), userConfig.getHost(), userConfig.getAuthenticateUserPath())
         .ssl(userConfig.getIsSslEnabled())
@@ -103,7 +102,7 @@ public class UserService {
 
   public Completable addProvider(
       String userId, MultivaluedMap<String, String> headers, Provider provider, String tenantId) {
-    UserConfig userConfig = registry.get(tenantId, TenantConfig.class).getUserConfig();
+    UserConfig userConfig = registry.getTenantConfig(tenantId).getUserConfig();
     return webClient
         .post(userConfig.getPort(), userConfig.getHost(), userConfig.getAddProviderPath())
         .ssl(userConfig.getIsSslEnabled())
@@ -123,7 +122,7 @@ public class UserService {
 
   public Single<JsonObject> getOidcUser(
       Map<String, String> userFilters, MultivaluedMap<String, String> headers, String tenantId) {
-    UserConfig userConfig = registry.get(tenantId, TenantConfig.class).getUserConfig();
+    UserConfig userConfig = registry.getTenantConfig(tenantId).getUserConfig();
 
     HttpRequest<Buffer> request =
         webClient.get(userConfig.getPort(), userConfig.getHost(), userConfig.getGetUserPath());
@@ -1,50 +1,50 @@
 package com.dreamsportslabs.guardian.service.impl.idproviders;
 
+import static com.dreamsportslabs.guardian.constant.Constants.GOOGLE_ISSUERS;
+import static com.dreamsportslabs.guardian.constant.Constants.GOOGLE_JWKS_URL;
+import static com.dreamsportslabs.guardian.constant.Constants.OIDC_PROVIDERS_GOOGLE;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INVALID_REQUEST;
 
 import com.dreamsportslabs.guardian.config.tenant.GoogleConfig;
+import com.dreamsportslabs.guardian.injection.GuiceInjector;
+import com.dreamsportslabs.guardian.jwtVerifier.TokenVerifier;
 import com.dreamsportslabs.guardian.service.IdProvider;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import io.reactivex.rxjava3.core.Single;
 import io.vertx.core.json.JsonObject;
-import java.io.IOException;
-import java.security.GeneralSecurityException;
+import io.vertx.rxjava3.ext.web.client.WebClient;
 import java.util.Base64;
-import java.util.Collections;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class GoogleIdProvider implements IdProvider {
-  private final GoogleIdTokenVerifier verifier;
-
-  public GoogleIdProvider(GoogleConfig config) throws GeneralSecurityException, IOException {
-    verifier =
-        new GoogleIdTokenVerifier.Builder(
-                GoogleNetHttpTransport.newTrustedTransport(), GsonFactory.getDefaultInstance())
-            .setAudience(Collections.singletonList(config.getClientId()))
-            .build();
+  @Getter private final String clientId;
+  private final TokenVerifier verifier;
+
+  public GoogleIdProvider(String tenantId, GoogleConfig config) {
+    this.clientId = config.getClientId();
+    this.verifier =
+        new TokenVerifier(
+            GuiceInjector.getGuiceInjector().getInstance(WebClient.class),
+            GOOGLE_JWKS_URL,
+            GOOGLE_ISSUERS,
+            GuiceInjector.getGuiceInjector().getInstance(MeterRegistry.class),
+            Tags.of("tenant", tenantId, "provider", OIDC_PROVIDERS_GOOGLE));
   }
 
   @Override
   public Single<JsonObject> getUserIdentity(String idTokenString) {
-    GoogleIdToken idToken;
-
-    try {
-      idToken = verifier.verify(idTokenString);
-    } catch (Exception e) {
-      throw INVALID_REQUEST.getCustomException("Invalid id token");
-    }
-
-    if (idToken == null) {
-      throw INVALID_REQUEST.getCustomException("Invalid id token");
-    }
-
-    String[] parts = idTokenString.split("\\.");
-    String payloadJson = new String(Base64.getUrlDecoder().decode(parts[1]));
-
-    return Single.just(new JsonObject(payloadJson));
+    return verifier
+        .verify(idTokenString, clientId)
+        .map(
+            claims -> {
+              String[] parts = idTokenString.split("\\.");
+              String payloadJson = new String(Base64.getUrlDecoder().decode(parts[1]));
+              return new JsonObject(payloadJson);
+            })
+        .onErrorResumeNext(
+            e -> Single.error(INVALID_REQUEST.getCustomException("Invalid id token")));
   }
 }
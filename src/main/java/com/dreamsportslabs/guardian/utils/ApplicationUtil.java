@@ -1,6 +1,7 @@
 package com.dreamsportslabs.guardian.utils;
 
 import static com.dreamsportslabs.guardian.constant.Constants.SHUTDOWN_STATUS;
+import static com.dreamsportslabs.guardian.constant.Constants.TENANT_WARM_UP_STATUS;
 
 import io.vertx.core.Vertx;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -16,4 +17,13 @@ public class ApplicationUtil {
   public static AtomicBoolean getShutdownStatus(Vertx vertx) {
     return VertxUtil.getOrCreateSharedData(vertx, SHUTDOWN_STATUS, () -> new AtomicBoolean(false));
   }
+
+  public static void setTenantWarmUpStatus(Vertx vertx) {
+    getTenantWarmUpStatus(vertx).set(true);
+  }
+
+  public static AtomicBoolean getTenantWarmUpStatus(Vertx vertx) {
+    return VertxUtil.getOrCreateSharedData(
+        vertx, TENANT_WARM_UP_STATUS, () -> new AtomicBoolean(false));
+  }
 }
@@ -3,17 +3,27 @@ package com.dreamsportslabs.guardian.utils;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.UNPROCESSABLE_ENTITIES;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.rxjava3.sqlclient.Row;
 import io.vertx.rxjava3.sqlclient.RowSet;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,6 +42,17 @@ public final class JsonUtils {
           .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
           .build();
 
+  private static final ClassValue<ObjectReader> readers =
+      new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> clazz) {
+          return snakeCaseObjectMapper.readerFor(clazz);
+        }
+      };
+
+  // Same encoding Vert.x uses for binary values in JSON
+  private static final Base64.Encoder BASE64_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
   public static JsonObject getJsonObjectFromNestedJson(JsonObject json, String flattenedKey) {
     JsonObject cur = json;
     String[] keys = flattenedKey.split("\\.");
@@ -56,12 +77,76 @@ public final class JsonUtils {
       return list;
     }
 
+    // Column values are streamed into Jackson as tokens, skipping the JsonObject and its JSON text
+    ObjectReader reader = readers.get(clazz);
+    List<String> columns = rows.columnsNames();
+    int size = columns.size();
     for (Row row : rows) {
-      list.add(snakeCaseObjectMapper.readValue(row.toJson().toString(), clazz));
+      TokenBuffer buffer = new TokenBuffer(snakeCaseObjectMapper, false);
+      buffer.writeStartObject();
+      for (int pos = 0; pos < size; pos++) {
+        buffer.writeFieldName(columns.get(pos));
+        writeValue(buffer, row.getValue(pos));
+      }
+      buffer.writeEndObject();
+      list.add(reader.readValue(buffer.asParser()));
     }
     return list;
   }
 
+  @SneakyThrows
+  public static <T> T jsonToObject(Object json, Class<T> clazz) {
+    if (json instanceof JsonObject || json instanceof JsonArray) {
+      TokenBuffer buffer = new TokenBuffer(snakeCaseObjectMapper, false);
+      writeValue(buffer, json);
+      return readers.get(clazz).readValue(buffer.asParser());
+    }
+    return snakeCaseObjectMapper.readValue(json.toString(), clazz);
+  }
+
+  // Mirrors the conversions of Row.toJson followed by JsonObject.encode
+  private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else if (value instanceof String string) {
+      generator.writeString(string);
+    } else if (value instanceof Boolean bool) {
+      generator.writeBoolean(bool);
+    } else if (value instanceof Integer
+        || value instanceof Long
+        || value instanceof Short
+        || value instanceof Byte) {
+      generator.writeNumber(((Number) value).longValue());
+    } else if (value instanceof BigDecimal decimal) {
+      generator.writeNumber(decimal);
+    } else if (value instanceof BigInteger integer) {
+      generator.writeNumber(integer);
+    } else if (value instanceof Number number) {
+      generator.writeNumber(number.doubleValue());
+    } else if (value instanceof JsonObject object) {
+      generator.writeStartObject();
+      for (Map.Entry<String, Object> entry : object) {
+        generator.writeFieldName(entry.getKey());
+        writeValue(generator, entry.getValue());
+      }
+      generator.writeEndObject();
+    } else if (value instanceof JsonArray array) {
+      generator.writeStartArray();
+      for (Object element : array) {
+        writeValue(generator, element);
+      }
+      generator.writeEndArray();
+    } else if (value instanceof Map<?, ?> map) {
+      writeValue(generator, new JsonObject((Map<String, Object>) map));
+    } else if (value instanceof List<?> list) {
+      writeValue(generator, new JsonArray(list));
+    } else if (value instanceof Buffer buffer) {
+      generator.writeString(BASE64_ENCODER.encodeToString(buffer.getBytes()));
+    } else {
+      generator.writeString(value.toString());
+    }
+  }
+
   public static String serializeToJsonString(Object obj, ObjectMapper objectMapper) {
     try {
       return objectMapper.writeValueAsString(obj);
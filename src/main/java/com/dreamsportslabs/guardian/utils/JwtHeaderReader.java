@@ -0,0 +1,433 @@
+package com.dreamsportslabs.guardian.utils;
+
+import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.INVALID_TOKEN;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads the alg, kid and typ members of a compact JWS header without splitting the token or
+ * building a generic map. The header segment is base64url decoded into a per thread buffer and
+ * scanned in place.
+ */
+public final class JwtHeaderReader {
+  private static final int INITIAL_BUFFER_SIZE = 512;
+  private static final int MAX_HEADER_LENGTH = 8192;
+  private static final byte[] ALG = {'a', 'l', 'g'};
+  private static final byte[] KID = {'k', 'i', 'd'};
+  private static final byte[] TYP = {'t', 'y', 'p'};
+  private static final int[] BASE64_URL_VALUES = new int[128];
+
+  private static final ThreadLocal<byte[]> BUFFER =
+      ThreadLocal.withInitial(() -> new byte[INITIAL_BUFFER_SIZE]);
+
+  static {
+    Arrays.fill(BASE64_URL_VALUES, -1);
+    String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+    for (int i = 0; i < alphabet.length(); i++) {
+      BASE64_URL_VALUES[alphabet.charAt(i)] = i;
+    }
+  }
+
+  private JwtHeaderReader() {
+    throw new UnsupportedOperationException("Utility class cannot be instantiated");
+  }
+
+  public record JwtHeader(String alg, String kid, String typ) {}
+
+  public static JwtHeader read(String token) {
+    if (token == null) {
+      throw INVALID_TOKEN.getBearerAuthHeaderException("Invalid JWT format");
+    }
+    int dot = token.indexOf('.');
+    if (dot <= 0) {
+      throw INVALID_TOKEN.getBearerAuthHeaderException("Invalid JWT format");
+    }
+    if (dot > MAX_HEADER_LENGTH) {
+      throw INVALID_TOKEN.getBearerAuthHeaderException();
+    }
+
+    byte[] buffer = getBuffer(dot);
+    int length = decode(token, dot, buffer);
+    if (length < 0) {
+      throw INVALID_TOKEN.getBearerAuthHeaderException();
+    }
+    return new Parser(buffer, length).parse();
+  }
+
+  private static byte[] getBuffer(int encodedLength) {
+    byte[] buffer = BUFFER.get();
+    int required = encodedLength * 3 / 4 + 3;
+    if (buffer.length < required) {
+      buffer = new byte[required];
+      BUFFER.set(buffer);
+    }
+    return buffer;
+  }
+
+  // Only the unpadded canonical encoding is accepted, the unused bits of the last character are 0
+  private static int decode(String token, int end, byte[] out) {
+    int bits = 0;
+    int bitCount = 0;
+    int length = 0;
+    for (int i = 0; i < end; i++) {
+      char c = token.charAt(i);
+      int value = c < 128 ? BASE64_URL_VALUES[c] : -1;
+      if (value < 0) {
+        return -1;
+      }
+      bits = (bits << 6) | value;
+      bitCount += 6;
+      if (bitCount >= 8) {
+        bitCount -= 8;
+        out[length++] = (byte) (bits >> bitCount);
+      }
+    }
+    if (bitCount >= 6 || (bits & ((1 << bitCount) - 1)) != 0) {
+      return -1;
+    }
+    return length;
+  }
+
+  /**
+   * Strict JSON parser for the header object. Members other than alg, kid and typ are validated and
+   * skipped, the last occurrence of a duplicate member wins and nothing but whitespace may follow
+   * the object.
+   */
+  private static final class Parser {
+    private static final int MAX_DEPTH = 32;
+
+    private final byte[] json;
+    private final int length;
+    private int pos;
+
+    private Parser(byte[] json, int length) {
+      this.json = json;
+      this.length = length;
+    }
+
+    private JwtHeader parse() {
+      String alg = null;
+      String kid = null;
+      String typ = null;
+
+      skipWhitespace();
+      expect('{');
+      skipWhitespace();
+      if (peek() == '}') {
+        pos++;
+      } else {
+        while (true) {
+          skipWhitespace();
+          byte[] key = readKey();
+          skipWhitespace();
+          expect(':');
+          skipWhitespace();
+
+          if (key == ALG) {
+            alg = readStringOrNull();
+          } else if (key == KID) {
+            kid = readStringOrNull();
+          } else if (key == TYP) {
+            typ = readStringOrNull();
+          } else {
+            skipValue(0);
+          }
+
+          skipWhitespace();
+          byte next = next();
+          if (next == '}') {
+            break;
+          }
+          if (next != ',') {
+            throw invalid();
+          }
+        }
+      }
+
+      skipWhitespace();
+      if (pos != length) {
+        throw invalid();
+      }
+      return new JwtHeader(alg, kid, typ);
+    }
+
+    // Returns ALG, KID or TYP when the key is one of them, otherwise null
+    private byte[] readKey() {
+      int keyStart = pos + 1;
+      skipString();
+      int keyEnd = pos - 1;
+      for (int i = keyStart; i < keyEnd; i++) {
+        if (json[i] == '\\') {
+          pos = keyStart - 1;
+          String key = readString();
+          return switch (key) {
+            case "alg" -> ALG;
+            case "kid" -> KID;
+            case "typ" -> TYP;
+            default -> null;
+          };
+        }
+      }
+      if (keyEquals(keyStart, keyEnd, ALG)) {
+        return ALG;
+      }
+      if (keyEquals(keyStart, keyEnd, KID)) {
+        return KID;
+      }
+      return keyEquals(keyStart, keyEnd, TYP) ? TYP : null;
+    }
+
+    private boolean keyEquals(int start, int end, byte[] key) {
+      if (end - start != key.length) {
+        return false;
+      }
+      for (int i = 0; i < key.length; i++) {
+        if (json[start + i] != key[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private String readStringOrNull() {
+      if (peek() == 'n') {
+        skipLiteral("null");
+        return null;
+      }
+      return readString();
+    }
+
+    private String readString() {
+      expect('"');
+      int start = pos;
+      while (pos < length && json[pos] != '"') {
+        if (json[pos] == '\\') {
+          pos = start;
+          return readEscapedString();
+        }
+        if (isControl(json[pos])) {
+          throw invalid();
+        }
+        pos++;
+      }
+      if (pos >= length) {
+        throw invalid();
+      }
+      String value = new String(json, start, pos - start, StandardCharsets.UTF_8);
+      pos++;
+      return value;
+    }
+
+    private String readEscapedString() {
+      StringBuilder value = new StringBuilder();
+      int segmentStart = pos;
+      while (true) {
+        byte b = next();
+        if (b == '"') {
+          appendSegment(value, segmentStart, pos - 1);
+          return value.toString();
+        }
+        if (isControl(b)) {
+          throw invalid();
+        }
+        if (b == '\\') {
+          appendSegment(value, segmentStart, pos - 1);
+          byte escaped = next();
+          switch (escaped) {
+            case '"', '\\', '/' -> value.append((char) escaped);
+            case 'b' -> value.append('\b');
+            case 'f' -> value.append('\f');
+            case 'n' -> value.append('\n');
+            case 'r' -> value.append('\r');
+            case 't' -> value.append('\t');
+            case 'u' -> value.append(readUnicodeEscape());
+            default -> throw invalid();
+          }
+          segmentStart = pos;
+        }
+      }
+    }
+
+    private void appendSegment(StringBuilder value, int start, int end) {
+      if (end > start) {
+        value.append(new String(json, start, end - start, StandardCharsets.UTF_8));
+      }
+    }
+
+    private char readUnicodeEscape() {
+      if (pos + 4 > length) {
+        throw invalid();
+      }
+      int code = 0;
+      for (int i = 0; i < 4; i++) {
+        int digit = Character.digit(json[pos++], 16);
+        if (digit < 0) {
+          throw invalid();
+        }
+        code = (code << 4) | digit;
+      }
+      return (char) code;
+    }
+
+    private void skipValue(int depth) {
+      if (depth > MAX_DEPTH) {
+        throw invalid();
+      }
+      switch (peek()) {
+        case '"' -> skipString();
+        case '{' -> skipObject(depth);
+        case '[' -> skipArray(depth);
+        case 't' -> skipLiteral("true");
+        case 'f' -> skipLiteral("false");
+        case 'n' -> skipLiteral("null");
+        default -> skipNumber();
+      }
+    }
+
+    private void skipObject(int depth) {
+      expect('{');
+      skipWhitespace();
+      if (peek() == '}') {
+        pos++;
+        return;
+      }
+      while (true) {
+        skipWhitespace();
+        skipString();
+        skipWhitespace();
+        expect(':');
+        skipWhitespace();
+        skipValue(depth + 1);
+        skipWhitespace();
+        byte next = next();
+        if (next == '}') {
+          return;
+        }
+        if (next != ',') {
+          throw invalid();
+        }
+      }
+    }
+
+    private void skipArray(int depth) {
+      expect('[');
+      skipWhitespace();
+      if (peek() == ']') {
+        pos++;
+        return;
+      }
+      while (true) {
+        skipWhitespace();
+        skipValue(depth + 1);
+        skipWhitespace();
+        byte next = next();
+        if (next == ']') {
+          return;
+        }
+        if (next != ',') {
+          throw invalid();
+        }
+      }
+    }
+
+    private void skipLiteral(String literal) {
+      for (int i = 0; i < literal.length(); i++) {
+        expect(literal.charAt(i));
+      }
+    }
+
+    // -?(0|[1-9][0-9]*)(\.[0-9]+)?([eE][+-]?[0-9]+)?
+    private void skipNumber() {
+      if (peek() == '-') {
+        pos++;
+      }
+      if (peek() == '0') {
+        pos++;
+      } else {
+        skipDigits();
+      }
+      if (pos < length && json[pos] == '.') {
+        pos++;
+        skipDigits();
+      }
+      if (pos < length && (json[pos] == 'e' || json[pos] == 'E')) {
+        pos++;
+        if (peek() == '+' || peek() == '-') {
+          pos++;
+        }
+        skipDigits();
+      }
+    }
+
+    private void skipDigits() {
+      if (!isDigit(peek())) {
+        throw invalid();
+      }
+      while (pos < length && isDigit(json[pos])) {
+        pos++;
+      }
+    }
+
+    private void skipString() {
+      expect('"');
+      while (true) {
+        byte b = next();
+        if (b == '\\') {
+          byte escaped = next();
+          if (escaped == 'u') {
+            readUnicodeEscape();
+          } else if ("\"\\/bfnrt".indexOf(escaped) < 0) {
+            throw invalid();
+          }
+        } else if (b == '"') {
+          return;
+        } else if (isControl(b)) {
+          throw invalid();
+        }
+      }
+    }
+
+    private void skipWhitespace() {
+      while (pos < length && isWhitespace(json[pos])) {
+        pos++;
+      }
+    }
+
+    private boolean isWhitespace(byte b) {
+      return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private boolean isDigit(byte b) {
+      return b >= '0' && b <= '9';
+    }
+
+    // Bytes of multi-byte UTF-8 sequences are negative and allowed
+    private boolean isControl(byte b) {
+      return b >= 0 && b < 0x20;
+    }
+
+    private void expect(char c) {
+      if (next() != c) {
+        throw invalid();
+      }
+    }
+
+    private byte peek() {
+      if (pos >= length) {
+        throw invalid();
+      }
+      return json[pos];
+    }
+
+    private byte next() {
+      byte b = peek();
+      pos++;
+      return b;
+    }
+
+    private RuntimeException invalid() {
+      return INVALID_TOKEN.getBearerAuthHeaderException();
+    }
+  }
+}
@@ -7,11 +7,9 @@ import static com.dreamsportslabs.guardian.constant.Constants.USER_AGENT;
 import static com.dreamsportslabs.guardian.constant.Constants.X_FORWARDED_FOR;
 import static com.dreamsportslabs.guardian.constant.Constants.prohibitedForwardingHeaders;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.UNAUTHORIZED;
-import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.INVALID_TOKEN;
 
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.exception.ErrorEnum;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.vertx.core.json.JsonObject;
 import io.vertx.rxjava3.core.MultiMap;
 import jakarta.ws.rs.core.MultivaluedMap;
@@ -28,6 +26,7 @@ import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 
 public final class Utils {
+  private static final int LEGACY_REFRESH_TOKEN_LENGTH = 32;
 
   private Utils() {
     throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
@@ -84,6 +83,22 @@ public final class Utils {
     return getMd5Hash(refreshToken);
   }
 
+  /** Hex of the SHA-256 of the token, refresh tokens are only stored and cached by this hash. */
+  public static String getRefreshTokenHash(String refreshToken) {
+    return DigestUtils.sha256Hex(refreshToken);
+  }
+
+  /**
+   * The raw token as stored in the legacy refresh_token column, or null for tokens that never fit
+   * it. The column is only written and read until the contract step of the token hash migration.
+   */
+  public static String getLegacyRefreshToken(String refreshToken) {
+    if (refreshToken == null || refreshToken.length() != LEGACY_REFRESH_TOKEN_LENGTH) {
+      return null;
+    }
+    return refreshToken;
+  }
+
   public static String getIpFromHeaders(MultivaluedMap<String, String> headers) {
     String xForwardedFor = headers.getFirst(X_FORWARDED_FOR);
     if (!StringUtils.isBlank(xForwardedFor)) {
@@ -120,20 +135,6 @@ public final class Utils {
     }
   }
 
-  public static Map<String, Object> decodeJwtHeaders(String token) {
-    try {
-      String[] parts = token.split("\\.");
-      if (parts.length < 2) {
-        throw INVALID_TOKEN.getBearerAuthHeaderException("Invalid JWT format");
-      }
-      String headerJson =
-          new String(Base64.getUrlDecoder().decode(parts[0]), StandardCharsets.UTF_8);
-      return new ObjectMapper().readValue(headerJson, Map.class);
-    } catch (Exception e) {
-      throw INVALID_TOKEN.getBearerAuthHeaderException();
-    }
-  }
-
   public static JsonObject convertKeysToSnakeCase(JsonObject input) {
     JsonObject result = new JsonObject();
     for (Map.Entry<String, Object> entry : input) {
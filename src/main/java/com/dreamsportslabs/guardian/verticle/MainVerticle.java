@@ -1,6 +1,18 @@
 package com.dreamsportslabs.guardian.verticle;
 
+import static com.dreamsportslabs.guardian.cache.CacheInvalidator.CLIENT_CHANNEL;
+import static com.dreamsportslabs.guardian.cache.CacheInvalidator.SCOPE_CHANNEL;
+import static com.dreamsportslabs.guardian.cache.CacheInvalidator.TENANT_CONFIG_CHANNEL;
 import static com.dreamsportslabs.guardian.constant.Constants.APPLICATION_CONFIG;
+import static com.dreamsportslabs.guardian.constant.Constants.CLIENT_CACHE_MAX_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.CLIENT_CACHE_TTL;
+import static com.dreamsportslabs.guardian.constant.Constants.CLIENT_CREDENTIALS_TOKEN_CACHE_ENABLED;
+import static com.dreamsportslabs.guardian.constant.Constants.CLIENT_CREDENTIALS_TOKEN_CACHE_MAX_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.CLIENT_CREDENTIALS_TOKEN_CACHE_MIN_REMAINING_RATIO;
+import static com.dreamsportslabs.guardian.constant.Constants.CLIENT_SECRET_CACHE_MAX_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.CLIENT_SECRET_CACHE_TTL;
+import static com.dreamsportslabs.guardian.constant.Constants.CLIENT_SECRET_PEPPER;
+import static com.dreamsportslabs.guardian.constant.Constants.CLIENT_SECRET_STORE_PLAINTEXT;
 import static com.dreamsportslabs.guardian.constant.Constants.HTTP_CLIENT_CONNECTION_POOL_MAX_SIZE;
 import static com.dreamsportslabs.guardian.constant.Constants.HTTP_CLIENT_IDLE_TIMEOUT;
 import static com.dreamsportslabs.guardian.constant.Constants.HTTP_CLIENT_KEEP_ALIVE;
@@ -8,22 +20,52 @@ import static com.dreamsportslabs.guardian.constant.Constants.HTTP_CLIENT_KEEP_A
 import static com.dreamsportslabs.guardian.constant.Constants.HTTP_CONNECT_TIMEOUT;
 import static com.dreamsportslabs.guardian.constant.Constants.HTTP_READ_TIMEOUT;
 import static com.dreamsportslabs.guardian.constant.Constants.HTTP_WRITE_TIMEOUT;
+import static com.dreamsportslabs.guardian.constant.Constants.METRICS_HOST;
+import static com.dreamsportslabs.guardian.constant.Constants.METRICS_PORT;
 import static com.dreamsportslabs.guardian.constant.Constants.PORT;
 import static com.dreamsportslabs.guardian.constant.Constants.REDIS_HOST;
 import static com.dreamsportslabs.guardian.constant.Constants.REDIS_PORT;
 import static com.dreamsportslabs.guardian.constant.Constants.REDIS_TYPE;
+import static com.dreamsportslabs.guardian.constant.Constants.REFRESH_TOKEN_CACHE_TTL;
+import static com.dreamsportslabs.guardian.constant.Constants.REFRESH_TOKEN_PURGE_BATCH_DELAY;
+import static com.dreamsportslabs.guardian.constant.Constants.REFRESH_TOKEN_PURGE_BATCH_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.REFRESH_TOKEN_PURGE_ENABLED;
+import static com.dreamsportslabs.guardian.constant.Constants.REFRESH_TOKEN_PURGE_INTERVAL;
+import static com.dreamsportslabs.guardian.constant.Constants.REFRESH_TOKEN_PURGE_RETENTION;
+import static com.dreamsportslabs.guardian.constant.Constants.REFRESH_TOKEN_SIGNING_KEY;
+import static com.dreamsportslabs.guardian.constant.Constants.SCOPE_CATALOG_MAX_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.SCOPE_CATALOG_TTL;
 import static com.dreamsportslabs.guardian.constant.Constants.TENANT_CONFIG_REFRESH_INTERVAL;
+import static com.dreamsportslabs.guardian.constant.Constants.TENANT_MISS_RATE_LIMIT;
+import static com.dreamsportslabs.guardian.constant.Constants.TENANT_WARM_UP_CONCURRENCY;
+import static com.dreamsportslabs.guardian.constant.Constants.TOKEN_SIGNING_INLINE_ALGORITHMS;
+import static com.dreamsportslabs.guardian.constant.Constants.TOKEN_SIGNING_POOL_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.TOKEN_SIGNING_QUEUE_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.UNKNOWN_TENANT_CACHE_MAX_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.UNKNOWN_TENANT_CACHE_TTL;
 
+import com.dreamsportslabs.guardian.cache.CacheInvalidator;
+import com.dreamsportslabs.guardian.cache.ClientCache;
+import com.dreamsportslabs.guardian.cache.ClientCredentialsTokenCache;
+import com.dreamsportslabs.guardian.cache.RefreshTokenCache;
+import com.dreamsportslabs.guardian.cache.ScopeCatalog;
 import com.dreamsportslabs.guardian.cache.TenantCache;
 import com.dreamsportslabs.guardian.client.MysqlClient;
 import com.dreamsportslabs.guardian.client.impl.MysqlClientImpl;
 import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.service.ClientSecretHasher;
+import com.dreamsportslabs.guardian.service.RefreshTokenSigner;
+import com.dreamsportslabs.guardian.service.TokenSigningExecutor;
+import com.dreamsportslabs.guardian.utils.ApplicationUtil;
 import com.dreamsportslabs.guardian.utils.ConfigUtil;
 import com.dreamsportslabs.guardian.utils.SharedDataUtils;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
 import io.reactivex.rxjava3.core.Completable;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.impl.cpu.CpuCoreSensor;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.redis.client.RedisClientType;
@@ -31,7 +73,10 @@ import io.vertx.redis.client.RedisOptions;
 import io.vertx.rxjava3.core.AbstractVerticle;
 import io.vertx.rxjava3.ext.web.client.WebClient;
 import io.vertx.rxjava3.redis.client.Redis;
+import java.util.Arrays;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -39,11 +84,19 @@ public class MainVerticle extends AbstractVerticle {
   private Redis redisClient;
   private WebClient webClient;
   private MysqlClient mysqlClient;
+  private TokenSigningExecutor tokenSigningExecutor;
+  private CacheInvalidator cacheInvalidator;
+  private ClientCache clientCache;
+  private ClientCredentialsTokenCache clientCredentialsTokenCache;
+  private ScopeCatalog scopeCatalog;
+  private PrometheusMeterRegistry meterRegistry;
   private JsonObject config;
 
   @Override
   public Completable rxStart() {
     SharedDataUtils.put(vertx.getDelegate(), new Registry());
+    this.meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    SharedDataUtils.put(vertx.getDelegate(), this.meterRegistry);
     return ConfigUtil.getConfigRetriever(vertx)
         .rxGetConfig()
         .map(
@@ -53,18 +106,40 @@ public class MainVerticle extends AbstractVerticle {
               return config;
             })
         .flatMapCompletable(this::initializeClients)
-        .doOnComplete(
-            () ->
-                SharedDataUtils.put(
-                    vertx.getDelegate(),
-                    TenantCache.getInstance(
-                        Integer.parseInt(config.getString(TENANT_CONFIG_REFRESH_INTERVAL)))))
+        .andThen(Completable.defer(this::initializeCaches))
         .andThen(
             vertx.rxDeployVerticle(
                 () ->
                     new RestVerticle(
                         new HttpServerOptions().setPort(Integer.parseInt(config.getString(PORT)))),
                 new DeploymentOptions().setInstances(getNumOfCores())))
+        .ignoreElement()
+        .andThen(Completable.defer(this::deployMetricsVerticle))
+        .andThen(Completable.defer(this::deployRefreshTokenPurgeVerticle));
+  }
+
+  private Completable deployMetricsVerticle() {
+    return vertx
+        .rxDeployVerticle(
+            new MetricsVerticle(
+                new HttpServerOptions()
+                    .setHost(config.getString(METRICS_HOST))
+                    .setPort(Integer.parseInt(config.getString(METRICS_PORT)))))
+        .ignoreElement();
+  }
+
+  private Completable deployRefreshTokenPurgeVerticle() {
+    if (!Boolean.parseBoolean(config.getString(REFRESH_TOKEN_PURGE_ENABLED))) {
+      return Completable.complete();
+    }
+
+    return vertx
+        .rxDeployVerticle(
+            new RefreshTokenPurgeVerticle(
+                Long.parseLong(config.getString(REFRESH_TOKEN_PURGE_INTERVAL)),
+                Integer.parseInt(config.getString(REFRESH_TOKEN_PURGE_BATCH_SIZE)),
+                Long.parseLong(config.getString(REFRESH_TOKEN_PURGE_BATCH_DELAY)),
+                Long.parseLong(config.getString(REFRESH_TOKEN_PURGE_RETENTION))))
         .ignoreElement();
   }
 
@@ -72,10 +147,49 @@ public class MainVerticle extends AbstractVerticle {
     return CpuCoreSensor.availableProcessors();
   }
 
+  private Completable initializeCaches() {
+    TenantCache tenantCache =
+        TenantCache.getInstance(
+            Integer.parseInt(config.getString(TENANT_CONFIG_REFRESH_INTERVAL)),
+            Integer.parseInt(config.getString(UNKNOWN_TENANT_CACHE_TTL)),
+            Long.parseLong(config.getString(UNKNOWN_TENANT_CACHE_MAX_SIZE)),
+            Integer.parseInt(config.getString(TENANT_MISS_RATE_LIMIT)));
+    SharedDataUtils.put(vertx.getDelegate(), tenantCache);
+    this.cacheInvalidator =
+        new CacheInvalidator(vertx, redisClient)
+            .onInvalidate(
+                TENANT_CONFIG_CHANNEL, tenantId -> invalidateTenant(tenantCache, tenantId))
+            .onInvalidate(CLIENT_CHANNEL, this::invalidateClient)
+            .onInvalidate(SCOPE_CHANNEL, this.scopeCatalog::invalidate);
+    SharedDataUtils.put(vertx.getDelegate(), this.cacheInvalidator);
+    return this.cacheInvalidator.subscribe().doOnComplete(() -> warmUpTenants(tenantCache));
+  }
+
+  private void invalidateTenant(TenantCache tenantCache, String tenantId) {
+    tenantCache.invalidateCache(tenantId);
+    this.clientCredentialsTokenCache.invalidate(tenantId);
+  }
+
+  private void invalidateClient(String message) {
+    JsonArray key = new JsonArray(message);
+    this.clientCache.invalidate(key.getString(0), key.getString(1));
+    this.clientCredentialsTokenCache.invalidate(key.getString(0), key.getString(1));
+  }
+
+  // Runs in the background while the server starts, the health check fails until it completes
+  private void warmUpTenants(TenantCache tenantCache) {
+    tenantCache
+        .warmUp(Integer.parseInt(config.getString(TENANT_WARM_UP_CONCURRENCY)))
+        .doFinally(() -> ApplicationUtil.setTenantWarmUpStatus(vertx.getDelegate()))
+        .subscribe(() -> {}, err -> log.error("Failed to warm up tenant cache", err));
+  }
+
   @Override
   public Completable rxStop() {
+    this.cacheInvalidator.close();
     this.redisClient.close();
     this.webClient.close();
+    this.tokenSigningExecutor.close();
 
     return this.mysqlClient.rxClose();
   }
@@ -83,7 +197,14 @@ public class MainVerticle extends AbstractVerticle {
   private Completable initializeClients(JsonObject config) {
     return initializeMysqlClient(config)
         .andThen(initializeRedisClient(config))
-        .andThen(initializeWebClient(config));
+        .andThen(initializeWebClient(config))
+        .andThen(initializeTokenSigningExecutor(config))
+        .andThen(initializeClientCredentialsTokenCache(config))
+        .andThen(initializeClientCache(config))
+        .andThen(initializeClientSecretHasher(config))
+        .andThen(initializeScopeCatalog(config))
+        .andThen(initializeRefreshTokenCache(config))
+        .andThen(initializeRefreshTokenSigner(config));
   }
 
   private Completable initializeMysqlClient(JsonObject config) {
@@ -130,4 +251,92 @@ public class MainVerticle extends AbstractVerticle {
 
     return Completable.complete();
   }
+
+  private Completable initializeTokenSigningExecutor(JsonObject config) {
+    int poolSize = Integer.parseInt(config.getString(TOKEN_SIGNING_POOL_SIZE));
+    Set<String> inlineAlgorithms =
+        Arrays.stream(config.getString(TOKEN_SIGNING_INLINE_ALGORITHMS, "").split(","))
+            .map(String::trim)
+            .filter(algorithm -> !algorithm.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+    this.tokenSigningExecutor =
+        new TokenSigningExecutor(
+            poolSize > 0 ? poolSize : getNumOfCores(),
+            Integer.parseInt(config.getString(TOKEN_SIGNING_QUEUE_SIZE)),
+            inlineAlgorithms,
+            this.meterRegistry);
+
+    SharedDataUtils.put(vertx.getDelegate(), this.tokenSigningExecutor);
+
+    return Completable.complete();
+  }
+
+  private Completable initializeClientCredentialsTokenCache(JsonObject config) {
+    this.clientCredentialsTokenCache =
+        new ClientCredentialsTokenCache(
+            Boolean.parseBoolean(config.getString(CLIENT_CREDENTIALS_TOKEN_CACHE_ENABLED)),
+            Long.parseLong(config.getString(CLIENT_CREDENTIALS_TOKEN_CACHE_MAX_SIZE)),
+            Double.parseDouble(
+                config.getString(CLIENT_CREDENTIALS_TOKEN_CACHE_MIN_REMAINING_RATIO)),
+            this.meterRegistry);
+    SharedDataUtils.put(vertx.getDelegate(), this.clientCredentialsTokenCache);
+
+    return Completable.complete();
+  }
+
+  private Completable initializeClientCache(JsonObject config) {
+    this.clientCache =
+        new ClientCache(
+            Long.parseLong(config.getString(CLIENT_CACHE_TTL)),
+            Long.parseLong(config.getString(CLIENT_CACHE_MAX_SIZE)),
+            this.meterRegistry);
+    SharedDataUtils.put(vertx.getDelegate(), this.clientCache);
+
+    return Completable.complete();
+  }
+
+  private Completable initializeScopeCatalog(JsonObject config) {
+    this.scopeCatalog =
+        new ScopeCatalog(
+            Long.parseLong(config.getString(SCOPE_CATALOG_TTL)),
+            Long.parseLong(config.getString(SCOPE_CATALOG_MAX_SIZE)),
+            this.meterRegistry);
+    SharedDataUtils.put(vertx.getDelegate(), this.scopeCatalog);
+
+    return Completable.complete();
+  }
+
+  private Completable initializeRefreshTokenCache(JsonObject config) {
+    SharedDataUtils.put(
+        vertx.getDelegate(),
+        new RefreshTokenCache(
+            this.redisClient,
+            Long.parseLong(config.getString(REFRESH_TOKEN_CACHE_TTL)),
+            this.meterRegistry));
+
+    return Completable.complete();
+  }
+
+  private Completable initializeRefreshTokenSigner(JsonObject config) {
+    RefreshTokenSigner refreshTokenSigner =
+        new RefreshTokenSigner(config.getString(REFRESH_TOKEN_SIGNING_KEY));
+    if (!refreshTokenSigner.isEnabled()) {
+      log.warn("No refresh token signing key configured, issuing opaque refresh tokens only");
+    }
+    SharedDataUtils.put(vertx.getDelegate(), refreshTokenSigner);
+
+    return Completable.complete();
+  }
+
+  private Completable initializeClientSecretHasher(JsonObject config) {
+    SharedDataUtils.put(
+        vertx.getDelegate(),
+        new ClientSecretHasher(
+            config.getString(CLIENT_SECRET_PEPPER),
+            Boolean.parseBoolean(config.getString(CLIENT_SECRET_STORE_PLAINTEXT)),
+            Long.parseLong(config.getString(CLIENT_SECRET_CACHE_TTL)),
+            Long.parseLong(config.getString(CLIENT_SECRET_CACHE_MAX_SIZE))));
+
+    return Completable.complete();
+  }
 }
@@ -0,0 +1,64 @@
+package com.dreamsportslabs.guardian.verticle;
+
+import com.dreamsportslabs.guardian.injection.GuiceInjector;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.reactivex.rxjava3.core.Completable;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.rxjava3.core.AbstractVerticle;
+import io.vertx.rxjava3.core.http.HttpServer;
+import io.vertx.rxjava3.core.http.HttpServerRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves the Prometheus scrape endpoint on the management port, separate from the API port so it
+ * is not reachable wherever the API is. The registry is scraped on a worker thread.
+ */
+@Slf4j
+public class MetricsVerticle extends AbstractVerticle {
+  private static final String METRICS_PATH = "/metrics";
+  private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private final HttpServerOptions options;
+  private PrometheusMeterRegistry meterRegistry;
+  private HttpServer server;
+
+  public MetricsVerticle(HttpServerOptions options) {
+    this.options = options;
+  }
+
+  @Override
+  public Completable rxStart() {
+    this.meterRegistry =
+        GuiceInjector.getGuiceInjector().getInstance(PrometheusMeterRegistry.class);
+    this.server = vertx.createHttpServer(options).requestHandler(this::handle);
+    return server.rxListen().ignoreElement();
+  }
+
+  private void handle(HttpServerRequest request) {
+    if (request.method() != HttpMethod.GET || !METRICS_PATH.equals(request.path())) {
+      request.response().setStatusCode(HttpResponseStatus.NOT_FOUND.code()).end();
+      return;
+    }
+
+    vertx
+        .rxExecuteBlocking(() -> meterRegistry.scrape(), false)
+        .subscribe(
+            body ->
+                request.response().putHeader(HttpHeaders.CONTENT_TYPE, CONTENT_TYPE).end(body),
+            err -> {
+              log.error("Failed to scrape metrics", err);
+              request
+                  .response()
+                  .setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code())
+                  .end();
+            });
+  }
+
+  @Override
+  public Completable rxStop() {
+    return server == null ? Completable.complete() : server.rxClose();
+  }
+}
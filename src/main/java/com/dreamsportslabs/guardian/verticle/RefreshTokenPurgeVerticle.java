@@ -0,0 +1,274 @@
+package com.dreamsportslabs.guardian.verticle;
+
+import static com.dreamsportslabs.guardian.utils.Utils.getCurrentTimeInSeconds;
+
+import com.dreamsportslabs.guardian.dao.RefreshTokenPurgeDao;
+import com.dreamsportslabs.guardian.dao.RefreshTokenPurgeDao.Table;
+import com.dreamsportslabs.guardian.injection.GuiceInjector;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
+import io.vertx.rxjava3.core.AbstractVerticle;
+import io.vertx.rxjava3.core.RxHelper;
+import io.vertx.rxjava3.redis.client.Command;
+import io.vertx.rxjava3.redis.client.Redis;
+import io.vertx.rxjava3.redis.client.Request;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Deletes refresh tokens that expired or were invalidated more than the retention ago. Each run
+ * walks the tables in primary key order one batch at a time with a pause between batches, and only
+ * one node runs per interval. The node holds a Redis lock for the run, renewed before each batch
+ * and released when the run ends. Setting {@link #DISABLED_KEY} in Redis stops the current run
+ * after its batch and skips the next ones until the key is removed.
+ */
+@Slf4j
+public class RefreshTokenPurgeVerticle extends AbstractVerticle {
+  public static final String DISABLED_KEY = "guardian:refresh_token_purge:disabled";
+  // Hash tagged so the scripts can use both keys on a Redis cluster
+  private static final String LOCK_KEY = "guardian:{refresh_token_purge}:lock";
+  private static final String LAST_RUN_KEY = "guardian:{refresh_token_purge}:last_run";
+
+  // The run marker outlives the lock, so a node whose timer fires later in the interval does not
+  // purge again after the run ended
+  private static final String ACQUIRE_SCRIPT =
+      """
+      if redis.call('EXISTS', KEYS[2]) == 1 then
+        return 0
+      end
+      if not redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+        return 0
+      end
+      redis.call('SET', KEYS[2], ARGV[1], 'PX', ARGV[2])
+      return 1
+      """;
+
+  private static final String RENEW_SCRIPT =
+      """
+      if redis.call('GET', KEYS[1]) == ARGV[1] then
+        return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+      end
+      return 0
+      """;
+
+  private static final String RELEASE_SCRIPT =
+      """
+      if redis.call('GET', KEYS[1]) == ARGV[1] then
+        return redis.call('DEL', KEYS[1])
+      end
+      return 0
+      """;
+
+  private static final String METRIC_RUNS = "guardian.refresh_token.purge.runs";
+  private static final String METRIC_ROWS = "guardian.refresh_token.purge.rows";
+  private static final String METRIC_BATCH_LATENCY = "guardian.refresh_token.purge.batch";
+  private static final String TAG_RESULT = "result";
+  private static final String TAG_TABLE = "table";
+
+  private static final String ACQUIRE_SCRIPT_SHA = DigestUtils.sha1Hex(ACQUIRE_SCRIPT);
+  private static final String RENEW_SCRIPT_SHA = DigestUtils.sha1Hex(RENEW_SCRIPT);
+  private static final String RELEASE_SCRIPT_SHA = DigestUtils.sha1Hex(RELEASE_SCRIPT);
+
+  private final long interval;
+  private final int batchSize;
+  private final long batchDelayMillis;
+  private final long retention;
+  private final String nodeId = UUID.randomUUID().toString();
+  private RefreshTokenPurgeDao refreshTokenPurgeDao;
+  private Redis redisClient;
+  private MeterRegistry meterRegistry;
+  private long timerId;
+  private boolean running;
+  private boolean stopped;
+  // Position of the run in the table being purged, batches are repeated until it is done
+  private long afterId;
+  private boolean tableDone;
+  private boolean lockLost;
+
+  public RefreshTokenPurgeVerticle(
+      long interval, int batchSize, long batchDelayMillis, long retention) {
+    this.interval = interval;
+    this.batchSize = batchSize;
+    this.batchDelayMillis = batchDelayMillis;
+    this.retention = retention;
+  }
+
+  @Override
+  public Completable rxStart() {
+    this.refreshTokenPurgeDao =
+        GuiceInjector.getGuiceInjector().getInstance(RefreshTokenPurgeDao.class);
+    this.redisClient = GuiceInjector.getGuiceInjector().getInstance(Redis.class);
+    this.meterRegistry = GuiceInjector.getGuiceInjector().getInstance(MeterRegistry.class);
+    this.timerId = vertx.setPeriodic(TimeUnit.SECONDS.toMillis(interval), id -> run());
+    return Completable.complete();
+  }
+
+  @Override
+  public Completable rxStop() {
+    this.stopped = true;
+    vertx.cancelTimer(this.timerId);
+    return Completable.complete();
+  }
+
+  private void run() {
+    if (this.running) {
+      return;
+    }
+    this.running = true;
+
+    long cutoff = getCurrentTimeInSeconds() - retention;
+    isDisabled()
+        .flatMap(disabled -> disabled ? Single.just("disabled") : acquireLock())
+        .flatMap(
+            status -> {
+              if (!status.equals("acquired")) {
+                return Single.just(status);
+              }
+              this.lockLost = false;
+              return Flowable.fromArray(Table.values())
+                  .concatMapCompletable(table -> purge(table, cutoff))
+                  .toSingle(() -> this.lockLost ? "lock_lost" : "success")
+                  .flatMap(result -> releaseLock().andThen(Single.just(result)))
+                  .onErrorResumeNext(err -> releaseLock().andThen(Single.error(err)));
+            })
+        .doFinally(() -> this.running = false)
+        .subscribe(
+            this::countRun,
+            err -> {
+              log.error("Failed to purge refresh tokens", err);
+              countRun("failure");
+            });
+  }
+
+  private Completable purge(Table table, long cutoff) {
+    return Completable.fromAction(
+            () -> {
+              this.afterId = 0;
+              this.tableDone = false;
+            })
+        .andThen(purgeBatch(table, cutoff).repeatUntil(() -> this.tableDone));
+  }
+
+  private Completable purgeBatch(Table table, long cutoff) {
+    return isDisabled()
+        .flatMap(disabled -> disabled ? Single.just(false) : renewLock())
+        .flatMapCompletable(
+            canRun -> {
+              if (!canRun || this.stopped || this.lockLost) {
+                this.tableDone = true;
+                return Completable.complete();
+              }
+
+              long startTime = System.nanoTime();
+              return refreshTokenPurgeDao
+                  .getBatchEnd(table, this.afterId, batchSize)
+                  .doOnComplete(() -> this.tableDone = true)
+                  .flatMapCompletable(
+                      batchEnd ->
+                          refreshTokenPurgeDao
+                              .purge(table, this.afterId, batchEnd, cutoff)
+                              .doOnSuccess(
+                                  rows -> {
+                                    recordBatch(table, rows, startTime);
+                                    this.afterId = batchEnd;
+                                  })
+                              .ignoreElement()
+                              .andThen(
+                                  Completable.timer(
+                                      batchDelayMillis,
+                                      TimeUnit.MILLISECONDS,
+                                      RxHelper.scheduler(vertx))));
+            });
+  }
+
+  // A failing check stops the purge, the kill switch has to win over a Redis outage
+  private Single<Boolean> isDisabled() {
+    return redisClient
+        .rxSend(Request.cmd(Command.EXISTS).arg(DISABLED_KEY))
+        .map(response -> response.toInteger() > 0)
+        .defaultIfEmpty(false)
+        .onErrorReturn(
+            err -> {
+              log.error("Failed to read refresh token purge kill switch", err);
+              return true;
+            });
+  }
+
+  private Single<String> acquireLock() {
+    return eval(ACQUIRE_SCRIPT, ACQUIRE_SCRIPT_SHA, LOCK_KEY, LAST_RUN_KEY)
+        .map(acquired -> acquired ? "acquired" : "skipped");
+  }
+
+  // Another node may have taken the expired lock, the run stops instead of purging next to it
+  private Single<Boolean> renewLock() {
+    return eval(RENEW_SCRIPT, RENEW_SCRIPT_SHA, LOCK_KEY)
+        .onErrorReturn(
+            err -> {
+              log.error("Failed to renew refresh token purge lock", err);
+              return false;
+            })
+        .doOnSuccess(
+            renewed -> {
+              if (!renewed) {
+                log.warn("Lost refresh token purge lock, stopping the run");
+                this.lockLost = true;
+              }
+            });
+  }
+
+  // Only deletes the lock while this node holds it, a failure leaves it to expire
+  private Completable releaseLock() {
+    return eval(RELEASE_SCRIPT, RELEASE_SCRIPT_SHA, LOCK_KEY)
+        .ignoreElement()
+        .onErrorComplete(
+            err -> {
+              log.error("Failed to release refresh token purge lock", err);
+              return true;
+            });
+  }
+
+  // Scripts are sent by digest, the body only travels when the server does not have it yet
+  private Single<Boolean> eval(String script, String sha, String... keys) {
+    return redisClient
+        .rxSend(buildRequest(Command.EVALSHA, sha, keys))
+        .onErrorResumeNext(
+            err -> {
+              if (err.getMessage() == null || !err.getMessage().startsWith("NOSCRIPT")) {
+                return Maybe.error(err);
+              }
+              return redisClient.rxSend(buildRequest(Command.EVAL, script, keys));
+            })
+        .map(response -> response.toInteger() == 1)
+        .defaultIfEmpty(false);
+  }
+
+  private Request buildRequest(Command command, String script, String... keys) {
+    Request request = Request.cmd(command).arg(script).arg(keys.length);
+    for (String key : keys) {
+      request.arg(key);
+    }
+    return request.arg(nodeId).arg(TimeUnit.SECONDS.toMillis(interval));
+  }
+
+  private void recordBatch(Table table, int rows, long startTime) {
+    Counter.builder(METRIC_ROWS)
+        .tag(TAG_TABLE, table.getTableName())
+        .register(meterRegistry)
+        .increment(rows);
+    Timer.builder(METRIC_BATCH_LATENCY)
+        .tag(TAG_TABLE, table.getTableName())
+        .register(meterRegistry)
+        .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+  }
+
+  private void countRun(String result) {
+    Counter.builder(METRIC_RUNS).tag(TAG_RESULT, result).register(meterRegistry).increment();
+  }
+}
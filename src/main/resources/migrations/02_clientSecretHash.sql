@@ -0,0 +1,8 @@
+-- liquibase formatted sql
+-- changeset guardian:2
+
+-- client_secret keeps the plaintext of existing clients until their first successful
+-- authentication, when it is replaced by client_secret_hash
+ALTER TABLE client
+    MODIFY client_secret VARCHAR(100) NULL,
+    ADD COLUMN client_secret_hash CHAR(64) NULL AFTER client_secret;
@@ -0,0 +1,57 @@
+-- liquibase formatted sql
+-- changeset guardian:3
+
+-- Refresh tokens are looked up by the SHA-256 of the token, rft_id keeps the MD5 that is carried
+-- in the access tokens so a logout can revoke them without the token itself. refresh_token is
+-- only kept for rows written before this change and by nodes still running the previous version.
+-- Once those nodes are drained and backfill_refresh_token_hash() has been called again, the column
+-- and the idx_refresh_token and idx_oidc_refresh_token keys can be dropped
+ALTER TABLE refresh_tokens
+    MODIFY refresh_token CHAR(32) COLLATE ascii_bin NULL,
+    ADD COLUMN token_hash BINARY(32) NULL AFTER refresh_token,
+    ADD COLUMN rft_id BINARY(16) NULL AFTER token_hash,
+    ADD UNIQUE KEY `uk_refresh_token_hash` (`tenant_id`, `token_hash`),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+ALTER TABLE oidc_refresh_token
+    MODIFY refresh_token CHAR(32) COLLATE ascii_bin NULL,
+    ADD COLUMN token_hash BINARY(32) NULL AFTER refresh_token,
+    ADD UNIQUE KEY `uk_oidc_refresh_token_hash` (`tenant_id`, `token_hash`),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+-- changeset guardian:4 splitStatements:false
+-- Hashes rows that only have the raw token in batches of primary key ranges so no long running
+-- transaction or lock is held. It is left in place to be called again once the previous version
+-- is drained, rows that version wrote after the first run are picked up then
+CREATE PROCEDURE backfill_refresh_token_hash()
+BEGIN
+    DECLARE batch_start BIGINT DEFAULT 0;
+    DECLARE max_id BIGINT;
+
+    SELECT COALESCE(MAX(id), 0) INTO max_id FROM refresh_tokens;
+    WHILE batch_start < max_id DO
+        UPDATE IGNORE refresh_tokens
+        SET token_hash = UNHEX(SHA2(refresh_token, 256)),
+            rft_id     = UNHEX(MD5(refresh_token))
+        WHERE id > batch_start
+          AND id <= batch_start + 10000
+          AND token_hash IS NULL
+          AND refresh_token IS NOT NULL;
+        SET batch_start = batch_start + 10000;
+    END WHILE;
+
+    SET batch_start = 0;
+    SELECT COALESCE(MAX(id), 0) INTO max_id FROM oidc_refresh_token;
+    WHILE batch_start < max_id DO
+        UPDATE IGNORE oidc_refresh_token
+        SET token_hash = UNHEX(SHA2(refresh_token, 256))
+        WHERE id > batch_start
+          AND id <= batch_start + 10000
+          AND token_hash IS NULL
+          AND refresh_token IS NOT NULL;
+        SET batch_start = batch_start + 10000;
+    END WHILE;
+END
+
+-- changeset guardian:5 runInTransaction:false
+CALL backfill_refresh_token_hash();
@@ -0,0 +1,5 @@
+-- liquibase formatted sql
+-- changeset guardian:6
+
+ALTER TABLE token_config
+    ADD COLUMN self_contained_refresh_token BOOLEAN NOT NULL DEFAULT FALSE AFTER refresh_token_expiry;
@@ -0,0 +1,10 @@
+-- liquibase formatted sql
+-- changeset guardian:7
+
+-- Rotated OIDC refresh tokens share the family of the token issued with the authorization code,
+-- reuse of a retired token deactivates every row of its family. Rows written before rotation have
+-- no family until they are refreshed once
+ALTER TABLE oidc_refresh_token
+    ADD COLUMN family_id CHAR(24) COLLATE ascii_bin NULL AFTER token_hash,
+    ADD KEY `idx_oidc_refresh_token_family` (`tenant_id`, `family_id`),
+    ALGORITHM = INPLACE, LOCK = NONE;
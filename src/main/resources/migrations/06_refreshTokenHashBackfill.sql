@@ -0,0 +1,100 @@
+-- liquibase formatted sql
+-- changeset guardian:8
+
+-- The first backfill used UPDATE IGNORE, which left token_hash NULL on rows whose token was
+-- already stored on another row of the tenant and turned every other error into a warning
+DROP PROCEDURE IF EXISTS backfill_refresh_token_hash;
+
+-- changeset guardian:9
+-- Rows still holding only the raw token. The refresh_token column and its keys may only be dropped
+-- once active_unhashed is 0 for both tables, inactive_unhashed are the deactivated duplicates
+CREATE VIEW refresh_token_hash_backfill_report AS
+SELECT 'refresh_tokens'                 AS table_name,
+       COALESCE(SUM(is_active), 0)      AS active_unhashed,
+       COALESCE(SUM(NOT is_active), 0)  AS inactive_unhashed
+FROM refresh_tokens
+WHERE token_hash IS NULL
+  AND refresh_token IS NOT NULL
+UNION ALL
+SELECT 'oidc_refresh_token',
+       COALESCE(SUM(is_active), 0),
+       COALESCE(SUM(NOT is_active), 0)
+FROM oidc_refresh_token
+WHERE token_hash IS NULL
+  AND refresh_token IS NOT NULL;
+
+-- changeset guardian:10 splitStatements:false
+-- Hashes rows that only have the raw token in batches of primary key ranges with plain UPDATEs, so
+-- any failure aborts the call. A row whose token is also stored on a row that is already hashed or
+-- has a larger id is a duplicate that cannot take the unique token_hash, it is deactivated and left
+-- unhashed instead. Ends with refresh_token_hash_backfill_report
+CREATE PROCEDURE backfill_refresh_token_hash()
+BEGIN
+    DECLARE batch_start BIGINT DEFAULT 0;
+    DECLARE max_id BIGINT;
+
+    SELECT COALESCE(MAX(id), 0) INTO max_id FROM refresh_tokens;
+    WHILE batch_start < max_id DO
+        UPDATE refresh_tokens r
+            JOIN refresh_tokens d
+            ON d.tenant_id = r.tenant_id
+                AND d.refresh_token = r.refresh_token
+                AND (d.token_hash IS NOT NULL OR d.id > r.id)
+        SET r.is_active = FALSE
+        WHERE r.id > batch_start
+          AND r.id <= batch_start + 10000
+          AND r.token_hash IS NULL
+          AND r.refresh_token IS NOT NULL;
+
+        UPDATE refresh_tokens r
+            LEFT JOIN refresh_tokens d
+            ON d.tenant_id = r.tenant_id
+                AND d.refresh_token = r.refresh_token
+                AND (d.token_hash IS NOT NULL OR d.id > r.id)
+        SET r.token_hash = UNHEX(SHA2(r.refresh_token, 256)),
+            r.rft_id     = UNHEX(MD5(r.refresh_token))
+        WHERE r.id > batch_start
+          AND r.id <= batch_start + 10000
+          AND r.token_hash IS NULL
+          AND r.refresh_token IS NOT NULL
+          AND d.id IS NULL;
+        SET batch_start = batch_start + 10000;
+    END WHILE;
+
+    -- Duplicates are matched within the client to stay on idx_oidc_refresh_token, a duplicate
+    -- across clients still fails the UPDATE
+    SET batch_start = 0;
+    SELECT COALESCE(MAX(id), 0) INTO max_id FROM oidc_refresh_token;
+    WHILE batch_start < max_id DO
+        UPDATE oidc_refresh_token r
+            JOIN oidc_refresh_token d
+            ON d.tenant_id = r.tenant_id
+                AND d.client_id = r.client_id
+                AND d.refresh_token = r.refresh_token
+                AND (d.token_hash IS NOT NULL OR d.id > r.id)
+        SET r.is_active = FALSE
+        WHERE r.id > batch_start
+          AND r.id <= batch_start + 10000
+          AND r.token_hash IS NULL
+          AND r.refresh_token IS NOT NULL;
+
+        UPDATE oidc_refresh_token r
+            LEFT JOIN oidc_refresh_token d
+            ON d.tenant_id = r.tenant_id
+                AND d.client_id = r.client_id
+                AND d.refresh_token = r.refresh_token
+                AND (d.token_hash IS NOT NULL OR d.id > r.id)
+        SET r.token_hash = UNHEX(SHA2(r.refresh_token, 256))
+        WHERE r.id > batch_start
+          AND r.id <= batch_start + 10000
+          AND r.token_hash IS NULL
+          AND r.refresh_token IS NOT NULL
+          AND d.id IS NULL;
+        SET batch_start = batch_start + 10000;
+    END WHILE;
+
+    SELECT * FROM refresh_token_hash_backfill_report;
+END
+
+-- changeset guardian:11 runInTransaction:false
+CALL backfill_refresh_token_hash();
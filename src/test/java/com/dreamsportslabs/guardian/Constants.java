@@ -254,6 +254,16 @@ public class Constants {
       "Invalid RSA key length. Allowed values are [2048, 3072, 4096]";
   public static final String ERROR_MSG_INVALID_KEY_FORMAT =
       "Invalid key format. Allowed values are PEM or JWKS";
+  public static final String KEY_GENERATION_KEY_TYPE = "keyType";
+  public static final String KEY_TYPE_EC = "EC";
+  public static final String KEY_TYPE_INVALID = "DSA";
+  public static final String EC_KEY_CURVE = "crv";
+  public static final String EC_CURVE_P256 = "P-256";
+  public static final int EC_KEY_SIZE_256 = 256;
+  public static final String ERROR_MSG_INVALID_EC_KEY_LENGTH =
+      "Invalid EC key length. Allowed values are [256, 384, 521]";
+  public static final String ERROR_MSG_INVALID_KEY_TYPE =
+      "Invalid key type. Allowed values are RSA or EC";
 
   public static final String ASSERT_PUBLIC_KEY_MODULUS_2048 =
       "Public key modulus should be 2048 bits";
@@ -268,6 +278,16 @@ public class Constants {
   public static final String CLIENT_NAME = "client_name";
   public static final String CLIENT_URI = "client_uri";
   public static final String CLIENT_SECRET = "client_secret";
+  public static final String CLIENT_SECRET_HASH = "client_secret_hash";
+  public static final String CLIENT_SECRET_PEPPER =
+      System.getenv()
+          .getOrDefault(
+              "GUARDIAN_CLIENT_SECRET_PEPPER", "guardian-it-client-secret-pepper-0123456789");
+  public static final String REFRESH_TOKEN_SIGNING_KEY =
+      System.getenv()
+          .getOrDefault(
+              "GUARDIAN_REFRESH_TOKEN_SIGNING_KEY",
+              "guardian-it-refresh-token-signing-key-0123456789");
   public static final String REDIRECT_URIS = "redirect_uris";
   public static final String CONTACTS = "contacts";
   public static final String GRANT_TYPES = "grant_types";
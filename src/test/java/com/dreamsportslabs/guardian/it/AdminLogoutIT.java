@@ -98,6 +98,22 @@ class AdminLogoutIT {
         equalTo(true));
   }
 
+  @Test
+  @DisplayName("Should revoke refresh tokens stored before token hashes")
+  void testAdminLogoutRevokesLegacyRefreshToken() {
+    // Arrange
+    String refreshToken = DbUtils.insertLegacyRefreshToken(TENANT_ID, VALID_USER_ID, 1800L);
+
+    // Act
+    ApplicationIoUtils.adminLogout(TENANT_ID, validAuthHeader, VALID_USER_ID)
+        .then()
+        .statusCode(204);
+
+    // Assert
+    assertThat(DbUtils.isRefreshTokenRevoked(refreshToken, TENANT_ID), equalTo(true));
+    assertThat(DbUtils.isLegacyRefreshTokenActive(TENANT_ID, refreshToken), equalTo(false));
+  }
+
   @Test
   @DisplayName("Should return 401 when admin credentials are invalid")
   void testAdminLogoutWithInvalidCredentials() {
@@ -16,6 +16,7 @@ import static com.dreamsportslabs.guardian.Constants.CLIENT_NAME_REQUIRED;
 import static com.dreamsportslabs.guardian.Constants.CLIENT_NOT_FOUND;
 import static com.dreamsportslabs.guardian.Constants.CLIENT_NOT_FOUND_MSG;
 import static com.dreamsportslabs.guardian.Constants.CLIENT_SECRET;
+import static com.dreamsportslabs.guardian.Constants.CLIENT_SECRET_HASH;
 import static com.dreamsportslabs.guardian.Constants.CLIENT_URI;
 import static com.dreamsportslabs.guardian.Constants.CODE;
 import static com.dreamsportslabs.guardian.Constants.CONTACTS;
@@ -64,6 +65,7 @@ import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.getClient;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.listClients;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.regenerateClientSecret;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.updateClient;
+import static com.dreamsportslabs.guardian.utils.ClientUtils.hashClientSecret;
 import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
 import static org.apache.http.HttpStatus.SC_CREATED;
 import static org.apache.http.HttpStatus.SC_NOT_FOUND;
@@ -77,6 +79,7 @@ import static org.hamcrest.Matchers.isA;
 import static org.hamcrest.Matchers.matchesPattern;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 import com.dreamsportslabs.guardian.utils.DbUtils;
 import io.restassured.response.Response;
@@ -145,11 +148,13 @@ public class ClientResourceIT {
     JsonObject resultSet = DbUtils.getClient(tenant1, clientId);
     assertThat(resultSet, notNullValue());
     assertThat(resultSet.getString(CLIENT_NAME), equalTo(requestBody.get(CLIENT_NAME)));
+    // Plaintext is kept until client_secret_store_plaintext is turned off after a rollout
     assertThat(
         resultSet.getString(CLIENT_SECRET), equalTo(response.jsonPath().getString(CLIENT_SECRET)));
-    assertThat(resultSet.getString(CLIENT_URI), equalTo(requestBody.get(CLIENT_URI)));
     assertThat(
-        resultSet.getString(CLIENT_SECRET).length(), greaterThanOrEqualTo(MIN_SECRET_LENGTH));
+        resultSet.getString(CLIENT_SECRET_HASH),
+        equalTo(hashClientSecret(response.jsonPath().getString(CLIENT_SECRET))));
+    assertThat(resultSet.getString(CLIENT_URI), equalTo(requestBody.get(CLIENT_URI)));
     assertThat(resultSet.getString(REDIRECT_URIS), equalTo("[\"" + EXAMPLE_CALLBACK + "\"]"));
     assertThat(resultSet.getString(CONTACTS), equalTo("[\"" + ADMIN_EMAIL + "\"]"));
     assertThat(
@@ -234,7 +239,7 @@ public class ClientResourceIT {
         .statusCode(SC_OK)
         .body(CLIENT_ID, equalTo(clientId))
         .body(CLIENT_NAME, notNullValue())
-        .body(CLIENT_SECRET, notNullValue());
+        .body(CLIENT_SECRET, nullValue());
   }
 
   @Test
@@ -598,7 +603,10 @@ public class ClientResourceIT {
     Response response = updateClient(tenant1, clientId, updateRequest);
 
     // Validate
-    response.then().statusCode(SC_OK).body(CLIENT_SECRET, equalTo(originalSecret));
+    response.then().statusCode(SC_OK).body(CLIENT_SECRET, nullValue());
+    assertThat(
+        DbUtils.getClient(tenant1, clientId).getString(CLIENT_SECRET_HASH),
+        equalTo(hashClientSecret(originalSecret)));
   }
 
   @Test
@@ -630,7 +638,7 @@ public class ClientResourceIT {
     assertThat(resultSet, notNullValue());
     assertThat(resultSet.getString(CLIENT_NAME), equalTo(originalName));
     assertThat(resultSet.getString(CLIENT_URI), equalTo(originalUri));
-    assertThat(resultSet.getString(CLIENT_SECRET), equalTo(originalSecret));
+    assertThat(resultSet.getString(CLIENT_SECRET_HASH), equalTo(hashClientSecret(originalSecret)));
   }
 
   @Test
@@ -732,7 +740,7 @@ public class ClientResourceIT {
     assertThat(newSecret.length(), equalTo(MIN_SECRET_LENGTH));
     JsonObject resultSet = DbUtils.getClient(tenant1, clientId);
     assertThat(resultSet, notNullValue());
-    assertThat(resultSet.getString(CLIENT_SECRET), equalTo(newSecret));
+    assertThat(resultSet.getString(CLIENT_SECRET_HASH), equalTo(hashClientSecret(newSecret)));
   }
 
   @Test
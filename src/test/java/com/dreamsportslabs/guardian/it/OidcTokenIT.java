@@ -27,6 +27,7 @@ import static com.dreamsportslabs.guardian.Constants.CLIENT_CREDENTIALS_SEPARATO
 import static com.dreamsportslabs.guardian.Constants.CLIENT_ID;
 import static com.dreamsportslabs.guardian.Constants.CLIENT_NAME;
 import static com.dreamsportslabs.guardian.Constants.CLIENT_SECRET;
+import static com.dreamsportslabs.guardian.Constants.CLIENT_SECRET_HASH;
 import static com.dreamsportslabs.guardian.Constants.CONTENT_TYPE_APPLICATION_JSON;
 import static com.dreamsportslabs.guardian.Constants.CONTENT_TYPE_FORM_URLENCODED;
 import static com.dreamsportslabs.guardian.Constants.DEVICE_VALUE;
@@ -144,6 +145,7 @@ import static org.hamcrest.CoreMatchers.isA;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
 
 import com.dreamsportslabs.guardian.utils.ApplicationIoUtils;
 import com.dreamsportslabs.guardian.utils.ClientUtils;
@@ -156,6 +158,7 @@ import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 import io.fusionauth.jwt.domain.JWT;
 import io.fusionauth.jwt.rsa.RSAVerifier;
 import io.restassured.response.Response;
+import io.vertx.core.json.JsonObject;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -574,6 +577,38 @@ public class OidcTokenIT {
         null);
   }
 
+  @Test
+  @DisplayName(
+      "Client Credentials - Should authenticate a client stored before hashing and hash its secret")
+  public void testClientCredentialsHashesLegacyClientSecret() throws InterruptedException {
+    // Arrange
+    DbUtils.setLegacyClientSecret(tenant1, validClientId, validClientSecret);
+    Map<String, String> headers = new HashMap<>();
+    headers.put(HEADER_AUTHORIZATION, getBasicAuthHeader(validClientId, validClientSecret));
+    headers.put(HEADER_CONTENT_TYPE, CONTENT_TYPE_FORM_URLENCODED);
+    Map<String, String> formParams = new HashMap<>();
+    formParams.put(TOKEN_PARAM_GRANT_TYPE, CLIENT_CREDENTIALS);
+
+    // Act
+    Response response = ApplicationIoUtils.token(tenant1, headers, formParams);
+
+    // Validate
+    response.then().statusCode(200).body(TOKEN_PARAM_ACCESS_TOKEN, isA(String.class));
+
+    // The hash is written in the background after the successful authentication
+    JsonObject client = DbUtils.getClient(tenant1, validClientId);
+    for (int i = 0; i < 20 && client.getString(CLIENT_SECRET_HASH) == null; i++) {
+      Thread.sleep(100);
+      client = DbUtils.getClient(tenant1, validClientId);
+    }
+    assertThat(
+        client.getString(CLIENT_SECRET_HASH),
+        equalTo(ClientUtils.hashClientSecret(validClientSecret)));
+    assertThat(client.getString(CLIENT_SECRET), equalTo(validClientSecret));
+
+    ApplicationIoUtils.token(tenant1, headers, formParams).then().statusCode(200);
+  }
+
   @Test
   @DisplayName(
       "Client Credentials - Should return error in case of invalid client credentials - basic auth")
@@ -792,7 +827,7 @@ public class OidcTokenIT {
         expectedScopes,
         notExpectedScopes,
         true,
-        refreshToken);
+        response.jsonPath().getString(TOKEN_PARAM_REFRESH_TOKEN));
     wireMockServer.removeStub(stubMapping);
   }
 
@@ -848,7 +883,46 @@ public class OidcTokenIT {
         expectedScopes,
         notExpectedScopes,
         true,
-        refreshToken);
+        response.jsonPath().getString(TOKEN_PARAM_REFRESH_TOKEN));
+  }
+
+  @Test
+  @DisplayName(
+      "Refresh Token - Should accept and rotate a refresh token stored before token hashes")
+  public void testRefreshTokenLegacyRow() throws InterruptedException {
+    // Arrange
+    List<String> scopes = Arrays.asList(SCOPE_OPENID, SCOPE_EMAIL);
+    String refreshToken =
+        DbUtils.insertLegacyOidcRefreshToken(
+            tenant1, validClientId, TEST_USER_ID, REFRESH_TOKEN_EXPIRY_SECONDS, scopes);
+
+    Map<String, String> headers = new HashMap<>();
+    headers.put(HEADER_CONTENT_TYPE, CONTENT_TYPE_FORM_URLENCODED);
+    Map<String, String> formParams = new HashMap<>();
+    formParams.put(TOKEN_PARAM_GRANT_TYPE, REFRESH_TOKEN);
+    formParams.put(CLIENT_ID, validClientId);
+    formParams.put(CLIENT_SECRET, validClientSecret);
+    formParams.put(TOKEN_PARAM_REFRESH_TOKEN, refreshToken);
+
+    // Act
+    Response response = ApplicationIoUtils.token(tenant1, headers, formParams);
+
+    // Validate
+    response
+        .then()
+        .statusCode(200)
+        .body(TOKEN_PARAM_ACCESS_TOKEN, isA(String.class))
+        .body(TOKEN_PARAM_REFRESH_TOKEN, not(equalTo(refreshToken)));
+    validateScope(response, SCOPE_OPENID, SCOPE_EMAIL);
+
+    // The legacy row is revoked once the rotated token is saved
+    boolean isActive =
+        DbUtils.isLegacyOidcRefreshTokenActive(tenant1, validClientId, refreshToken);
+    for (int i = 0; i < 20 && isActive; i++) {
+      Thread.sleep(100);
+      isActive = DbUtils.isLegacyOidcRefreshTokenActive(tenant1, validClientId, refreshToken);
+    }
+    assertThat(isActive, equalTo(false));
   }
 
   @Test
@@ -903,7 +977,7 @@ public class OidcTokenIT {
         expectedScopes,
         notExpectedScopes,
         true,
-        refreshToken);
+        response.jsonPath().getString(TOKEN_PARAM_REFRESH_TOKEN));
   }
 
   @Test
@@ -959,7 +1033,7 @@ public class OidcTokenIT {
         expectedScopes,
         notExpectedScopes,
         true,
-        refreshToken);
+        response.jsonPath().getString(TOKEN_PARAM_REFRESH_TOKEN));
   }
 
   @Test
@@ -1023,6 +1097,81 @@ public class OidcTokenIT {
         .body(ERROR_DESCRIPTION, equalTo(TOKEN_ERROR_MSG_REFRESH_TOKEN_INVALID));
   }
 
+  @Test
+  @DisplayName(
+      "Refresh Token - Should revoke the token family when a rotated refresh token is reused")
+  public void testRefreshTokenReuseRevokesFamily() {
+    // Arrange
+    List<String> scopes = Arrays.asList(SCOPE_OPENID, SCOPE_EMAIL);
+    String refreshToken =
+        DbUtils.insertOidcRefreshToken(
+            tenant1,
+            validClientId,
+            TEST_USER_ID,
+            REFRESH_TOKEN_EXPIRY_SECONDS,
+            scopes,
+            true,
+            TEST_DEVICE_NAME,
+            TEST_IP_ADDRESS);
+
+    Map<String, String> headers = new HashMap<>();
+    headers.put(HEADER_AUTHORIZATION, getBasicAuthHeader(validClientId, validClientSecret));
+    headers.put(HEADER_CONTENT_TYPE, CONTENT_TYPE_FORM_URLENCODED);
+    Map<String, String> formParams = new HashMap<>();
+    formParams.put(TOKEN_PARAM_GRANT_TYPE, REFRESH_TOKEN);
+    formParams.put(TOKEN_PARAM_REFRESH_TOKEN, refreshToken);
+
+    Response rotatedResponse = ApplicationIoUtils.token(tenant1, headers, formParams);
+    rotatedResponse.then().statusCode(200);
+    String rotatedRefreshToken = rotatedResponse.jsonPath().getString(TOKEN_PARAM_REFRESH_TOKEN);
+    assertThat(rotatedRefreshToken, not(equalTo(refreshToken)));
+
+    // Act
+    Response reusedResponse = ApplicationIoUtils.token(tenant1, headers, formParams);
+    formParams.put(TOKEN_PARAM_REFRESH_TOKEN, rotatedRefreshToken);
+    Response revokedResponse = ApplicationIoUtils.token(tenant1, headers, formParams);
+
+    // Validate
+    reusedResponse
+        .then()
+        .statusCode(400)
+        .body(ERROR, equalTo(TOKEN_ERROR_INVALID_GRANT))
+        .body(ERROR_DESCRIPTION, equalTo(TOKEN_ERROR_MSG_REFRESH_TOKEN_INVALID));
+    revokedResponse
+        .then()
+        .statusCode(400)
+        .body(ERROR, equalTo(TOKEN_ERROR_INVALID_GRANT))
+        .body(ERROR_DESCRIPTION, equalTo(TOKEN_ERROR_MSG_REFRESH_TOKEN_INVALID));
+  }
+
+  @Test
+  @DisplayName(
+      "Refresh Token - Should reject a rotated refresh token whose family is missing in Redis")
+  public void testRotatedRefreshTokenWithoutFamily() {
+    // Arrange
+    List<String> scopes = Arrays.asList(SCOPE_OPENID, SCOPE_EMAIL);
+    String refreshToken =
+        DbUtils.insertRotatedOidcRefreshToken(
+            tenant1, validClientId, TEST_USER_ID, REFRESH_TOKEN_EXPIRY_SECONDS, scopes);
+
+    Map<String, String> headers = new HashMap<>();
+    headers.put(HEADER_AUTHORIZATION, getBasicAuthHeader(validClientId, validClientSecret));
+    headers.put(HEADER_CONTENT_TYPE, CONTENT_TYPE_FORM_URLENCODED);
+    Map<String, String> formParams = new HashMap<>();
+    formParams.put(TOKEN_PARAM_GRANT_TYPE, REFRESH_TOKEN);
+    formParams.put(TOKEN_PARAM_REFRESH_TOKEN, refreshToken);
+
+    // Act
+    Response response = ApplicationIoUtils.token(tenant1, headers, formParams);
+
+    // Validate
+    response
+        .then()
+        .statusCode(400)
+        .body(ERROR, equalTo(TOKEN_ERROR_INVALID_GRANT))
+        .body(ERROR_DESCRIPTION, equalTo(TOKEN_ERROR_MSG_REFRESH_TOKEN_INVALID));
+  }
+
   @Test
   @DisplayName("Refresh Token - Should return error for refresh token of different client")
   public void testRefreshTokenDifferentClient() {
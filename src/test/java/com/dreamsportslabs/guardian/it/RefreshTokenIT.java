@@ -13,6 +13,7 @@ import static com.dreamsportslabs.guardian.Constants.JWT_CLAIM_TENANT_ID;
 import static com.dreamsportslabs.guardian.Constants.JWT_HEADER_KID;
 import static com.dreamsportslabs.guardian.constant.Constants.ACCESS_TOKEN_COOKIE_NAME;
 import static com.dreamsportslabs.guardian.constant.Constants.REFRESH_TOKEN_COOKIE_NAME;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.logout;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.refreshToken;
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
@@ -45,7 +46,8 @@ import org.junit.jupiter.api.Test;
 @Slf4j
 public class RefreshTokenIT {
   public static String tenant1 = "tenant1"; // OTP is mocked for this tenant
-  public static String tenant3 = "tenant3"; // Additional claims are enabled for this tenant
+  // Additional claims and self-contained refresh tokens are enabled for this tenant
+  public static String tenant3 = "tenant3";
 
   private final ObjectMapper objectMapper = new ObjectMapper();
   private WireMockServer wireMockServer;
@@ -145,6 +147,44 @@ public class RefreshTokenIT {
     assertThat(response.getCookie(REFRESH_TOKEN_COOKIE_NAME), equalTo(""));
   }
 
+  @Test()
+  @DisplayName("Should accept a refresh token stored before token hashes")
+  public void testLegacyRefreshToken() {
+    // Arrange
+    String userId = "1234";
+    String refreshToken = DbUtils.insertLegacyRefreshToken(tenant1, userId, 1800L);
+
+    // Act
+    Response response = refreshToken(tenant1, refreshToken);
+
+    // Validate
+    response.then().statusCode(HttpStatus.SC_OK).body("accessToken", isA(String.class));
+    String accessToken = response.getBody().jsonPath().getString("accessToken");
+    Path path = Paths.get("src/test/resources/test-data/tenant1-public-key.pem");
+
+    JWT jwt = JWT.getDecoder().decode(accessToken, RSAVerifier.newVerifier(path));
+    Map<String, Object> claims = jwt.getAllClaims();
+    assertThat(claims.get(JWT_CLAIM_SUB), equalTo(userId));
+    assertThat(
+        claims.get(JWT_CLAIM_RFT_ID), equalTo(DigestUtils.md5Hex(refreshToken).toUpperCase()));
+  }
+
+  @Test()
+  @DisplayName("Should invalidate a refresh token stored before token hashes on logout")
+  public void testLogoutLegacyRefreshToken() {
+    // Arrange
+    String userId = "1234";
+    String refreshToken = DbUtils.insertLegacyRefreshToken(tenant1, userId, 1800L);
+
+    // Act
+    Response response = logout(tenant1, refreshToken);
+
+    // Validate
+    response.then().statusCode(HttpStatus.SC_NO_CONTENT);
+    assertThat(DbUtils.isLegacyRefreshTokenActive(tenant1, refreshToken), is(false));
+    refreshToken(tenant1, refreshToken).then().statusCode(HttpStatus.SC_UNAUTHORIZED);
+  }
+
   @Test()
   @DisplayName("Should add additional claims in Access Token if setting is enabled")
   public void testAdditionalClaimsEnabledRefreshToken() {
@@ -236,6 +276,76 @@ public class RefreshTokenIT {
     wireMockServer.removeStub(stub);
   }
 
+  @Test()
+  @DisplayName("Should generate access token for a valid self-contained refresh token")
+  public void testSelfContainedRefreshToken() {
+    // Arrange
+    String userId = "1234";
+    StubMapping stub = getStubForUserInfoWithAdditionalClaims(userId);
+    String refreshToken = DbUtils.insertSelfContainedRefreshToken(tenant3, userId, 1800L);
+
+    // Act
+    Response response = refreshToken(tenant3, refreshToken);
+
+    // Validate
+    response.then().statusCode(HttpStatus.SC_OK).body("accessToken", isA(String.class));
+    String accessToken = response.getBody().jsonPath().getString("accessToken");
+    Path path = Paths.get("src/test/resources/test-data/tenant3-public-key.pem");
+
+    JWT jwt = JWT.getDecoder().decode(accessToken, RSAVerifier.newVerifier(path));
+    Map<String, Object> claims = jwt.getAllClaims();
+    assertThat(claims.get(JWT_CLAIM_SUB), equalTo(userId));
+    assertThat(
+        claims.get(JWT_CLAIM_RFT_ID), equalTo(DigestUtils.md5Hex(refreshToken).toUpperCase()));
+    wireMockServer.removeStub(stub);
+  }
+
+  @Test()
+  @DisplayName("Should reject a self-contained refresh token that was tampered with")
+  public void testTamperedSelfContainedRefreshToken() {
+    // Arrange
+    String refreshToken = DbUtils.insertSelfContainedRefreshToken(tenant3, "1234", 1800L);
+    String otherUserToken = DbUtils.insertSelfContainedRefreshToken(tenant3, "5678", 1800L);
+    String tamperedToken =
+        otherUserToken.substring(0, otherUserToken.lastIndexOf('.'))
+            + refreshToken.substring(refreshToken.lastIndexOf('.'));
+
+    // Act
+    Response response = refreshToken(tenant3, tamperedToken);
+
+    // Validate
+    response.then().statusCode(HttpStatus.SC_UNAUTHORIZED);
+  }
+
+  @Test()
+  @DisplayName("Should reject a self-contained refresh token of another tenant")
+  public void testSelfContainedRefreshTokenOfAnotherTenant() {
+    // Arrange
+    String refreshToken = DbUtils.insertSelfContainedRefreshToken(tenant1, "1234", 1800L);
+
+    // Act
+    Response response = refreshToken(tenant3, refreshToken);
+
+    // Validate
+    response.then().statusCode(HttpStatus.SC_UNAUTHORIZED);
+  }
+
+  @Test()
+  @DisplayName("Should reject a self-contained refresh token once logged out")
+  public void testLogoutSelfContainedRefreshToken() {
+    // Arrange
+    String refreshToken = DbUtils.insertSelfContainedRefreshToken(tenant3, "1234", 1800L);
+
+    // Act
+    Response response = logout(tenant3, refreshToken);
+
+    // Validate
+    response.then().statusCode(HttpStatus.SC_NO_CONTENT);
+    // The revocation is written before the logout responds
+    assertThat(DbUtils.isRefreshTokenRevoked(refreshToken, tenant3), is(true));
+    refreshToken(tenant3, refreshToken).then().statusCode(HttpStatus.SC_UNAUTHORIZED);
+  }
+
   private StubMapping getStubForUserInfoWithAdditionalClaims(String userId) {
 
     JsonNode jsonNode =
@@ -0,0 +1,58 @@
+package com.dreamsportslabs.guardian.it;
+
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.refreshToken;
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.dreamsportslabs.guardian.injection.GuiceInjector;
+import com.dreamsportslabs.guardian.utils.DbUtils;
+import com.dreamsportslabs.guardian.verticle.RefreshTokenPurgeVerticle;
+import io.vertx.rxjava3.core.Vertx;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class RefreshTokenPurgeIT {
+  private static final String TENANT_ID = "tenant1";
+  // Far enough in the past that rows other tests insert as expired are kept
+  private static final long RETENTION = TimeUnit.DAYS.toSeconds(5);
+  private static final long EXPIRED = -TimeUnit.DAYS.toSeconds(10);
+
+  @Test
+  @DisplayName("Should purge expired refresh tokens over several batches and keep live ones")
+  public void testPurgeAcrossBatches() throws InterruptedException {
+    // Arrange
+    String userId = randomAlphanumeric(10);
+    for (int i = 0; i < 5; i++) {
+      DbUtils.insertRefreshToken(
+          TENANT_ID, userId, EXPIRED, "source", "device1", "location", "1.2.3.4");
+    }
+    List<String> liveTokens = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      liveTokens.add(
+          DbUtils.insertRefreshToken(
+              TENANT_ID, userId, 1800L, "source", "device1", "location", "1.2.3.4"));
+    }
+    Vertx vertx = GuiceInjector.getGuiceInjector().getInstance(Vertx.class);
+
+    // Act
+    String deploymentId =
+        vertx.rxDeployVerticle(new RefreshTokenPurgeVerticle(1, 2, 0, RETENTION)).blockingGet();
+    int remaining = DbUtils.countRefreshTokens(TENANT_ID, userId);
+    for (int i = 0; i < 50 && remaining > liveTokens.size(); i++) {
+      Thread.sleep(100);
+      remaining = DbUtils.countRefreshTokens(TENANT_ID, userId);
+    }
+    vertx.rxUndeploy(deploymentId).blockingAwait();
+
+    // Validate
+    assertThat(remaining, equalTo(liveTokens.size()));
+    for (String liveToken : liveTokens) {
+      refreshToken(TENANT_ID, liveToken).then().statusCode(HttpStatus.SC_OK);
+    }
+  }
+}
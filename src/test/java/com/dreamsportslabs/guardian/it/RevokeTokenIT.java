@@ -169,6 +169,31 @@ class RevokeTokenIT {
     assertFalse(isActive, "Refresh token should be inactive after revocation");
   }
 
+  @Test
+  @DisplayName("Should revoke a refresh token stored before token hashes")
+  void testRevokeLegacyRefreshToken() {
+    // Arrange
+    List<String> scopes = Arrays.asList(SCOPE_OPENID, SCOPE_EMAIL, SCOPE_PHONE);
+    String refreshToken =
+        DbUtils.insertLegacyOidcRefreshToken(
+            tenant1, validClientId, TEST_USER_ID, REFRESH_TOKEN_EXPIRY_SECONDS, scopes);
+
+    Map<String, String> headers = new HashMap<>();
+    headers.put(HEADER_AUTHORIZATION, getBasicAuthHeader(validClientId, validClientSecret));
+    headers.put(HEADER_CONTENT_TYPE, CONTENT_TYPE_FORM_URLENCODED);
+    Map<String, String> formParams = new HashMap<>();
+    formParams.put(TOKEN, refreshToken);
+
+    // Act
+    Response response = revokeToken(tenant1, headers, formParams);
+
+    // Assert
+    response.then().statusCode(SC_OK);
+    boolean isActive =
+        DbUtils.isLegacyOidcRefreshTokenActive(tenant1, validClientId, refreshToken);
+    assertFalse(isActive, "Refresh token should be inactive after revocation");
+  }
+
   @Test
   @DisplayName("Should return 200 for invalid refresh token")
   void testRevokeTokenInvalidToken() {
@@ -161,6 +161,84 @@ public class RsaKeyGenerationIT {
     assertThat(publicKey.getString(RSA_KEY_EXPONENT), equalTo(RSA_KEY_EXPONENT_AQAB));
   }
 
+  @Test
+  @DisplayName("Should generate EC key with defaults successfully")
+  void generateEcKeyWithDefaults() {
+    // Arrange
+    Map<String, Object> requestBody = new HashMap<>();
+    requestBody.put(KEY_GENERATION_KEY_TYPE, KEY_TYPE_EC);
+
+    // Act
+    Response response = generateRsaKey(requestBody);
+
+    // Assert
+    response
+        .then()
+        .statusCode(200)
+        .body(RSA_KEY_KID, isA(String.class))
+        .body(RSA_KEY_PUBLIC_KEY, containsString(PEM_PUBLIC_KEY_HEADER))
+        .body(RSA_KEY_PRIVATE_KEY, isA(String.class))
+        .body(RSA_KEY_SIZE, equalTo(EC_KEY_SIZE_256));
+  }
+
+  @Test
+  @DisplayName("Should generate EC key in JWKS format")
+  void generateEcKeyInJwksFormat() {
+    // Arrange
+    Map<String, Object> requestBody = new HashMap<>();
+    requestBody.put(KEY_GENERATION_KEY_TYPE, KEY_TYPE_EC);
+    requestBody.put(RSA_KEY_FORMAT, RSA_FORMAT_JWKS);
+
+    // Act
+    Response response = generateRsaKey(requestBody);
+
+    // Assert
+    response.then().statusCode(200);
+
+    JsonObject publicKey = extractResponseBody(response).getJsonObject(RSA_KEY_PUBLIC_KEY);
+    assertThat(publicKey.getString(RSA_KEY_TYPE), equalTo(KEY_TYPE_EC));
+    assertThat(publicKey.getString(EC_KEY_CURVE), equalTo(EC_CURVE_P256));
+  }
+
+  @Test
+  @DisplayName("Should return error for invalid EC key size")
+  void generateEcKeyWithInvalidKeySize() {
+    // Arrange
+    Map<String, Object> requestBody = new HashMap<>();
+    requestBody.put(KEY_GENERATION_KEY_TYPE, KEY_TYPE_EC);
+    requestBody.put(RSA_KEY_SIZE, RSA_KEY_SIZE_2048);
+
+    // Act
+    Response response = generateRsaKey(requestBody);
+
+    // Assert
+    response
+        .then()
+        .statusCode(400)
+        .rootPath(ERROR)
+        .body(CODE, equalTo(ERROR_INVALID_REQUEST))
+        .body(MESSAGE, equalTo(ERROR_MSG_INVALID_EC_KEY_LENGTH));
+  }
+
+  @Test
+  @DisplayName("Should return error for invalid key type")
+  void generateKeyWithInvalidKeyType() {
+    // Arrange
+    Map<String, Object> requestBody = new HashMap<>();
+    requestBody.put(KEY_GENERATION_KEY_TYPE, KEY_TYPE_INVALID);
+
+    // Act
+    Response response = generateRsaKey(requestBody);
+
+    // Assert
+    response
+        .then()
+        .statusCode(400)
+        .rootPath(ERROR)
+        .body(CODE, equalTo(ERROR_INVALID_REQUEST))
+        .body(MESSAGE, equalTo(ERROR_MSG_INVALID_KEY_TYPE));
+  }
+
   @Test
   @DisplayName("Should generate different keys on multiple calls")
   void generateMultipleRsaKeysAreDifferent() {
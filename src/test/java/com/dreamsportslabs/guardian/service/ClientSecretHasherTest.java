@@ -0,0 +1,92 @@
+package com.dreamsportslabs.guardian.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.dreamsportslabs.guardian.dao.model.ClientModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ClientSecretHasherTest {
+  private static final String PEPPER = "client-secret-hasher-test-pepper-0123456789";
+  private static final String SECRET = "Xq3Lr8Vt2Zk9Pw4Nc7Jm1Hs6Bd5Gf0Ay";
+
+  private final ClientSecretHasher hasher = new ClientSecretHasher(PEPPER, true, 3600, 100);
+
+  private ClientModel client(String secret, String secretHash) {
+    return ClientModel.builder()
+        .tenantId("tenant1")
+        .clientId("client1")
+        .clientSecret(secret)
+        .clientSecretHash(secretHash)
+        .build();
+  }
+
+  @Test
+  @DisplayName("Should reject a missing, short or default pepper")
+  public void testRejectsWeakPepper() {
+    assertThrows(IllegalArgumentException.class, () -> new ClientSecretHasher(null, true, 60, 1));
+    assertThrows(IllegalArgumentException.class, () -> new ClientSecretHasher(" ", true, 60, 1));
+    assertThrows(
+        IllegalArgumentException.class, () -> new ClientSecretHasher("short-pepper", true, 60, 1));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ClientSecretHasher("guardian-client-secret-pepper", true, 60, 1));
+  }
+
+  @Test
+  @DisplayName("Should hash deterministically per pepper")
+  public void testHash() {
+    ClientSecretHasher otherPepper =
+        new ClientSecretHasher("another-client-secret-hasher-pepper-9876543210", true, 60, 1);
+
+    assertThat(hasher.hash(SECRET), equalTo(hasher.hash(SECRET)));
+    assertThat(hasher.hash(SECRET).length(), equalTo(64));
+    assertThat(hasher.hash(SECRET), not(equalTo(otherPepper.hash(SECRET))));
+  }
+
+  @Test
+  @DisplayName("Should verify a secret against its hash")
+  public void testVerifyHashedSecret() {
+    ClientModel client = client(null, hasher.hash(SECRET));
+
+    assertThat(hasher.verify(client, SECRET), is(true));
+    // Served from the verified digest cache
+    assertThat(hasher.verify(client, SECRET), is(true));
+    assertThat(hasher.verify(client, SECRET + "x"), is(false));
+    assertThat(hasher.verify(client, null), is(false));
+  }
+
+  @Test
+  @DisplayName("Should not accept a cached secret once the client's hash changed")
+  public void testVerifyAfterSecretRegenerated() {
+    assertThat(hasher.verify(client(null, hasher.hash(SECRET)), SECRET), is(true));
+
+    ClientModel regenerated = client(null, hasher.hash("new-secret"));
+
+    assertThat(hasher.verify(regenerated, SECRET), is(false));
+    assertThat(hasher.verify(regenerated, "new-secret"), is(true));
+  }
+
+  @Test
+  @DisplayName("Should verify a client stored before hashing against its plaintext")
+  public void testVerifyLegacySecret() {
+    ClientModel client = client(SECRET, null);
+
+    assertThat(hasher.verify(client, SECRET), is(true));
+    assertThat(hasher.verify(client, SECRET + "x"), is(false));
+    assertThat(hasher.verify(client(null, null), SECRET), is(false));
+  }
+
+  @Test
+  @DisplayName("Should prefer the hash when the plaintext is still stored")
+  public void testVerifyPrefersHash() {
+    ClientModel client = client("stale-plaintext", hasher.hash(SECRET));
+
+    assertThat(hasher.verify(client, SECRET), is(true));
+    assertThat(hasher.verify(client, "stale-plaintext"), is(false));
+  }
+}
@@ -0,0 +1,97 @@
+package com.dreamsportslabs.guardian.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class RefreshTokenSignerTest {
+  private static final String KEY = "refresh-token-signer-test-key-0123456789";
+  private static final String TENANT_ID = "tenant1";
+  private static final String USER_ID = "user1";
+  private static final long NOW = 1_700_000_000L;
+  private static final long EXPIRY = NOW + 3600;
+
+  private final RefreshTokenSigner signer = new RefreshTokenSigner(KEY);
+
+  @Test
+  @DisplayName("Should reject a short or default signing key")
+  public void testRejectsWeakKey() {
+    assertThrows(IllegalArgumentException.class, () -> new RefreshTokenSigner("short-key"));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new RefreshTokenSigner("guardian-refresh-token-signing-key"));
+  }
+
+  @Test
+  @DisplayName("Should neither issue nor accept tokens without a signing key")
+  public void testDisabledWithoutKey() {
+    RefreshTokenSigner disabled = new RefreshTokenSigner(null);
+    String refreshToken = signer.sign(TENANT_ID, USER_ID, EXPIRY);
+
+    assertThat(disabled.isEnabled(), is(false));
+    assertThat(new RefreshTokenSigner(" ").isEnabled(), is(false));
+    assertThrows(IllegalStateException.class, () -> disabled.sign(TENANT_ID, USER_ID, EXPIRY));
+    assertThat(disabled.verify(refreshToken, TENANT_ID, NOW), nullValue());
+  }
+
+  @Test
+  @DisplayName("Should verify a token it signed")
+  public void testVerify() {
+    String refreshToken = signer.sign(TENANT_ID, USER_ID, EXPIRY);
+
+    assertThat(signer.isSigned(refreshToken), is(true));
+    assertThat(signer.verify(refreshToken, TENANT_ID, NOW), equalTo(USER_ID));
+  }
+
+  @Test
+  @DisplayName("Should reject a token with a tampered mac or payload")
+  public void testRejectsTamperedToken() {
+    String refreshToken = signer.sign(TENANT_ID, USER_ID, EXPIRY);
+    int macStart = refreshToken.lastIndexOf('.');
+    String otherPayload = signer.sign(TENANT_ID, "user2", EXPIRY);
+
+    char macChar = refreshToken.charAt(macStart + 1);
+    String tamperedMac =
+        refreshToken.substring(0, macStart + 1)
+            + (macChar == 'A' ? 'B' : 'A')
+            + refreshToken.substring(macStart + 2);
+    String swappedPayload =
+        otherPayload.substring(0, otherPayload.lastIndexOf('.')) + refreshToken.substring(macStart);
+
+    assertThat(signer.verify(tamperedMac, TENANT_ID, NOW), nullValue());
+    assertThat(signer.verify(swappedPayload, TENANT_ID, NOW), nullValue());
+    assertThat(signer.verify(refreshToken.substring(0, macStart), TENANT_ID, NOW), nullValue());
+    assertThat(signer.verify(refreshToken + "!", TENANT_ID, NOW), nullValue());
+  }
+
+  @Test
+  @DisplayName("Should reject a token signed with another key")
+  public void testRejectsOtherKey() {
+    RefreshTokenSigner other =
+        new RefreshTokenSigner("another-refresh-token-signer-key-9876543210");
+
+    assertThat(signer.verify(other.sign(TENANT_ID, USER_ID, EXPIRY), TENANT_ID, NOW), nullValue());
+  }
+
+  @Test
+  @DisplayName("Should reject a token of another tenant")
+  public void testRejectsOtherTenant() {
+    String refreshToken = signer.sign("tenant2", USER_ID, EXPIRY);
+
+    assertThat(signer.verify(refreshToken, TENANT_ID, NOW), nullValue());
+  }
+
+  @Test
+  @DisplayName("Should reject an expired token")
+  public void testRejectsExpiredToken() {
+    String refreshToken = signer.sign(TENANT_ID, USER_ID, EXPIRY);
+
+    assertThat(signer.verify(refreshToken, TENANT_ID, EXPIRY), nullValue());
+    assertThat(signer.verify(refreshToken, TENANT_ID, EXPIRY + 1), nullValue());
+  }
+}
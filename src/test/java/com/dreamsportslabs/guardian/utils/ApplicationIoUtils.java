@@ -81,6 +81,16 @@ public class ApplicationIoUtils {
     return execute(body, headers, new HashMap<>(), spec -> spec.post("/v1/refreshToken"));
   }
 
+  public static Response logout(String tenantId, String refreshToken) {
+    Map<String, String> headers = new HashMap<>();
+    headers.put(HEADER_TENANT_ID, tenantId);
+
+    Map<String, Object> body = new HashMap<>();
+    body.put(BODY_PARAM_REFRESH_TOKEN, refreshToken);
+
+    return execute(body, headers, new HashMap<>(), spec -> spec.post("/v1/logout"));
+  }
+
   public static Response passwordlessInit(
       String tenantId,
       String flow,
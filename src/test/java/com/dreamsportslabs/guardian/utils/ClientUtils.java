@@ -2,10 +2,15 @@ package com.dreamsportslabs.guardian.utils;
 
 import static com.dreamsportslabs.guardian.Constants.*;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.SneakyThrows;
 
 public class ClientUtils {
 
@@ -32,4 +37,12 @@ public class ClientUtils {
   public static Map<String, Object> createClientScopeRequest(String... scopes) {
     return createClientScopeRequest(Arrays.asList(scopes));
   }
+
+  @SneakyThrows
+  public static String hashClientSecret(String secret) {
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(
+        new SecretKeySpec(CLIENT_SECRET_PEPPER.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+    return HexFormat.of().formatHex(mac.doFinal(secret.getBytes(StandardCharsets.UTF_8)));
+  }
 }
@@ -1,5 +1,11 @@
 package com.dreamsportslabs.guardian.utils;
 
+import static com.dreamsportslabs.guardian.Constants.REFRESH_TOKEN_SIGNING_KEY;
+
+import com.dreamsportslabs.guardian.cache.ClientCache;
+import com.dreamsportslabs.guardian.cache.ScopeCatalog;
+import com.dreamsportslabs.guardian.injection.GuiceInjector;
+import com.dreamsportslabs.guardian.service.RefreshTokenSigner;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.zaxxer.hikari.HikariConfig;
@@ -23,6 +29,10 @@ public class DbUtils {
   private static HikariDataSource mysqlConnectionPool;
   private static JedisPool redisConnectionPool;
   private static final String INSERT_REFRESH_TOKEN =
+      "INSERT INTO refresh_tokens (tenant_id, user_id, token_hash, rft_id, refresh_token_exp, source, device_name, location, ip) VALUES (?, ?, UNHEX(SHA2(?, 256)), UNHEX(MD5(?)), ?, ?, ?, ?, INET6_ATON(?))";
+
+  // Rows as written by the version predating token_hash
+  private static final String INSERT_LEGACY_REFRESH_TOKEN =
       "INSERT INTO refresh_tokens (tenant_id, user_id, refresh_token, refresh_token_exp, source, device_name, location, ip) VALUES (?, ?, ?, ?, ?, ?, ?, INET6_ATON(?))";
 
   private static final String INSERT_USER_CONSENT =
@@ -32,6 +42,9 @@ public class DbUtils {
       "SELECT name, display_name, description, claims, tenant_id, icon_url, is_oidc FROM scope WHERE tenant_id = ? AND name = ?";
 
   private static final String INSERT_OIDC_REFRESH_TOKEN =
+      "INSERT INTO oidc_refresh_token (tenant_id, client_id, user_id, token_hash, refresh_token_exp, scope, is_active, device_name, ip) VALUES (?, ?, ?, UNHEX(SHA2(?, 256)), ?, ?, ?, ?, INET6_ATON(?))";
+
+  private static final String INSERT_LEGACY_OIDC_REFRESH_TOKEN =
       "INSERT INTO oidc_refresh_token (tenant_id, client_id, user_id, refresh_token, refresh_token_exp, scope, is_active, device_name, ip) VALUES (?, ?, ?, ?, ?, ?, ?, ?, INET6_ATON(?))";
 
   public static void initializeRedisConnectionPool(String host, int port) {
@@ -106,11 +119,12 @@ public class DbUtils {
       stmt.setString(1, tenantId);
       stmt.setString(2, userId);
       stmt.setString(3, refreshToken);
-      stmt.setLong(4, Instant.now().getEpochSecond() + exp);
-      stmt.setString(5, source);
-      stmt.setString(6, deviceName);
-      stmt.setString(7, location);
-      stmt.setString(8, ip);
+      stmt.setString(4, refreshToken);
+      stmt.setLong(5, Instant.now().getEpochSecond() + exp);
+      stmt.setString(6, source);
+      stmt.setString(7, deviceName);
+      stmt.setString(8, location);
+      stmt.setString(9, ip);
 
       stmt.executeUpdate();
     } catch (Exception e) {
@@ -121,6 +135,90 @@ public class DbUtils {
     return refreshToken;
   }
 
+  /** Inserts a self-contained refresh token signed like the application signs them. */
+  public static String insertSelfContainedRefreshToken(String tenantId, String userId, long exp) {
+    long refreshTokenExp = Instant.now().getEpochSecond() + exp;
+    String refreshToken =
+        new RefreshTokenSigner(REFRESH_TOKEN_SIGNING_KEY).sign(tenantId, userId, refreshTokenExp);
+
+    try (Connection conn = mysqlConnectionPool.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(INSERT_REFRESH_TOKEN)) {
+      stmt.setString(1, tenantId);
+      stmt.setString(2, userId);
+      stmt.setString(3, refreshToken);
+      stmt.setString(4, refreshToken);
+      stmt.setLong(5, refreshTokenExp);
+      stmt.setString(6, "source");
+      stmt.setString(7, "device1");
+      stmt.setString(8, "location");
+      stmt.setString(9, "1.2.3.4");
+
+      stmt.executeUpdate();
+    } catch (Exception e) {
+      log.error("Error while inserting self-contained refresh token", e);
+      return null;
+    }
+
+    return refreshToken;
+  }
+
+  public static int countRefreshTokens(String tenantId, String userId) {
+    String query = "SELECT COUNT(*) FROM refresh_tokens WHERE tenant_id = ? AND user_id = ?";
+
+    try (Connection conn = mysqlConnectionPool.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setString(1, tenantId);
+      stmt.setString(2, userId);
+      var rs = stmt.executeQuery();
+      if (rs.next()) {
+        return rs.getInt(1);
+      }
+    } catch (Exception e) {
+      log.error("Error while counting refresh tokens", e);
+    }
+    return 0;
+  }
+
+  public static String insertLegacyRefreshToken(String tenantId, String userId, long exp) {
+    String refreshToken = RandomStringUtils.randomAlphanumeric(32);
+
+    try (Connection conn = mysqlConnectionPool.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(INSERT_LEGACY_REFRESH_TOKEN)) {
+      stmt.setString(1, tenantId);
+      stmt.setString(2, userId);
+      stmt.setString(3, refreshToken);
+      stmt.setLong(4, Instant.now().getEpochSecond() + exp);
+      stmt.setString(5, "source");
+      stmt.setString(6, "device1");
+      stmt.setString(7, "location");
+      stmt.setString(8, "1.2.3.4");
+
+      stmt.executeUpdate();
+    } catch (Exception e) {
+      log.error("Error while inserting legacy refresh token", e);
+      return null;
+    }
+
+    return refreshToken;
+  }
+
+  public static boolean isLegacyRefreshTokenActive(String tenantId, String refreshToken) {
+    String query = "SELECT is_active FROM refresh_tokens WHERE tenant_id = ? AND refresh_token = ?";
+
+    try (Connection conn = mysqlConnectionPool.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setString(1, tenantId);
+      stmt.setString(2, refreshToken);
+      var rs = stmt.executeQuery();
+      if (rs.next()) {
+        return rs.getBoolean(1);
+      }
+    } catch (Exception e) {
+      log.error("Error while checking legacy refresh token status", e);
+    }
+    return false;
+  }
+
   public static void createState(
       String tenantId,
       String state,
@@ -315,6 +413,7 @@ public class DbUtils {
     } catch (Exception e) {
       log.error("Error while cleaning up clients", e);
     }
+    invalidateScopeCatalog(tenantId);
   }
 
   // Client management utilities
@@ -335,6 +434,7 @@ public class DbUtils {
     } catch (Exception e) {
       log.error("Error while cleaning up clients", e);
     }
+    invalidateScopeCatalog(tenantId);
   }
 
   public static boolean clientExists(String tenantId, String clientId) {
@@ -371,6 +471,7 @@ public class DbUtils {
       response.put("client_uri", rs.getString("client_uri"));
       response.put("client_id", rs.getString("client_id"));
       response.put("client_secret", rs.getString("client_secret"));
+      response.put("client_secret_hash", rs.getString("client_secret_hash"));
       response.put("redirect_uris", rs.getString("redirect_uris"));
       response.put("contacts", rs.getString("contacts"));
       response.put("grant_types", rs.getString("grant_types"));
@@ -386,6 +487,23 @@ public class DbUtils {
     return null;
   }
 
+  // Turns the client into a row created before client secrets were hashed
+  public static void setLegacyClientSecret(String tenantId, String clientId, String clientSecret) {
+    String query =
+        "UPDATE client SET client_secret = ?, client_secret_hash = NULL WHERE tenant_id = ? AND client_id = ?";
+
+    try (Connection conn = mysqlConnectionPool.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setString(1, clientSecret);
+      stmt.setString(2, tenantId);
+      stmt.setString(3, clientId);
+      stmt.executeUpdate();
+    } catch (Exception e) {
+      log.error("Error while setting legacy client secret", e);
+    }
+    GuiceInjector.getGuiceInjector().getInstance(ClientCache.class).invalidate(tenantId, clientId);
+  }
+
   // Scope management utilities
   public static void cleanupScopes(String tenantId) {
     String deleteScopes = "DELETE FROM scope WHERE tenant_id = ?";
@@ -398,6 +516,7 @@ public class DbUtils {
     } catch (Exception e) {
       log.error("Error while cleaning up scopes", e);
     }
+    invalidateScopeCatalog(tenantId);
   }
 
   // Scope management utilities
@@ -414,6 +533,7 @@ public class DbUtils {
     } catch (Exception e) {
       log.error("Error while cleaning up scopes", e);
     }
+    invalidateScopeCatalog(tenantId);
   }
 
   // Client-Scope relationship utilities
@@ -427,6 +547,12 @@ public class DbUtils {
     } catch (Exception e) {
       log.error("Error while cleaning up client scopes", e);
     }
+    invalidateScopeCatalog(tenantId);
+  }
+
+  // The application runs in this JVM, rows written here bypass the scope catalog invalidation
+  private static void invalidateScopeCatalog(String tenantId) {
+    GuiceInjector.getGuiceInjector().getInstance(ScopeCatalog.class).invalidate(tenantId);
   }
 
   public static boolean clientScopeExists(String tenantId, String clientId, String scope) {
@@ -550,8 +676,43 @@ public class DbUtils {
       Boolean isActive,
       String deviceName,
       String ip) {
-    String refreshToken = RandomStringUtils.randomAlphanumeric(32);
+    return insertOidcRefreshToken(
+        RandomStringUtils.randomAlphanumeric(32),
+        tenantId,
+        clientId,
+        userId,
+        exp,
+        scopes,
+        isActive,
+        deviceName,
+        ip);
+  }
+
+  // Token in the format issued by a rotation, prefixed with its family id
+  public static String insertRotatedOidcRefreshToken(
+      String tenantId, String clientId, String userId, long exp, List<String> scopes) {
+    return insertOidcRefreshToken(
+        RandomStringUtils.randomAlphanumeric(24) + "." + RandomStringUtils.randomAlphanumeric(32),
+        tenantId,
+        clientId,
+        userId,
+        exp,
+        scopes,
+        true,
+        null,
+        null);
+  }
 
+  private static String insertOidcRefreshToken(
+      String refreshToken,
+      String tenantId,
+      String clientId,
+      String userId,
+      long exp,
+      List<String> scopes,
+      Boolean isActive,
+      String deviceName,
+      String ip) {
     try (Connection conn = mysqlConnectionPool.getConnection();
         PreparedStatement stmt = conn.prepareStatement(INSERT_OIDC_REFRESH_TOKEN)) {
       stmt.setString(1, tenantId);
@@ -575,6 +736,53 @@ public class DbUtils {
     return refreshToken;
   }
 
+  public static String insertLegacyOidcRefreshToken(
+      String tenantId, String clientId, String userId, long exp, List<String> scopes) {
+    String refreshToken = RandomStringUtils.randomAlphanumeric(32);
+
+    try (Connection conn = mysqlConnectionPool.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(INSERT_LEGACY_OIDC_REFRESH_TOKEN)) {
+      stmt.setString(1, tenantId);
+      stmt.setString(2, clientId);
+      stmt.setString(3, userId);
+      stmt.setString(4, refreshToken);
+      stmt.setLong(5, Instant.now().getEpochSecond() + exp);
+      ArrayNode scopesArray = objectMapper.createArrayNode();
+      scopes.forEach(scopesArray::add);
+      stmt.setString(6, objectMapper.writeValueAsString(scopesArray));
+      stmt.setBoolean(7, true);
+      stmt.setString(8, "device1");
+      stmt.setString(9, "1.2.3.4");
+
+      stmt.executeUpdate();
+    } catch (Exception e) {
+      log.error("Error while inserting legacy OIDC refresh token", e);
+      return null;
+    }
+
+    return refreshToken;
+  }
+
+  public static boolean isLegacyOidcRefreshTokenActive(
+      String tenantId, String clientId, String refreshToken) {
+    String query =
+        "SELECT is_active FROM oidc_refresh_token WHERE tenant_id = ? and client_id = ? and refresh_token = ?";
+
+    try (Connection conn = mysqlConnectionPool.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setString(1, tenantId);
+      stmt.setString(2, clientId);
+      stmt.setString(3, refreshToken);
+      var rs = stmt.executeQuery();
+      if (rs.next()) {
+        return rs.getBoolean(1);
+      }
+    } catch (Exception e) {
+      log.error("Error while checking legacy OIDC refresh token status", e);
+    }
+    return false;
+  }
+
   public static void cleanupOidcRefreshTokens(String tenantId) {
     String deleteQuery = "DELETE FROM oidc_refresh_token WHERE tenant_id = ?";
 
@@ -590,7 +798,7 @@ public class DbUtils {
   public static boolean isOidcRefreshTokenActive(
       String tenantId, String clientId, String refreshToken) {
     String deleteQuery =
-        "SELECT is_active FROM oidc_refresh_token WHERE tenant_id = ? and client_id = ? and refresh_token = ?";
+        "SELECT is_active FROM oidc_refresh_token WHERE tenant_id = ? and client_id = ? and token_hash = UNHEX(SHA2(?, 256))";
 
     try (Connection conn = mysqlConnectionPool.getConnection();
         PreparedStatement stmt = conn.prepareStatement(deleteQuery)) {
@@ -0,0 +1,155 @@
+package com.dreamsportslabs.guardian.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.dreamsportslabs.guardian.utils.JwtHeaderReader.JwtHeader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.WebApplicationException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class JwtHeaderReaderTest {
+  private static final String ALPHABET =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+  private static final String PAYLOAD_AND_SIGNATURE = ".e30.c2lnbmF0dXJl";
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        // valid
+        "{\"alg\":\"RS256\",\"kid\":\"key-1\",\"typ\":\"at+jwt\"}",
+        " {\r\n\t\"typ\" : \"at+jwt\" , \"kid\" : \"key-1\" }\n",
+        "{}",
+        "{\"kid\":\"k\u00e9y\",\"typ\":\"at\\/jwt\",\"alg\":\"\\u0052S256\\n\"}",
+        "{\"x5c\":[\"a\",{\"b\":[1,-2.5e+3,true,false,null]}],\"crit\":[],\"kid\":\"key-1\"}",
+        "{\"jku\":\"https:\\/\\/example.com\",\"n\":0,\"e\":1E2,\"kid\":\"key-1\"}",
+        // escaped keys
+        "{\"\\u0074yp\":\"at+jwt\",\"k\\u0069d\":\"key-1\",\"\\u0061lg\":\"RS256\"}",
+        "{\"ty\\\"p\":\"at+jwt\",\"kid\\\\\":\"key-1\"}",
+        // duplicate keys
+        "{\"typ\":\"JWT\",\"kid\":\"key-1\",\"typ\":\"at+jwt\"}",
+        "{\"kid\":\"key-1\",\"\\u006bid\":\"key-2\"}",
+        "{\"typ\":\"at+jwt\",\"typ\":5}",
+        "{\"kid\":null,\"kid\":\"key-1\"}",
+        // malformed
+        "",
+        "[]",
+        "\"typ\"",
+        "{\"typ\":\"at+jwt\"",
+        "{\"typ\":at+jwt}",
+        "{\"typ\":\"at+jwt\",}",
+        "{typ:\"at+jwt\"}",
+        "{\"typ\" \"at+jwt\"}",
+        "{\"typ\":\"at+jwt\" \"kid\":\"key-1\"}",
+        "{\"kid\":\"key\t1\"}",
+        "{\"kid\":\"key-1\\x\"}",
+        "{\"kid\":\"\\u12\"}",
+        "{\"a\":tru,\"kid\":\"key-1\"}",
+        "{\"a\":01}",
+        "{\"a\":1.}",
+        "{\"a\":.5}",
+        "{\"a\":-}",
+        "{\"a\":+1}",
+        "{\"a\":[1,,2]}",
+        "{\"a\":[1,2}",
+        "{\"a\":{\"b\"}}",
+        "{\"a\":\"b\\q\"}"
+      })
+  @DisplayName("Should read the same header members as the ObjectMapper based decoder")
+  public void testMatchesObjectMapper(String headerJson) {
+    String token = encode(headerJson) + PAYLOAD_AND_SIGNATURE;
+    Map<String, Object> expected = decodeWithObjectMapper(token);
+
+    if (expected == null || !isStringOrNull(expected, "alg", "kid", "typ")) {
+      assertThrows(WebApplicationException.class, () -> JwtHeaderReader.read(token));
+      return;
+    }
+    JwtHeader header = JwtHeaderReader.read(token);
+    assertThat(header.alg(), equalTo(expected.get("alg")));
+    assertThat(header.kid(), equalTo(expected.get("kid")));
+    assertThat(header.typ(), equalTo(expected.get("typ")));
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "{\"typ\":\"at+jwt\"}}",
+        "{\"typ\":\"at+jwt\"}{\"typ\":\"JWT\"}",
+        "{\"typ\":\"at+jwt\"} x",
+        "{\"typ\":\"at+jwt\"}\u0000"
+      })
+  @DisplayName("Should reject content after the header object")
+  public void testRejectsTrailingContent(String headerJson) {
+    String token = encode(headerJson) + PAYLOAD_AND_SIGNATURE;
+
+    assertThrows(WebApplicationException.class, () -> JwtHeaderReader.read(token));
+  }
+
+  @Test
+  @DisplayName("Should reject padded and non canonical base64url")
+  public void testRejectsNonCanonicalBase64() {
+    // 16 bytes, encoded to 22 characters and 2 padding characters
+    String header = encode("{\"typ\":\"at+jwt\"}");
+    String padded = header + "==";
+    char last = header.charAt(header.length() - 1);
+    String nonCanonical =
+        header.substring(0, header.length() - 1) + ALPHABET.charAt(ALPHABET.indexOf(last) + 1);
+
+    assertThat(JwtHeaderReader.read(header + PAYLOAD_AND_SIGNATURE).typ(), equalTo("at+jwt"));
+    assertThrows(
+        WebApplicationException.class, () -> JwtHeaderReader.read(padded + PAYLOAD_AND_SIGNATURE));
+    assertThrows(
+        WebApplicationException.class,
+        () -> JwtHeaderReader.read(nonCanonical + PAYLOAD_AND_SIGNATURE));
+    assertThrows(
+        WebApplicationException.class,
+        () -> JwtHeaderReader.read(header + "A" + PAYLOAD_AND_SIGNATURE));
+    assertThrows(
+        WebApplicationException.class,
+        () -> JwtHeaderReader.read("+" + header.substring(1) + PAYLOAD_AND_SIGNATURE));
+  }
+
+  @Test
+  @DisplayName("Should reject a token without a header segment")
+  public void testRejectsMissingHeader() {
+    assertThrows(WebApplicationException.class, () -> JwtHeaderReader.read(null));
+    assertThrows(WebApplicationException.class, () -> JwtHeaderReader.read("e30"));
+    assertThrows(WebApplicationException.class, () -> JwtHeaderReader.read(".e30.sig"));
+  }
+
+  private static String encode(String headerJson) {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(headerJson.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static boolean isStringOrNull(Map<String, Object> header, String... names) {
+    for (String name : names) {
+      Object value = header.get(name);
+      if (value != null && !(value instanceof String)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Implementation previously used by Utils.decodeJwtHeaders, null when it rejected the token
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> decodeWithObjectMapper(String token) {
+    try {
+      String[] parts = token.split("\\.");
+      String headerJson =
+          new String(Base64.getUrlDecoder().decode(parts[0]), StandardCharsets.UTF_8);
+      return new ObjectMapper().readValue(headerJson, Map.class);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+}